@@ -0,0 +1,137 @@
+package ai;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Streaming parser for AI responses.
+ * Reads the root JSON object token by token and hands each artifact node to a listener
+ * as soon as it is complete, so generation of the first artifacts overlaps parsing of the rest.
+ *
+ * Accepts both the single-artifact schema (featureFile/pageObject/stepDefinition) and
+ * arrays (featureFiles/pageObjects/stepDefinitions). Leading prose or a markdown fence is
+ * skipped by positioning a reader on the root object, and parsing stops at its closing
+ * brace so trailing prose is never read.
+ */
+public class AIResponseParser {
+    private static final Logger logger = LoggerFactory.getLogger(AIResponseParser.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Artifact kinds in an AI response
+     */
+    public enum ArtifactType {
+        FEATURE("featureFile", "featureFiles"),
+        PAGE_OBJECT("pageObject", "pageObjects"),
+        STEP_DEFINITION("stepDefinition", "stepDefinitions");
+
+        private final String singleField;
+        private final String arrayField;
+
+        ArtifactType(String singleField, String arrayField) {
+            this.singleField = singleField;
+            this.arrayField = arrayField;
+        }
+
+        public String getSingleField() { return singleField; }
+        public String getArrayField() { return arrayField; }
+
+        static ArtifactType fromField(String field) {
+            for (ArtifactType type : values()) {
+                if (type.singleField.equals(field) || type.arrayField.equals(field)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Receives each artifact node as soon as it has been parsed
+     */
+    public interface ArtifactListener {
+        void onArtifact(ArtifactType type, JsonNode artifact) throws IOException;
+    }
+
+    /**
+     * Parse the response, notifying the listener per artifact
+     * @return number of artifacts seen per type
+     */
+    public static Map<ArtifactType, Integer> parse(String aiResponse, ArtifactListener listener) throws IOException {
+        int rootStart = findRootObject(aiResponse);
+        if (rootStart < 0) {
+            throw new IllegalArgumentException("AI response does not contain a JSON object");
+        }
+
+        Map<ArtifactType, Integer> counts = new EnumMap<>(ArtifactType.class);
+        for (ArtifactType type : ArtifactType.values()) {
+            counts.put(type, 0);
+        }
+
+        Reader reader = new StringReader(aiResponse);
+        reader.skip(rootStart);
+        try (JsonParser parser = objectMapper.getFactory().createParser(reader)) {
+            parser.setCodec(objectMapper);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("AI response root is not a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                ArtifactType type = ArtifactType.fromField(field);
+
+                if (type == null) {
+                    parser.skipChildren();
+                } else if (valueToken == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        notify(listener, type, parser.readValueAsTree(), counts);
+                    }
+                } else if (valueToken == JsonToken.START_OBJECT) {
+                    notify(listener, type, parser.readValueAsTree(), counts);
+                } else {
+                    logger.warn("Ignoring field '{}': expected an object or array", field);
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        logger.info("Parsed AI response: {}", counts);
+        return counts;
+    }
+
+    private static void notify(ArtifactListener listener, ArtifactType type, JsonNode artifact,
+                               Map<ArtifactType, Integer> counts) throws IOException {
+        counts.merge(type, 1, Integer::sum);
+        listener.onArtifact(type, artifact);
+    }
+
+    /**
+     * Index of the first '{' that opens a JSON object with a quoted field (or an empty object),
+     * skipping braces that appear in prose before it
+     */
+    private static int findRootObject(String text) {
+        int index = text.indexOf('{');
+        while (index >= 0) {
+            int next = index + 1;
+            while (next < text.length() && Character.isWhitespace(text.charAt(next))) {
+                next++;
+            }
+            if (next < text.length() && (text.charAt(next) == '"' || text.charAt(next) == '}')) {
+                return index;
+            }
+            index = text.indexOf('{', index + 1);
+        }
+        return -1;
+    }
+}
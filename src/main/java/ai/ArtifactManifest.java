@@ -0,0 +1,200 @@
+package ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Manifest of generated artifact content hashes plus the result of the last run against them.
+ * Lets PromptProcessor skip execution (or re-run only failed scenarios) when a prompt
+ * regenerates byte-identical feature, page and step files for the same target build.
+ */
+public class ArtifactManifest {
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactManifest.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String MANIFEST_FILE = ".genai/artifact-manifest.json";
+    private static final String[] ARTIFACT_DIRS = {
+            "src/test/resources/features", "src/main/java/pages", "src/test/java/steps"
+    };
+
+    /**
+     * How unchanged artifacts are handled
+     */
+    public enum SkipMode {
+        OFF, SKIP_UNCHANGED, RERUN_FAILED;
+
+        public static SkipMode fromConfig(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Unknown execution skip mode '{}', using OFF", value);
+                return OFF;
+            }
+        }
+    }
+
+    /**
+     * Outcome of comparing the current artifacts with the manifest
+     */
+    public enum Action { RUN_ALL, RERUN_FAILED, SKIP }
+
+    private final Path manifestPath;
+    private Map<String, String> artifactHashes = new TreeMap<>();
+    private String targetBuild = "";
+    private boolean lastRunPassed;
+    private List<String> failedScenarios = new ArrayList<>();
+
+    private ArtifactManifest(Path manifestPath) {
+        this.manifestPath = manifestPath;
+    }
+
+    /**
+     * Load the manifest, returning an empty one when none was written yet
+     */
+    public static ArtifactManifest load() {
+        ArtifactManifest manifest = new ArtifactManifest(Paths.get(MANIFEST_FILE));
+        if (!Files.isRegularFile(manifest.manifestPath)) {
+            return manifest;
+        }
+
+        try (InputStream input = Files.newInputStream(manifest.manifestPath)) {
+            JsonNode root = objectMapper.readTree(input);
+            Iterator<Map.Entry<String, JsonNode>> hashes = root.path("artifacts").fields();
+            while (hashes.hasNext()) {
+                Map.Entry<String, JsonNode> entry = hashes.next();
+                manifest.artifactHashes.put(entry.getKey(), entry.getValue().asText());
+            }
+            manifest.targetBuild = root.path("targetBuild").asText("");
+            manifest.lastRunPassed = root.path("lastResult").path("passed").asBoolean(false);
+            for (JsonNode failed : root.path("lastResult").path("failedScenarios")) {
+                manifest.failedScenarios.add(failed.asText());
+            }
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable artifact manifest {}: {}", MANIFEST_FILE, e.getMessage());
+            return new ArtifactManifest(manifest.manifestPath);
+        }
+        return manifest;
+    }
+
+    /**
+     * Hash every feature, page object and step definition currently on disk
+     */
+    public static Map<String, String> hashCurrentArtifacts() {
+        Map<String, String> hashes = new TreeMap<>();
+        for (String dir : ARTIFACT_DIRS) {
+            Path root = Paths.get(dir);
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    hashes.put(file.toString().replace('\\', '/'), sha256(Files.readAllBytes(file)));
+                }
+            } catch (IOException e) {
+                logger.warn("Could not hash artifacts in {}: {}", dir, e.getMessage());
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Decide what to execute for the given artifact hashes
+     */
+    public Action decide(SkipMode mode, Map<String, String> currentHashes, String currentTargetBuild) {
+        if (mode == SkipMode.OFF) {
+            return Action.RUN_ALL;
+        }
+        if (!currentHashes.equals(artifactHashes)) {
+            logger.info("Generated artifacts changed since the last run, executing all scenarios");
+            return Action.RUN_ALL;
+        }
+        if (!currentTargetBuild.equals(targetBuild)) {
+            logger.info("Target build changed ('{}' -> '{}'), executing all scenarios", targetBuild, currentTargetBuild);
+            return Action.RUN_ALL;
+        }
+        if (lastRunPassed) {
+            logger.info("Artifacts and target build unchanged and the last run passed, skipping execution");
+            return Action.SKIP;
+        }
+        if (mode == SkipMode.RERUN_FAILED && !failedScenarios.isEmpty()) {
+            logger.info("Artifacts unchanged, re-running {} previously failed scenario(s)", failedScenarios.size());
+            return Action.RERUN_FAILED;
+        }
+        return Action.RUN_ALL;
+    }
+
+    /**
+     * Record the outcome of a run and persist the manifest
+     * @param failedLocations feature:line locations of failed scenarios
+     */
+    public void recordResult(Map<String, String> hashes, String build, boolean passed, List<String> failedLocations) {
+        this.artifactHashes = new TreeMap<>(hashes);
+        this.targetBuild = build;
+        this.lastRunPassed = passed;
+        this.failedScenarios = new ArrayList<>(failedLocations);
+        save();
+    }
+
+    /**
+     * feature:line locations of the scenarios that failed in the last run
+     */
+    public List<String> getFailedScenarios() {
+        return Collections.unmodifiableList(failedScenarios);
+    }
+
+    private void save() {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode artifacts = root.putObject("artifacts");
+        artifactHashes.forEach(artifacts::put);
+        root.put("targetBuild", targetBuild);
+        ObjectNode lastResult = root.putObject("lastResult");
+        lastResult.put("passed", lastRunPassed);
+        lastResult.put("timestamp", System.currentTimeMillis());
+        ArrayNode failed = lastResult.putArray("failedScenarios");
+        failedScenarios.forEach(failed::add);
+
+        try {
+            Files.createDirectories(manifestPath.toAbsolutePath().getParent());
+            Path tempPath = manifestPath.resolveSibling(manifestPath.getFileName() + ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempPath.toFile(), root);
+            Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Artifact manifest written to {}", manifestPath);
+        } catch (IOException e) {
+            logger.warn("Could not write artifact manifest {}: {}", manifestPath, e.getMessage());
+        }
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package ai;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes generated artifacts concurrently.
+ * Content is compared by hash with the file on disk first, so unchanged files are not
+ * touched and keep their mtime (incremental compilation and IDE indexes stay valid).
+ * Changed files are written via temp file + atomic move and fsynced together in {@link #awaitAll()}.
+ */
+public class ArtifactWriter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactWriter.class);
+    private static final int MAX_THREADS = 4;
+
+    private final ExecutorService executor;
+    private final List<Future<?>> pending = new ArrayList<>();
+    private final Set<Path> writtenFiles = new LinkedHashSet<>();
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+    // Submissions per path, so only the latest one is written
+    private final Map<Path, Long> generations = new ConcurrentHashMap<>();
+    private final Map<Path, Object> pathLocks = new ConcurrentHashMap<>();
+
+    public ArtifactWriter() {
+        int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "artifact-writer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a file write; the file is only replaced if its content differs
+     */
+    public synchronized void submit(Path path, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        queue(path, () -> bytes);
+    }
+
+    /**
+     * Queue a template rendering; the template is streamed into a buffer on the writer thread
+     */
+    public synchronized void submit(Path path, TemplateEngine.Template template, Map<String, String> variables) {
+        Map<String, String> values = new HashMap<>(variables);
+        queue(path, () -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (Writer output = new OutputStreamWriter(buffer, StandardCharsets.UTF_8)) {
+                template.render(values, output);
+            }
+            return buffer.toByteArray();
+        });
+    }
+
+    /**
+     * Queue a write that only happens if no later write to the same path was submitted. The same
+     * file can be submitted twice, e.g. a page class merged again by a later artifact of the same
+     * response, and the pool runs tasks in any order: writes to one path are serialized and only
+     * the latest content is written
+     */
+    private void queue(Path path, Callable<byte[]> content) {
+        Path key = path.toAbsolutePath().normalize();
+        long generation = generations.merge(key, 1L, Long::sum);
+        pending.add(executor.submit(() -> {
+            if (generations.get(key) != generation) {
+                logger.debug("Superseded by a later write, skipping: {}", path);
+                return null;
+            }
+            byte[] bytes = content.call();
+            synchronized (pathLocks.computeIfAbsent(key, unused -> new Object())) {
+                if (generations.get(key) == generation) {
+                    writeIfChanged(path, bytes);
+                } else {
+                    logger.debug("Superseded by a later write, skipping: {}", path);
+                }
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Wait for all queued writes, then fsync the written files and their directories
+     * @throws IOException the first write failure
+     */
+    public void awaitAll() throws IOException {
+        List<Future<?>> futures;
+        synchronized (this) {
+            futures = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        IOException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof IOException
+                            ? (IOException) e.getCause()
+                            : new IOException("Artifact write failed", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while writing artifacts", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        List<Path> toSync;
+        synchronized (writtenFiles) {
+            toSync = new ArrayList<>(writtenFiles);
+            writtenFiles.clear();
+        }
+        syncAll(toSync);
+        logger.info("Artifacts written: {} changed, {} unchanged", toSync.size(), unchangedCount.getAndSet(0));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void writeIfChanged(Path path, byte[] content) throws IOException {
+        if (isUnchanged(path, content)) {
+            unchangedCount.incrementAndGet();
+            logger.debug("Unchanged, keeping existing file: {}", path);
+            return;
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        // Writes to one path are serialized, so a fixed temp name cannot be shared by two writers;
+        // createTempFile would give the artifact owner-only permissions
+        Path tempPath = parent.resolve(path.getFileName() + ".tmp");
+        Files.write(tempPath, content);
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        synchronized (writtenFiles) {
+            writtenFiles.add(path);
+        }
+    }
+
+    private static boolean isUnchanged(Path path, byte[] content) throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) != content.length) {
+            return false;
+        }
+        return ArtifactManifest.sha256(Files.readAllBytes(path)).equals(ArtifactManifest.sha256(content));
+    }
+
+    /**
+     * One batch of fsyncs after all writes instead of one per write
+     */
+    private static void syncAll(List<Path> files) {
+        Set<Path> directories = new LinkedHashSet<>();
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                logger.warn("Could not sync {}: {}", file, e.getMessage());
+            }
+            directories.add(file.toAbsolutePath().getParent());
+        }
+        for (Path directory : directories) {
+            // Persists the rename; directories cannot be opened for sync on Windows
+            try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                logger.debug("Directory sync not supported for {}: {}", directory, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads the Cucumber JSON reports the runners write after a run.
+ * Unlike the console output, which parallel shards interleave, each report holds the results
+ * of its own scenarios, so per-scenario status and location are taken from here.
+ */
+public final class CucumberReports {
+    private static final Logger logger = LoggerFactory.getLogger(CucumberReports.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Step statuses that fail a scenario in strict mode
+    private static final Set<String> FAILING_STATUSES = Set.of("failed", "undefined", "ambiguous", "pending");
+
+    private CucumberReports() {
+    }
+
+    /**
+     * Feature arrays of all Cucumber JSON reports in a directory; other JSON files are skipped
+     */
+    public static List<JsonNode> load(Path reportsDir) {
+        List<JsonNode> reports = new ArrayList<>();
+        if (!Files.isDirectory(reportsDir)) {
+            return reports;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(reportsDir)) {
+            files = listing.filter(path -> path.toString().endsWith(".json")).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.warn("Could not list Cucumber reports in {}: {}", reportsDir, e.getMessage());
+            return reports;
+        }
+
+        for (Path file : files) {
+            try (InputStream input = Files.newInputStream(file)) {
+                JsonNode root = objectMapper.readTree(input);
+                // Other JSON files (timeline, rewrite report) are not arrays of features
+                if (root != null && root.isArray()) {
+                    reports.add(root);
+                }
+            } catch (IOException e) {
+                logger.debug("Skipping unreadable report {}: {}", file, e.getMessage());
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Outcome of every scenario in the reports, located as feature URI:line so it can be rerun
+     */
+    public static List<TestOutputMonitor.ScenarioResult> scenarioResults(Path reportsDir) {
+        List<TestOutputMonitor.ScenarioResult> results = new ArrayList<>();
+        for (JsonNode features : load(reportsDir)) {
+            for (JsonNode feature : features) {
+                String uri = feature.path("uri").asText("");
+                for (JsonNode element : feature.path("elements")) {
+                    if (!"scenario".equals(element.path("type").asText())) {
+                        continue;
+                    }
+                    String location = uri.isEmpty() ? null : uri + ":" + element.path("line").asInt();
+                    long nanos = sumDurations(element.path("before")) + sumDurations(element.path("steps"))
+                            + sumDurations(element.path("after"));
+                    results.add(new TestOutputMonitor.ScenarioResult(element.path("name").asText(), location,
+                            status(element), TimeUnit.NANOSECONDS.toMillis(nanos)));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Sum of the result durations of hooks or steps, in nanoseconds
+     */
+    static long sumDurations(JsonNode entries) {
+        long nanos = 0;
+        for (JsonNode entry : entries) {
+            nanos += entry.path("result").path("duration").asLong(0);
+        }
+        return nanos;
+    }
+
+    private static TestOutputMonitor.ScenarioStatus status(JsonNode element) {
+        boolean skipped = false;
+        for (String section : List.of("before", "steps", "after")) {
+            for (JsonNode entry : element.path(section)) {
+                String status = entry.path("result").path("status").asText("");
+                if (FAILING_STATUSES.contains(status)) {
+                    return TestOutputMonitor.ScenarioStatus.FAILED;
+                }
+                skipped |= status.equals("skipped");
+            }
+        }
+        return skipped ? TestOutputMonitor.ScenarioStatus.SKIPPED : TestOutputMonitor.ScenarioStatus.PASSED;
+    }
+}
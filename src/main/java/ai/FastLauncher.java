@@ -0,0 +1,273 @@
+package ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Fast-startup launcher for PromptProcessor.
+ * Runs the processor in a child JVM backed by an AppCDS archive of the framework classpath:
+ * the first launch records the archive with -XX:ArchiveClassesAtExit, later launches map it
+ * with -XX:SharedArchiveFile so JDK and dependency classes skip parsing and verification.
+ *
+ * Usage:
+ *   FastLauncher [prompt...]           run PromptProcessor with the archive
+ *   FastLauncher --benchmark [runs]    compare JVM startup with and without the archive
+ *   FastLauncher --rebuild-archive     discard the archive so the next launch records a fresh one
+ *   FastLauncher --watch               start WatchMode with the archive
+ */
+public class FastLauncher {
+    private static final Logger logger = LoggerFactory.getLogger(FastLauncher.class);
+
+    private static final String ARCHIVE_DIR = ".genai/cds";
+    private static final String STARTUP_PROBE = "--startup-probe";
+    private static final String BENCHMARK = "--benchmark";
+    private static final String REBUILD_ARCHIVE = "--rebuild-archive";
+    private static final String WATCH = "--watch";
+    private static final int DEFAULT_BENCHMARK_RUNS = 5;
+    private static final int MIN_DYNAMIC_CDS_VERSION = 13;
+    // C1-only compilation favours startup; the launcher JVM does little work beyond orchestration
+    private static final List<String> STARTUP_JVM_ARGS = List.of("-XX:TieredStopAtLevel=1", "-Xshare:auto");
+
+    private static String archivableClasspath;
+
+    public static void main(String[] args) {
+        List<String> arguments = Arrays.asList(args);
+
+        try {
+            if (arguments.contains(STARTUP_PROBE)) {
+                runStartupProbe();
+                return;
+            }
+            if (arguments.contains(REBUILD_ARCHIVE)) {
+                Files.deleteIfExists(getArchivePath());
+                logger.info("CDS archive removed, it will be recorded on the next launch");
+                return;
+            }
+            if (!arguments.isEmpty() && arguments.get(0).equals(BENCHMARK)) {
+                int runs = arguments.size() > 1 ? Integer.parseInt(arguments.get(1)) : DEFAULT_BENCHMARK_RUNS;
+                runBenchmark(runs);
+                return;
+            }
+
+            if (arguments.contains(WATCH)) {
+                System.exit(launch(WatchMode.class.getName(), Collections.emptyList()));
+            }
+
+            int exitCode = launch(PromptProcessor.class.getName(), arguments);
+            System.exit(exitCode);
+        } catch (Exception e) {
+            logger.error("Launcher failed: {}", e.getMessage(), e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Start the main class in a child JVM, recording or using the CDS archive
+     * @return exit code of the child JVM
+     */
+    private static int launch(String mainClass, List<String> arguments)
+            throws IOException, InterruptedException {
+        List<String> command = buildCommand(mainClass, arguments, true);
+        logger.debug("Launching: {}", String.join(" ", command));
+        return new ProcessBuilder(command).inheritIO().start().waitFor();
+    }
+
+    private static List<String> buildCommand(String mainClass, List<String> arguments, boolean useArchive)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(STARTUP_JVM_ARGS);
+
+        if (useArchive && Runtime.version().feature() >= MIN_DYNAMIC_CDS_VERSION) {
+            Path archive = getArchivePath();
+            if (Files.isRegularFile(archive)) {
+                command.add("-XX:SharedArchiveFile=" + archive);
+            } else {
+                Files.createDirectories(archive.getParent());
+                command.add("-XX:ArchiveClassesAtExit=" + archive);
+                logger.info("Recording CDS archive: {}", archive);
+            }
+        }
+
+        command.add("-cp");
+        command.add(getArchivableClasspath());
+        command.add(mainClass);
+        command.addAll(arguments);
+        return command;
+    }
+
+    /**
+     * Archive is keyed by classpath, jar timestamps and JDK build: CDS refuses archives
+     * recorded for any of them differing
+     */
+    private static Path getArchivePath() throws IOException {
+        StringBuilder key = new StringBuilder(System.getProperty("java.vm.version"));
+        for (String entry : getArchivableClasspath().split(File.pathSeparator)) {
+            Path path = Paths.get(entry);
+            key.append('|').append(entry).append('@')
+                    .append(Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0);
+        }
+        return Paths.get(ARCHIVE_DIR, "framework-" + shortHash(key.toString()) + ".jsa");
+    }
+
+    /**
+     * CDS cannot archive classes loaded from directories, so class directories
+     * (target/classes, target/test-classes) are packed into jars that are refreshed
+     * whenever a class file is newer than the jar
+     */
+    private static synchronized String getArchivableClasspath() throws IOException {
+        if (archivableClasspath != null) {
+            return archivableClasspath;
+        }
+
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Paths.get(entry);
+            if (Files.isDirectory(path)) {
+                entries.add(packDirectory(path).toString());
+            } else if (!entry.isEmpty()) {
+                entries.add(entry);
+            }
+        }
+        archivableClasspath = String.join(File.pathSeparator, entries);
+        return archivableClasspath;
+    }
+
+    private static Path packDirectory(Path directory) throws IOException {
+        Path jar = Paths.get(ARCHIVE_DIR, "classes-" + shortHash(directory.toAbsolutePath().toString()) + ".jar");
+        long newestClass;
+        try (Stream<Path> files = Files.walk(directory)) {
+            newestClass = files.filter(Files::isRegularFile)
+                    .mapToLong(file -> file.toFile().lastModified())
+                    .max().orElse(0);
+        }
+        if (Files.isRegularFile(jar) && Files.getLastModifiedTime(jar).toMillis() >= newestClass) {
+            return jar;
+        }
+
+        Files.createDirectories(jar.getParent());
+        Path tempJar = jar.resolveSibling(jar.getFileName() + ".tmp");
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(tempJar));
+             Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile).sorted()::iterator) {
+                output.putNextEntry(new JarEntry(directory.relativize(file).toString().replace(File.separatorChar, '/')));
+                Files.copy(file, output);
+                output.closeEntry();
+            }
+        }
+        Files.move(tempJar, jar, StandardCopyOption.REPLACE_EXISTING);
+        logger.info("Packed {} into {} for class data sharing", directory, jar);
+        return jar;
+    }
+
+    private static String shortHash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder hex = new StringBuilder();
+            byte[] hash = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(value.hashCode());
+        }
+    }
+
+    // ==================== BENCHMARK ====================
+
+    /**
+     * Initialize the classes the prompt workflow needs before its first network call
+     */
+    private static void runStartupProbe() throws IOException {
+        Class<?>[] startupClasses = {PromptProcessor.class, TestGenerator.class, GroqAIClient.class,
+                TestOutputMonitor.class, ProcessTimeline.class, ToolchainCache.class,
+                TemplateEngine.class, AIResponseParser.class, ArtifactWriter.class};
+        for (Class<?> startupClass : startupClasses) {
+            try {
+                Class.forName(startupClass.getName(), true, FastLauncher.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Startup class missing: " + startupClass.getName(), e);
+            }
+        }
+        new ObjectMapper().readTree("{\"featureFile\":{}}");
+        TemplateEngine.validateAll();
+        try (CloseableHttpClient client = HttpClients.createDefault()) {
+            logger.debug("HTTP client initialized: {}", client.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Compare wall-clock startup of the probe with and without the CDS archive
+     */
+    private static void runBenchmark(int runs) throws IOException, InterruptedException {
+        if (Runtime.version().feature() < MIN_DYNAMIC_CDS_VERSION) {
+            logger.warn("Dynamic CDS archives need JDK {}+, running on {}",
+                    MIN_DYNAMIC_CDS_VERSION, Runtime.version());
+            return;
+        }
+
+        // Make sure an archive exists before measuring the warm case
+        if (!Files.isRegularFile(getArchivePath())) {
+            timeRun(true);
+        }
+
+        List<Long> withoutArchive = new ArrayList<>();
+        List<Long> withArchive = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            withoutArchive.add(timeRun(false));
+            withArchive.add(timeRun(true));
+        }
+
+        long baseline = median(withoutArchive);
+        long archived = median(withArchive);
+        logger.info("Startup benchmark over {} runs: without CDS median {} ms, with CDS median {} ms ({}% faster)",
+                runs, baseline, archived, baseline > 0 ? (baseline - archived) * 100 / baseline : 0);
+        logger.info("Samples without CDS: {}", withoutArchive);
+        logger.info("Samples with CDS:    {}", withArchive);
+    }
+
+    private static long timeRun(boolean useArchive) throws IOException, InterruptedException {
+        List<String> command = buildCommand(FastLauncher.class.getName(),
+                Collections.singletonList(STARTUP_PROBE), useArchive);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        int exitCode = process.waitFor();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (exitCode != 0) {
+            throw new IllegalStateException("Startup probe exited with code " + exitCode
+                    + "; run it directly with " + STARTUP_PROBE + " to see the error");
+        }
+        return elapsed;
+    }
+
+    private static long median(List<Long> samples) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
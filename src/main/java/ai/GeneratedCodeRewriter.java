@@ -0,0 +1,601 @@
+package ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Post-generation rewrite pass for slow or brittle patterns in AI-generated code.
+ *
+ * Pages: extend core.BasePage, use its shared webDriverWait instead of a new WebDriverWait per
+ * method, and turn simple XPath locators into By.id/By.name/By.cssSelector; absolute and
+ * index-based XPath is reported. Steps: take the driver from DriverManager instead of creating
+ * ChromeDriver with System.setProperty, and leave quitting to the hooks.
+ *
+ * Rules match against a masked copy of the source in which comments and literal contents are
+ * blanked with the same length, so offsets line up with the original and code inside strings or
+ * comments is never touched.
+ */
+public class GeneratedCodeRewriter {
+    private static final Logger logger = LoggerFactory.getLogger(GeneratedCodeRewriter.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String REPORT_FILE = ".genai/rewrite-report.json";
+    // Timeout of BasePage.webDriverWait
+    private static final int BASE_PAGE_WAIT_SECONDS = 10;
+
+    private static final Pattern CLASS_DECLARATION = Pattern.compile(
+            "\\bclass\\s+(\\w+)(\\s+extends\\s+[\\w.]+)?(\\s+implements\\s+[\\w.,\\s]+)?\\s*\\{");
+    private static final Pattern DRIVER_FIELD = Pattern.compile(
+            "(?m)^[ \\t]*(?:private|protected)?\\s*WebDriver\\s+driver\\s*;[ \\t]*\\n?");
+    private static final Pattern METHOD_BODY = Pattern.compile(
+            "(?:public|protected|private)\\s+[^;{}=]*?\\(([^)]*)\\)\\s*(?:throws\\s+[\\w.,\\s]+)?\\{");
+    private static final Pattern LOCAL_WAIT = Pattern.compile(
+            "(?m)^[ \\t]*WebDriverWait\\s+(\\w+)\\s*=\\s*new\\s+WebDriverWait\\s*\\(\\s*driver\\s*,\\s*Duration\\.ofSeconds\\s*\\(\\s*(\\d+)L?\\s*\\)\\s*\\)\\s*;[ \\t]*\\n?");
+    private static final Pattern DRIVER_ASSIGNMENT = Pattern.compile(
+            "(?m)^[ \\t]*(?:(?:this\\.)?driver\\s*=[^;]*|super\\s*\\([^;]*\\))\\s*;[ \\t]*\\n");
+    private static final Pattern XPATH_CALL = Pattern.compile("By\\.xpath\\s*\\(\\s*\"");
+    private static final Pattern XPATH_PREDICATES = Pattern.compile(
+            "^//(\\w+|\\*)\\[(@[\\w-]+\\s*=\\s*'[^']*'(?:\\s+and\\s+@[\\w-]+\\s*=\\s*'[^']*')*)\\]$");
+    private static final Pattern XPATH_ATTRIBUTE = Pattern.compile("@([\\w-]+)\\s*=\\s*'([^']*)'");
+    private static final Pattern SET_DRIVER_PROPERTY = Pattern.compile(
+            "(?m)^[ \\t]*System\\.setProperty\\s*\\(\\s*\"[^\"\\n]*\"\\s*,[^;]*\\)\\s*;[ \\t]*\\n?");
+    private static final Pattern NEW_LOCAL_DRIVER = Pattern.compile(
+            "new\\s+(?:Chrome|Firefox|Edge|Safari)Driver\\s*\\([^;]*?\\)(?=\\s*;)");
+    private static final Pattern DRIVER_QUIT = Pattern.compile("(?m)^[ \\t]*driver\\.quit\\s*\\(\\s*\\)\\s*;[ \\t]*\\n?");
+    private static final Pattern PAGE_IMPORT = Pattern.compile("(?m)^import\\s+pages\\.(\\w+)\\s*;");
+    private static final Pattern UNINITIALIZED_FIELD = Pattern.compile(
+            "(?m)^([ \\t]*(?:private|protected|public)?\\s*)(\\w+)\\s+(\\w+)\\s*;");
+    private static final Pattern DRIVER_IMPORT = Pattern.compile(
+            "(?m)^import\\s+org\\.openqa\\.selenium\\.(?:chrome\\.ChromeDriver|firefox\\.FirefoxDriver|edge\\.EdgeDriver|safari\\.SafariDriver)\\s*;[ \\t]*\\n");
+
+    private final List<Change> changes = Collections.synchronizedList(new ArrayList<>());
+    // Pages are rewritten again after merging; the same finding is reported once
+    private final Set<String> recorded = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Rewrite a generated page object
+     */
+    public String rewritePage(String className, String source) {
+        String result = source;
+        boolean extendsBasePage = false;
+
+        Matcher declaration = CLASS_DECLARATION.matcher(mask(result));
+        if (declaration.find()) {
+            if (declaration.group(2) == null) {
+                result = result.substring(0, declaration.end(1)) + " extends BasePage" + result.substring(declaration.end(1));
+                result = addImport(result, "core.BasePage");
+                result = useSuperConstructor(className, result);
+                extendsBasePage = true;
+                record(className, "extends-base-page", "Page now extends BasePage");
+            } else {
+                extendsBasePage = declaration.group(2).trim().endsWith("BasePage");
+            }
+        }
+
+        result = shareWaits(className, result, extendsBasePage);
+        result = simplifyXPaths(className, result);
+        return result;
+    }
+
+    /**
+     * Rewrite a generated step definition class
+     */
+    public String rewriteSteps(String className, String source) {
+        String result = source;
+
+        result = removeAll(className, result, SET_DRIVER_PROPERTY, statement -> statement.contains("\"webdriver."),
+                "remove-driver-property", "Removed System.setProperty for the driver binary; DriverManager resolves it");
+
+        Matcher newDriver = NEW_LOCAL_DRIVER.matcher(mask(result));
+        List<int[]> driverCreations = new ArrayList<>();
+        while (newDriver.find()) {
+            driverCreations.add(new int[]{newDriver.start(), newDriver.end()});
+        }
+        for (int i = driverCreations.size() - 1; i >= 0; i--) {
+            result = result.substring(0, driverCreations.get(i)[0]) + "DriverManager.getDriver()"
+                    + result.substring(driverCreations.get(i)[1]);
+        }
+        if (!driverCreations.isEmpty()) {
+            record(className, "use-driver-manager", driverCreations.size() + " local driver instantiation(s) replaced by DriverManager.getDriver()");
+        }
+
+        result = removeAll(className, result, DRIVER_QUIT, statement -> true, "remove-driver-quit",
+                "Removed driver.quit(); the session is closed by the scenario hooks");
+
+        // Fields are initialized from the shared session so steps work even when the step that
+        // used to create the driver or page lives in another class
+        result = initializeSharedFields(className, result);
+
+        if (!result.equals(source)) {
+            result = DRIVER_IMPORT.matcher(result).replaceAll("");
+            result = addImport(result, "core.DriverManager");
+        }
+        return result;
+    }
+
+    /**
+     * Changes recorded so far
+     */
+    public List<Change> getChanges() {
+        synchronized (changes) {
+            return new ArrayList<>(changes);
+        }
+    }
+
+    /**
+     * Log the recorded changes and write them to .genai/rewrite-report.json
+     */
+    public void writeReport() {
+        List<Change> snapshot = getChanges();
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode entries = root.putArray("changes");
+        TreeMap<String, Integer> perRule = new TreeMap<>();
+        for (Change change : snapshot) {
+            entries.addObject()
+                    .put("className", change.getClassName())
+                    .put("rule", change.getRule())
+                    .put("detail", change.getDetail());
+            perRule.merge(change.getRule(), 1, Integer::sum);
+            if (change.getRule().startsWith("flag-")) {
+                logger.warn("{}: {}", change.getClassName(), change.getDetail());
+            } else {
+                logger.debug("{}: {}", change.getClassName(), change.getDetail());
+            }
+        }
+        logger.info("Generated code rewrites: {}", perRule.isEmpty() ? "none" : perRule);
+
+        try {
+            Path reportPath = Paths.get(REPORT_FILE);
+            Files.createDirectories(reportPath.toAbsolutePath().getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), root);
+        } catch (IOException e) {
+            logger.warn("Could not write rewrite report {}: {}", REPORT_FILE, e.getMessage());
+        }
+    }
+
+    // ==================== PAGE RULES ====================
+
+    /**
+     * Call super(driver) instead of assigning a shadowing driver field
+     */
+    private String useSuperConstructor(String className, String source) {
+        String result = source;
+        Matcher constructor = Pattern.compile("\\b" + Pattern.quote(className)
+                + "\\s*\\(\\s*WebDriver\\s+(\\w+)\\s*\\)\\s*\\{").matcher(mask(result));
+        if (constructor.find()) {
+            String parameter = constructor.group(1);
+            int bodyEnd = PageObjectRegistry.findMatchingBrace(result, constructor.end() - 1);
+            String body = result.substring(constructor.end(), bodyEnd);
+            String newBody = Pattern.compile("(?m)^[ \\t]*(?:this\\.)?driver\\s*=\\s*" + Pattern.quote(parameter) + "\\s*;[ \\t]*\\n?")
+                    .matcher(body).replaceFirst("");
+            String indent = detectIndent(body);
+            newBody = "\n" + indent + "super(" + parameter + ");" + (newBody.startsWith("\n") ? "" : "\n") + newBody;
+            result = result.substring(0, constructor.end()) + newBody + result.substring(bodyEnd);
+        }
+        // BasePage.driver is protected; a private field would shadow it and stay null
+        Matcher field = DRIVER_FIELD.matcher(mask(result));
+        if (field.find()) {
+            result = result.substring(0, field.start()) + result.substring(field.end());
+        }
+        return result;
+    }
+
+    /**
+     * Replace per-method WebDriverWait instances with BasePage.webDriverWait, or with one
+     * page-level wait per distinct timeout. On BasePage subclasses the page-level waits are field
+     * initializers, as super(driver) has set driver before they run; on other pages driver is only
+     * set in the constructor body, so the waits are assigned at its end instead
+     */
+    private String shareWaits(String className, String source, boolean extendsBasePage) {
+        List<int[]> constructors = extendsBasePage ? List.of() : constructorBodies(className, source);
+        if (!extendsBasePage && constructors.isEmpty()) {
+            // No constructor to initialize page-level waits in; the local waits stay
+            return source;
+        }
+        StringBuilder result = new StringBuilder(source);
+        Set<Integer> hoistedTimeouts = new LinkedHashSet<>();
+        int replaced = 0;
+
+        int searchFrom = 0;
+        while (true) {
+            Matcher method = METHOD_BODY.matcher(mask(result.toString()));
+            if (!method.find(searchFrom)) {
+                break;
+            }
+            int bodyStart = method.end();
+            int bodyEnd = PageObjectRegistry.findMatchingBrace(result.toString(), bodyStart - 1);
+            if (bodyEnd < 0) {
+                break;
+            }
+            String body = result.substring(bodyStart, bodyEnd);
+            Matcher wait = LOCAL_WAIT.matcher(mask(body));
+            if (wait.find()) {
+                int timeout = Integer.parseInt(wait.group(2));
+                String shared = extendsBasePage && timeout == BASE_PAGE_WAIT_SECONDS ? "webDriverWait" : "wait" + timeout + "s";
+                if (!shared.equals("webDriverWait")) {
+                    hoistedTimeouts.add(timeout);
+                }
+                String newBody = body.substring(0, wait.start()) + body.substring(wait.end());
+                newBody = replaceIdentifier(newBody, wait.group(1), shared);
+                result.replace(bodyStart, bodyEnd, newBody);
+                bodyEnd = bodyStart + newBody.length();
+                replaced++;
+            }
+            searchFrom = bodyEnd + 1;
+        }
+
+        String rewritten = result.toString();
+        if (!hoistedTimeouts.isEmpty() && !extendsBasePage) {
+            // Bodies end later than they start, so inserting back to front keeps offsets valid
+            List<int[]> bodies = constructorBodies(className, rewritten);
+            for (int i = bodies.size() - 1; i >= 0; i--) {
+                String body = rewritten.substring(bodies.get(i)[0], bodies.get(i)[1]);
+                if (body.trim().startsWith("this(")) {
+                    // Delegates to another constructor, which assigns the waits
+                    continue;
+                }
+                // Right after driver is assigned, so the rest of the constructor can use the waits
+                Matcher assignment = DRIVER_ASSIGNMENT.matcher(mask(body));
+                int lineStart = bodies.get(i)[0];
+                if (assignment.find()) {
+                    lineStart += assignment.end();
+                    while (assignment.find()) {
+                        lineStart = bodies.get(i)[0] + assignment.end();
+                    }
+                } else {
+                    lineStart = rewritten.lastIndexOf('\n', bodies.get(i)[1] - 1) + 1;
+                }
+                String indent = detectIndent(body);
+                StringBuilder assignments = new StringBuilder();
+                for (int timeout : hoistedTimeouts) {
+                    assignments.append(indent).append("this.wait").append(timeout)
+                            .append("s = new WebDriverWait(driver, Duration.ofSeconds(").append(timeout).append("));\n");
+                }
+                rewritten = rewritten.substring(0, lineStart) + assignments + rewritten.substring(lineStart);
+            }
+        }
+        if (!hoistedTimeouts.isEmpty()) {
+            Matcher declaration = CLASS_DECLARATION.matcher(mask(rewritten));
+            if (declaration.find()) {
+                StringBuilder fields = new StringBuilder();
+                String indent = detectIndent(rewritten.substring(declaration.end()));
+                for (int timeout : hoistedTimeouts) {
+                    fields.append(indent).append("private final WebDriverWait wait").append(timeout).append('s')
+                            .append(extendsBasePage ? " = new WebDriverWait(driver, Duration.ofSeconds(" + timeout + "))" : "")
+                            .append(";\n");
+                }
+                int insertAt = rewritten.indexOf('\n', declaration.end()) + 1;
+                rewritten = rewritten.substring(0, insertAt) + fields + rewritten.substring(insertAt);
+            }
+        }
+        if (replaced > 0) {
+            record(className, "share-wait", replaced + " per-method WebDriverWait(s) replaced by shared waits"
+                    + (hoistedTimeouts.isEmpty() ? "" : " (page-level waits for timeouts " + hoistedTimeouts + "s)"));
+        }
+        return rewritten;
+    }
+
+    /**
+     * Start (after the opening brace) and end (the closing brace) of each constructor body
+     */
+    private static List<int[]> constructorBodies(String className, String source) {
+        List<int[]> bodies = new ArrayList<>();
+        Matcher constructor = Pattern.compile("\\b" + Pattern.quote(className)
+                + "\\s*\\([^)]*\\)\\s*(?:throws\\s+[\\w.,\\s]+)?\\{").matcher(mask(source));
+        while (constructor.find()) {
+            // "new ClassName(...) {" would be an anonymous subclass, not a constructor
+            if (source.substring(0, constructor.start()).matches("(?s).*\\bnew\\s+$")) {
+                continue;
+            }
+            int end = PageObjectRegistry.findMatchingBrace(source, constructor.end() - 1);
+            if (end > 0) {
+                bodies.add(new int[]{constructor.end(), end});
+            }
+        }
+        return bodies;
+    }
+
+    /**
+     * Turn simple attribute XPaths into By.id/By.name/By.cssSelector and flag brittle ones
+     */
+    private String simplifyXPaths(String className, String source) {
+        StringBuilder result = new StringBuilder(source);
+        List<int[]> calls = new ArrayList<>();
+        Matcher call = XPATH_CALL.matcher(mask(source));
+        while (call.find()) {
+            int literalStart = call.end() - 1;
+            int literalEnd = endOfStringLiteral(source, literalStart);
+            int close = literalEnd < 0 ? -1 : skipWhitespace(source, literalEnd + 1);
+            if (close >= 0 && close < source.length() && source.charAt(close) == ')') {
+                calls.add(new int[]{call.start(), literalStart, literalEnd, close});
+            }
+        }
+
+        for (int i = calls.size() - 1; i >= 0; i--) {
+            int[] c = calls.get(i);
+            String xpath = unescape(source.substring(c[1] + 1, c[2]));
+            String replacement = toSimpleLocator(xpath);
+            if (replacement != null) {
+                result.replace(c[0], c[3] + 1, replacement);
+                record(className, "simplify-xpath", xpath + " -> " + replacement);
+            } else if (xpath.startsWith("/") && !xpath.startsWith("//")) {
+                record(className, "flag-absolute-xpath", "Absolute XPath breaks on any layout change: " + xpath);
+            } else if (xpath.matches(".*\\[\\d+\\].*")) {
+                record(className, "flag-positional-xpath", "Index-based XPath is brittle: " + xpath);
+            }
+        }
+        return result.toString();
+    }
+
+    static String toSimpleLocator(String xpath) {
+        Matcher matcher = XPATH_PREDICATES.matcher(xpath.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String tag = matcher.group(1).equals("*") ? "" : matcher.group(1);
+        List<String[]> attributes = new ArrayList<>();
+        Matcher attribute = XPATH_ATTRIBUTE.matcher(matcher.group(2));
+        while (attribute.find()) {
+            attributes.add(new String[]{attribute.group(1), attribute.group(2)});
+        }
+
+        if (attributes.size() == 1) {
+            String name = attributes.get(0)[0];
+            String value = attributes.get(0)[1];
+            if (name.equals("id") && value.matches("[\\w-]+")) {
+                return "By.id(\"" + value + "\")";
+            }
+            if (name.equals("name") && tag.isEmpty()) {
+                return "By.name(\"" + escapeJava(value) + "\")";
+            }
+        }
+
+        StringBuilder css = new StringBuilder(tag);
+        for (String[] pair : attributes) {
+            if (pair[1].contains("\"") || pair[1].contains("\\")) {
+                return null;
+            }
+            css.append('[').append(pair[0]).append("=\"").append(pair[1]).append("\"]");
+        }
+        return "By.cssSelector(\"" + escapeJava(css.toString()) + "\")";
+    }
+
+    // ==================== STEP RULES ====================
+
+    private String initializeSharedFields(String className, String source) {
+        Set<String> pageTypes = new LinkedHashSet<>();
+        Matcher pageImport = PAGE_IMPORT.matcher(source);
+        while (pageImport.find()) {
+            pageTypes.add(pageImport.group(1));
+        }
+
+        StringBuilder result = new StringBuilder(source);
+        Matcher declaration = CLASS_DECLARATION.matcher(mask(source));
+        if (!declaration.find()) {
+            return source;
+        }
+        int classBodyEnd = PageObjectRegistry.findMatchingBrace(source, declaration.end() - 1);
+        Matcher field = UNINITIALIZED_FIELD.matcher(mask(source));
+        List<int[]> fieldEnds = new ArrayList<>();
+        List<String> initializers = new ArrayList<>();
+        int region = declaration.end();
+        while (field.find(region) && field.start() < classBodyEnd) {
+            region = field.end();
+            // Only class-level fields: the brace depth between the class body start and the field must be zero
+            if (braceDepth(mask(source), declaration.end(), field.start()) != 0) {
+                continue;
+            }
+            String type = field.group(2);
+            String initializer = null;
+            if (type.equals("WebDriver")) {
+                initializer = "DriverManager.getDriver()";
+            } else if (pageTypes.contains(type)) {
+                initializer = "new " + type + "(DriverManager.getDriver())";
+            }
+            if (initializer != null) {
+                fieldEnds.add(new int[]{field.end() - 1});
+                initializers.add(initializer);
+                record(className, "initialize-field", type + " " + field.group(3) + " = " + initializer);
+            }
+        }
+        for (int i = fieldEnds.size() - 1; i >= 0; i--) {
+            result.insert(fieldEnds.get(i)[0], " = " + initializers.get(i));
+        }
+        return result.toString();
+    }
+
+    // ==================== HELPERS ====================
+
+    private String removeAll(String className, String source, Pattern pattern, Predicate<String> filter,
+                             String rule, String detail) {
+        Matcher matcher = pattern.matcher(mask(source));
+        StringBuilder result = new StringBuilder(source);
+        List<int[]> ranges = new ArrayList<>();
+        while (matcher.find()) {
+            // The pattern matched the masked code; the filter sees the statement with its literals
+            if (filter.test(source.substring(matcher.start(), matcher.end()))) {
+                ranges.add(new int[]{matcher.start(), matcher.end()});
+            }
+        }
+        for (int i = ranges.size() - 1; i >= 0; i--) {
+            result.delete(ranges.get(i)[0], ranges.get(i)[1]);
+        }
+        if (!ranges.isEmpty()) {
+            record(className, rule, detail);
+        }
+        return result.toString();
+    }
+
+    private void record(String className, String rule, String detail) {
+        Change change = new Change(className, rule, detail);
+        if (recorded.add(change.toString())) {
+            changes.add(change);
+        }
+    }
+
+    /**
+     * Replace an identifier in code only (not inside strings or comments)
+     */
+    private static String replaceIdentifier(String code, String identifier, String replacement) {
+        Matcher matcher = Pattern.compile("(?<![\\w.])" + Pattern.quote(identifier) + "\\b").matcher(mask(code));
+        StringBuilder result = new StringBuilder(code);
+        List<Integer> starts = new ArrayList<>();
+        while (matcher.find()) {
+            starts.add(matcher.start());
+        }
+        for (int i = starts.size() - 1; i >= 0; i--) {
+            result.replace(starts.get(i), starts.get(i) + identifier.length(), replacement);
+        }
+        return result.toString();
+    }
+
+    private static String addImport(String source, String qualifiedName) {
+        if (source.contains("import " + qualifiedName + ";")) {
+            return source;
+        }
+        Matcher firstImport = Pattern.compile("(?m)^import\\s").matcher(source);
+        if (firstImport.find()) {
+            return source.substring(0, firstImport.start()) + "import " + qualifiedName + ";\n"
+                    + source.substring(firstImport.start());
+        }
+        Matcher packageDeclaration = Pattern.compile("(?m)^package\\s+[\\w.]+\\s*;[ \\t]*\\n").matcher(source);
+        if (packageDeclaration.find()) {
+            return source.substring(0, packageDeclaration.end()) + "import " + qualifiedName + ";\n"
+                    + source.substring(packageDeclaration.end());
+        }
+        return "import " + qualifiedName + ";\n" + source;
+    }
+
+    private static String detectIndent(String body) {
+        Matcher indent = Pattern.compile("\\n([ \\t]+)\\S").matcher(body);
+        return indent.find() ? indent.group(1) : "    ";
+    }
+
+    private static int braceDepth(String masked, int from, int to) {
+        int depth = 0;
+        for (int i = from; i < to; i++) {
+            char c = masked.charAt(i);
+            if (c == '{') depth++;
+            else if (c == '}') depth--;
+        }
+        return depth;
+    }
+
+    private static int endOfStringLiteral(String source, int openQuote) {
+        for (int i = openQuote + 1; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            } else if (c == '\n') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(String source, int index) {
+        while (index < source.length() && Character.isWhitespace(source.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static String unescape(String literal) {
+        return literal.replace("\\\"", "\"").replace("\\\\", "\\");
+    }
+
+    private static String escapeJava(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Copy of the source with comment text and string/char/text block contents replaced by
+     * spaces (newlines kept), so regexes only ever match code at the original offsets
+     */
+    static String mask(String source) {
+        char[] masked = source.toCharArray();
+        int i = 0;
+        while (i < masked.length) {
+            if (source.startsWith("//", i)) {
+                int end = source.indexOf('\n', i);
+                end = end < 0 ? masked.length : end;
+                blank(masked, i, end);
+                i = end;
+            } else if (source.startsWith("/*", i)) {
+                int end = source.indexOf("*/", i + 2);
+                end = end < 0 ? masked.length : end + 2;
+                blank(masked, i, end);
+                i = end;
+            } else if (source.startsWith("\"\"\"", i)) {
+                int end = source.indexOf("\"\"\"", i + 3);
+                end = end < 0 ? masked.length : end;
+                blank(masked, i + 3, end);
+                i = Math.min(masked.length, end + 3);
+            } else if (masked[i] == '"' || masked[i] == '\'') {
+                char quote = masked[i];
+                int j = i + 1;
+                while (j < masked.length && source.charAt(j) != quote && source.charAt(j) != '\n') {
+                    j += source.charAt(j) == '\\' ? 2 : 1;
+                }
+                j = Math.min(j, masked.length);
+                blank(masked, i + 1, j);
+                i = j + 1;
+            } else {
+                i++;
+            }
+        }
+        return new String(masked);
+    }
+
+    private static void blank(char[] chars, int from, int to) {
+        for (int i = from; i < to && i < chars.length; i++) {
+            if (chars[i] != '\n') {
+                chars[i] = ' ';
+            }
+        }
+    }
+
+    /**
+     * One applied rewrite or flagged pattern
+     */
+    public static class Change {
+        private final String className;
+        private final String rule;
+        private final String detail;
+
+        public Change(String className, String rule, String detail) {
+            this.className = className;
+            this.rule = rule;
+            this.detail = detail;
+        }
+
+        public String getClassName() { return className; }
+        public String getRule() { return rule; }
+        public String getDetail() { return detail; }
+
+        @Override
+        public String toString() {
+            return className + " [" + rule + "] " + detail;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package ai;
 
-import com.ai.automation.core.ConfigManager;
+import core.ConfigManager;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.HttpEntity;
@@ -35,20 +35,28 @@ public class GroqAIClient {
                 - Test data (URLs, text inputs, expected results)
                 - Page objects needed
 
-                Return only valid JSON with this structure:
+                Return only valid JSON with this structure. Use one array entry per feature,
+                page and step class; a prompt spanning several pages should produce several entries:
                 {
-                  "featureFile": {
-                    "name": "LoginTest.feature",
-                    "content": "Feature: Login functionality\\n  Scenario: Successful login\\n    Given..."
-                  },
-                  "pageObject": {
-                    "className": "LoginPage",
-                    "content": "package pages;\\n\\nimport..."
-                  },
-                  "stepDefinition": {
-                    "className": "LoginSteps",
-                    "content": "package steps;\\n\\nimport..."
-                  },
+                  "featureFiles": [
+                    {
+                      "name": "LoginTest.feature",
+                      "content": "Feature: Login functionality\\n  Scenario: Successful login\\n    Given..."
+                    }
+                  ],
+                  "pageObjects": [
+                    {
+                      "className": "LoginPage",
+                      "url": "https://example.com/login",
+                      "content": "package pages;\\n\\nimport..."
+                    }
+                  ],
+                  "stepDefinitions": [
+                    {
+                      "className": "LoginSteps",
+                      "content": "package steps;\\n\\nimport..."
+                    }
+                  ],
                   "testData": {
                     "url": "https://example.com",
                     "email": "user@example.com",
@@ -0,0 +1,510 @@
+package ai;
+
+import locators.PageKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Registry of generated page objects keyed by URL pattern.
+ * Instead of overwriting a page class, a newly generated page for an already known URL pattern
+ * (or class name) is merged into the existing class: new By fields and methods are added,
+ * locators equivalent to an existing field are folded onto that field, and methods with the
+ * same signature take the newer body. The URL pattern to class mapping is kept in .genai.
+ */
+public class PageObjectRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(PageObjectRegistry.class);
+
+    private static final String REGISTRY_FILE = ".genai/page-registry.properties";
+
+    // private By usernameField = By.xpath("//input[@name='username']");
+    private static final Pattern BY_FIELD = Pattern.compile(
+            "(?m)^[ \\t]*(?:(?:private|protected|public|static|final)\\s+)*By\\s+(\\w+)\\s*=\\s*By\\.(\\w+)\\(\\s*\"((?:[^\"\\\\]|\\\\.)*)\"\\s*\\)\\s*;[^\\n]*\\n?");
+    // public void enterUsername(String username) {   (constructors have no return type and do not match)
+    private static final Pattern METHOD_HEADER = Pattern.compile(
+            "(?m)^[ \\t]*(?:(?:public|protected|private|static|final|synchronized)\\s+)+[\\w<>\\[\\],.? ]+?\\s+(\\w+)\\s*\\(([^)]*)\\)\\s*(?:throws\\s+[\\w.,\\s]+)?\\{");
+    private static final Pattern IMPORT = Pattern.compile("(?m)^import\\s+[\\w.*]+\\s*;[ \\t]*\\n?");
+    private static final Pattern CLASS_NAME = Pattern.compile("\\bclass\\s+(\\w+)");
+    private static final Pattern URL_LITERAL = Pattern.compile("\"(https?://[^\"\\s]+)\"");
+    private static final Pattern SIMPLE_XPATH = Pattern.compile(
+            "^//(\\w+|\\*)\\[@([\\w-]+)\\s*=\\s*['\"]([^'\"]*)['\"]\\]$");
+
+    private final Path pagesDir;
+    private final Properties urlToClass = new Properties();
+    private final Map<String, String> currentSources = new HashMap<>();
+    private final Map<String, String> classRenames = new HashMap<>();
+
+    private PageObjectRegistry(Path pagesDir) {
+        this.pagesDir = pagesDir;
+    }
+
+    /**
+     * Load the registry for the given pages directory
+     */
+    public static PageObjectRegistry load(String pagesDir) {
+        PageObjectRegistry registry = new PageObjectRegistry(Paths.get(pagesDir));
+        Path registryPath = Paths.get(REGISTRY_FILE);
+        if (Files.isRegularFile(registryPath)) {
+            try (InputStream input = Files.newInputStream(registryPath)) {
+                registry.urlToClass.load(input);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable page registry {}: {}", REGISTRY_FILE, e.getMessage());
+            }
+        }
+        registry.seedFromSources();
+        return registry;
+    }
+
+    /**
+     * Map the URL literal of each existing page that is not registered yet, so pages written
+     * before the registry file existed are still found by URL
+     */
+    private void seedFromSources() {
+        if (!Files.isDirectory(pagesDir)) {
+            return;
+        }
+        List<Path> sources;
+        try (Stream<Path> files = Files.list(pagesDir)) {
+            sources = files.filter(path -> path.toString().endsWith(".java")).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            logger.warn("Could not list existing pages in {}: {}", pagesDir, e.getMessage());
+            return;
+        }
+        int seeded = 0;
+        for (Path source : sources) {
+            String fileName = source.getFileName().toString();
+            String className = fileName.substring(0, fileName.length() - ".java".length());
+            if (urlToClass.containsValue(className)) {
+                continue;
+            }
+            String content = readSource(className);
+            String url = content == null ? null : findUrlLiteral(content);
+            if (url != null && urlToClass.putIfAbsent(normalizeUrl(url), className) == null) {
+                seeded++;
+            }
+        }
+        if (seeded > 0) {
+            logger.info("Registered {} existing page(s) by their URL literal", seeded);
+        }
+    }
+
+    /**
+     * Persist the URL pattern to class mapping
+     */
+    public void save() {
+        Path registryPath = Paths.get(REGISTRY_FILE);
+        try {
+            Files.createDirectories(registryPath.toAbsolutePath().getParent());
+            try (OutputStream output = Files.newOutputStream(registryPath)) {
+                urlToClass.store(output, "Generated page objects by URL pattern");
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write page registry {}: {}", REGISTRY_FILE, e.getMessage());
+        }
+    }
+
+    /**
+     * Merge a generated page into the registry
+     * @param className class name chosen by the generator
+     * @param content generated source
+     * @param url page URL if known; otherwise the first http(s) literal in the source is used
+     * @return class name and source to write (the existing class when merged)
+     */
+    public MergeResult register(String className, String content, String url) {
+        String pageUrl = url == null || url.isBlank() ? findUrlLiteral(content) : url;
+        String urlPattern = pageUrl == null ? null : normalizeUrl(pageUrl);
+
+        String targetClass = className;
+        if (urlPattern != null && urlToClass.containsKey(urlPattern)) {
+            String registered = urlToClass.getProperty(urlPattern);
+            if (readSource(registered) != null) {
+                targetClass = registered;
+            }
+        }
+
+        String existing = readSource(targetClass);
+        String merged;
+        if (existing == null) {
+            merged = content;
+        } else {
+            merged = merge(existing, content.replaceAll("\\b" + Pattern.quote(className) + "\\b", targetClass));
+            logger.info("Merged generated page {} into existing {}", className, targetClass);
+        }
+
+        if (!targetClass.equals(className)) {
+            classRenames.put(className, targetClass);
+        }
+        if (urlPattern != null) {
+            urlToClass.setProperty(urlPattern, targetClass);
+        }
+        currentSources.put(targetClass, merged);
+        return new MergeResult(targetClass, merged);
+    }
+
+    /**
+     * Rewrite references to page classes that were merged into another class.
+     * Steps are emitted after pages in the response schema, so renames are known by then.
+     */
+    public String applyClassRenames(String source) {
+        String result = source;
+        for (Map.Entry<String, String> rename : classRenames.entrySet()) {
+            result = result.replaceAll("\\b" + Pattern.quote(rename.getKey()) + "\\b", rename.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Reduce a URL to scheme://host/path with id-like path segments replaced by '*'
+     */
+    public static String normalizeUrl(String url) {
+        return PageKey.fromUrl(url);
+    }
+
+    // ==================== MERGING ====================
+
+    private String merge(String existing, String generated) {
+        StringBuilder result = new StringBuilder(existing);
+
+        // 1. Fields: equivalent locators fold onto the existing field, same name takes the new locator
+        Map<String, LocatorField> existingFields = parseFields(existing);
+        Map<String, String> fieldRenames = new HashMap<>();
+        List<String> newFieldDeclarations = new ArrayList<>();
+        for (LocatorField field : parseFields(generated).values()) {
+            LocatorField sameLocator = findByKey(existingFields, field.key);
+            LocatorField sameName = existingFields.get(field.name);
+            if (sameLocator != null) {
+                if (!sameLocator.name.equals(field.name)) {
+                    fieldRenames.put(field.name, sameLocator.name);
+                }
+            } else if (sameName != null) {
+                logger.info("Locator for {} changed: {} -> {}", field.name, sameName.key, field.key);
+                replaceOnce(result, sameName.declaration, field.declaration);
+            } else {
+                newFieldDeclarations.add(field.declaration);
+            }
+        }
+        if (!newFieldDeclarations.isEmpty()) {
+            insertAfterLastField(result, String.join("", newFieldDeclarations));
+        }
+
+        // 2. Methods: same signature takes the newer body, others are appended
+        Map<String, String> existingMethods = parseMethods(result.toString());
+        StringBuilder appended = new StringBuilder();
+        for (Map.Entry<String, String> method : parseMethods(generated).entrySet()) {
+            String body = renameFields(method.getValue(), fieldRenames);
+            String current = existingMethods.get(method.getKey());
+            if (current == null) {
+                appended.append('\n').append(body);
+            } else if (!current.equals(body)) {
+                replaceOnce(result, current, body);
+            }
+        }
+        if (appended.length() > 0) {
+            result.insert(result.lastIndexOf("}"), appended);
+        }
+
+        // 3. Imports: union
+        mergeImports(result, generated);
+        return result.toString();
+    }
+
+    private static Map<String, LocatorField> parseFields(String source) {
+        Map<String, LocatorField> fields = new LinkedHashMap<>();
+        Matcher matcher = BY_FIELD.matcher(source);
+        while (matcher.find()) {
+            String declaration = matcher.group();
+            if (!declaration.endsWith("\n")) {
+                declaration += "\n";
+            }
+            String value = matcher.group(3).replace("\\\"", "\"").replace("\\\\", "\\");
+            fields.put(matcher.group(1), new LocatorField(matcher.group(1),
+                    locatorKey(matcher.group(2), value), declaration));
+        }
+        return fields;
+    }
+
+    /**
+     * Method source keyed by name and parameter types, including leading Javadoc and annotations
+     */
+    private static Map<String, String> parseMethods(String source) {
+        Map<String, String> methods = new LinkedHashMap<>();
+        Matcher matcher = METHOD_HEADER.matcher(source);
+        int searchFrom = 0;
+        while (matcher.find(searchFrom)) {
+            int end = findMatchingBrace(source, matcher.end() - 1);
+            if (end < 0) {
+                break;
+            }
+            int start = includeLeadingDocs(source, matcher.start());
+            String signature = matcher.group(1) + "(" + parameterTypes(matcher.group(2)) + ")";
+            int lineEnd = source.indexOf('\n', end);
+            methods.put(signature, source.substring(start, lineEnd < 0 ? end + 1 : lineEnd + 1));
+            searchFrom = end + 1;
+        }
+        return methods;
+    }
+
+    private static String parameterTypes(String parameters) {
+        List<String> types = new ArrayList<>();
+        for (String parameter : parameters.split(",")) {
+            String trimmed = parameter.trim().replaceAll("^final\\s+", "");
+            int lastSpace = trimmed.lastIndexOf(' ');
+            if (lastSpace > 0) {
+                types.add(trimmed.substring(0, lastSpace).replaceAll("\\s+", ""));
+            }
+        }
+        return String.join(",", types);
+    }
+
+    /**
+     * Extend a member start backwards over the Javadoc, comments and annotations directly above it
+     */
+    static int includeLeadingDocs(String source, int memberStart) {
+        int start = memberStart;
+        while (start > 0) {
+            int previousLineEnd = start - 1;
+            int previousLineStart = source.lastIndexOf('\n', previousLineEnd - 1) + 1;
+            String line = source.substring(previousLineStart, previousLineEnd).trim();
+            if (line.startsWith("@") || line.startsWith("/**") || line.startsWith("*")
+                    || line.startsWith("*/") || line.startsWith("//")) {
+                start = previousLineStart;
+            } else {
+                break;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Index of the brace closing the one at openIndex, skipping strings, chars and comments
+     */
+    static int findMatchingBrace(String source, int openIndex) {
+        int depth = 0;
+        for (int i = openIndex; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\'') {
+                if (source.startsWith("\"\"\"", i)) {
+                    int close = source.indexOf("\"\"\"", i + 3);
+                    if (close < 0) return -1;
+                    i = close + 2;
+                    continue;
+                }
+                for (i++; i < source.length() && source.charAt(i) != c; i++) {
+                    if (source.charAt(i) == '\\') i++;
+                }
+            } else if (source.startsWith("//", i)) {
+                int lineEnd = source.indexOf('\n', i);
+                if (lineEnd < 0) return -1;
+                i = lineEnd;
+            } else if (source.startsWith("/*", i)) {
+                int close = source.indexOf("*/", i + 2);
+                if (close < 0) return -1;
+                i = close + 1;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void insertAfterLastField(StringBuilder source, String declarations) {
+        Matcher matcher = BY_FIELD.matcher(source);
+        int insertAt = -1;
+        while (matcher.find()) {
+            insertAt = matcher.end();
+        }
+        if (insertAt < 0) {
+            // No locator fields yet: place them at the top of the class body
+            Matcher classMatcher = CLASS_NAME.matcher(source);
+            int bodyStart = classMatcher.find() ? source.indexOf("{", classMatcher.end()) : -1;
+            insertAt = bodyStart < 0 ? source.length() : source.indexOf("\n", bodyStart) + 1;
+        }
+        source.insert(insertAt, declarations);
+    }
+
+    private static void mergeImports(StringBuilder source, String generated) {
+        Matcher existingImports = IMPORT.matcher(source);
+        int insertAt = -1;
+        StringBuilder known = new StringBuilder();
+        while (existingImports.find()) {
+            insertAt = existingImports.end();
+            known.append(existingImports.group().trim()).append('\n');
+        }
+        StringBuilder missing = new StringBuilder();
+        Matcher newImports = IMPORT.matcher(generated);
+        while (newImports.find()) {
+            String line = newImports.group().trim();
+            if (known.indexOf(line) < 0) {
+                missing.append(line).append('\n');
+            }
+        }
+        if (missing.length() > 0 && insertAt >= 0) {
+            if (source.charAt(insertAt - 1) != '\n') {
+                missing.insert(0, '\n');
+            }
+            source.insert(insertAt, missing);
+        }
+    }
+
+    /**
+     * Point references to renamed locator fields at their new names: this.x, and unqualified x
+     * unless a parameter or local of the method declares the same name. Member accesses (obj.x),
+     * method calls (x()), comments and string contents are left alone
+     */
+    private static String renameFields(String method, Map<String, String> renames) {
+        String result = method;
+        for (Map.Entry<String, String> rename : renames.entrySet()) {
+            String name = Pattern.quote(rename.getKey());
+            String masked = GeneratedCodeRewriter.mask(result);
+            boolean shadowed = Pattern.compile(
+                    "\\b(?:[A-Z]\\w*|int|long|short|byte|char|boolean|float|double|var)(?:\\s*<[^;{}()]*>)?(?:\\s*\\[\\s*\\])*\\s+"
+                            + name + "\\s*[=;,:)]").matcher(masked).find();
+            Matcher reference = Pattern.compile("(?<![\\w.])(this\\s*\\.\\s*)?(" + name + ")\\b(?!\\s*\\()").matcher(masked);
+            StringBuilder renamed = new StringBuilder(result);
+            List<Integer> starts = new ArrayList<>();
+            while (reference.find()) {
+                if (reference.group(1) != null || !shadowed) {
+                    starts.add(reference.start(2));
+                }
+            }
+            // Back to front, so earlier offsets stay valid
+            for (int i = starts.size() - 1; i >= 0; i--) {
+                renamed.replace(starts.get(i), starts.get(i) + rename.getKey().length(), rename.getValue());
+            }
+            result = renamed.toString();
+        }
+        return result;
+    }
+
+    private static void replaceOnce(StringBuilder source, String target, String replacement) {
+        int index = source.indexOf(target);
+        if (index >= 0) {
+            source.replace(index, index + target.length(), replacement);
+        }
+    }
+
+    private static LocatorField findByKey(Map<String, LocatorField> fields, String key) {
+        for (LocatorField field : fields.values()) {
+            if (field.key.equals(key)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Canonical form of a locator so that e.g. By.id("u"), By.cssSelector("#u")
+     * and By.xpath("//*[@id='u']") compare equal
+     */
+    static String locatorKey(String strategy, String value) {
+        String v = value.trim();
+        switch (strategy) {
+            case "id":
+                return "css:#" + v;
+            case "name":
+                return "css:[name='" + v + "']";
+            case "className":
+                return "css:." + v;
+            case "tagName":
+                return "css:" + v.toLowerCase(Locale.ROOT);
+            case "cssSelector":
+                return "css:" + normalizeCss(v);
+            case "xpath":
+                Matcher simple = SIMPLE_XPATH.matcher(v.replaceAll("\\s+", ""));
+                if (simple.matches()) {
+                    String tag = simple.group(1).equals("*") ? "" : simple.group(1).toLowerCase(Locale.ROOT);
+                    return "css:" + tag + attributeSelector(simple.group(2), simple.group(3));
+                }
+                return "xpath:" + v.replaceAll("\\s+", " ");
+            case "linkText":
+                return "link:" + v;
+            case "partialLinkText":
+                return "partialLink:" + v;
+            default:
+                return strategy + ":" + v;
+        }
+    }
+
+    private static String normalizeCss(String css) {
+        String normalized = css.replace('"', '\'').replaceAll("\\s+", " ").replaceAll("^\\*(?=[\\[#.])", "");
+        Matcher attribute = Pattern.compile("^(\\w*)\\[([\\w-]+)='([^']*)'\\]$").matcher(normalized);
+        if (attribute.matches()) {
+            return attribute.group(1).toLowerCase(Locale.ROOT) + attributeSelector(attribute.group(2), attribute.group(3));
+        }
+        return normalized;
+    }
+
+    private static String attributeSelector(String attribute, String value) {
+        return attribute.equals("id") && value.matches("[\\w-]+") ? "#" + value : "[" + attribute + "='" + value + "']";
+    }
+
+    private String readSource(String className) {
+        String current = currentSources.get(className);
+        if (current != null) {
+            return current;
+        }
+        Path path = pagesDir.resolve(className + ".java");
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Could not read existing page {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String findUrlLiteral(String content) {
+        Matcher matcher = URL_LITERAL.matcher(content);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static class LocatorField {
+        private final String name;
+        private final String key;
+        private final String declaration;
+
+        LocatorField(String name, String key, String declaration) {
+            this.name = name;
+            this.key = key;
+            this.declaration = declaration;
+        }
+    }
+
+    /**
+     * Class name and source of a registered page
+     */
+    public static class MergeResult {
+        private final String className;
+        private final String content;
+
+        public MergeResult(String className, String content) {
+            this.className = className;
+            this.content = content;
+        }
+
+        public String getClassName() { return className; }
+        public String getContent() { return content; }
+    }
+}
@@ -0,0 +1,210 @@
+package ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timeline of named workflow stages with start/end nanos
+ * Used to see which stage regressed when end-to-end latency jumps
+ */
+public class ProcessTimeline {
+    private static final Logger logger = LoggerFactory.getLogger(ProcessTimeline.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Workflow stages in execution order
+     */
+    public enum Stage {
+        PREREQUISITE_CHECK("prerequisiteCheck"),
+        LLM_CALL("llmCall"),
+        PARSE("parse"),
+        FILE_GENERATION("fileGeneration"),
+        COMPILE("compile"),
+        BROWSER_STARTUP("browserStartup"),
+        EXECUTION("execution"),
+        // Test JVM between its last scenario and exit: Surefire and plugin reports, driver shutdown
+        CHILD_SHUTDOWN("childShutdown"),
+        REPORTING("reporting");
+
+        private final String jsonName;
+
+        Stage(String jsonName) {
+            this.jsonName = jsonName;
+        }
+
+        public String getJsonName() { return jsonName; }
+    }
+
+    private final long originNanos;
+    private final List<StageTiming> stages = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Stage, Long> openStages = new EnumMap<>(Stage.class);
+
+    public ProcessTimeline() {
+        this.originNanos = System.nanoTime();
+    }
+
+    /**
+     * Mark the start of a stage
+     */
+    public synchronized void start(Stage stage) {
+        openStages.put(stage, System.nanoTime());
+    }
+
+    /**
+     * Mark the end of a previously started stage
+     */
+    public synchronized void end(Stage stage) {
+        Long startNanos = openStages.remove(stage);
+        if (startNanos == null) {
+            logger.warn("Stage {} ended without being started", stage);
+            return;
+        }
+        record(stage, startNanos, System.nanoTime());
+    }
+
+    /**
+     * Record a stage whose boundaries were measured elsewhere (e.g. from child process output)
+     */
+    public void record(Stage stage, long startNanos, long endNanos) {
+        if (endNanos < startNanos) {
+            logger.debug("Ignoring stage {} with negative duration", stage);
+            return;
+        }
+        stages.add(new StageTiming(stage, startNanos, endNanos));
+    }
+
+    /**
+     * Time a stage around the given action
+     */
+    public <T> T time(Stage stage, Callable<T> action) throws Exception {
+        long startNanos = System.nanoTime();
+        try {
+            return action.call();
+        } finally {
+            record(stage, startNanos, System.nanoTime());
+        }
+    }
+
+    /**
+     * Close any stage left open by a failure
+     */
+    public synchronized void closeOpenStages() {
+        long now = System.nanoTime();
+        for (Map.Entry<Stage, Long> open : openStages.entrySet()) {
+            record(open.getKey(), open.getValue(), now);
+        }
+        openStages.clear();
+    }
+
+    /**
+     * Recorded stages in start order
+     */
+    public List<StageTiming> getStages() {
+        List<StageTiming> snapshot;
+        synchronized (stages) {
+            snapshot = new ArrayList<>(stages);
+        }
+        snapshot.sort((a, b) -> Long.compare(a.getStartNanos(), b.getStartNanos()));
+        return snapshot;
+    }
+
+    /**
+     * Total milliseconds spent in the given stage
+     */
+    public long getDurationMillis(Stage stage) {
+        long nanos = 0;
+        for (StageTiming timing : getStages()) {
+            if (timing.getStage() == stage) {
+                nanos += timing.getDurationNanos();
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Export the timeline as JSON; start/end nanos are offsets from the timeline origin
+     */
+    public String toJson() {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode stageArray = root.putArray("stages");
+        long lastEnd = originNanos;
+
+        for (StageTiming timing : getStages()) {
+            ObjectNode node = stageArray.addObject();
+            node.put("name", timing.getStage().getJsonName());
+            node.put("startNanos", timing.getStartNanos() - originNanos);
+            node.put("endNanos", timing.getEndNanos() - originNanos);
+            node.put("durationMillis", TimeUnit.NANOSECONDS.toMillis(timing.getDurationNanos()));
+            lastEnd = Math.max(lastEnd, timing.getEndNanos());
+        }
+        root.put("totalNanos", lastEnd - originNanos);
+
+        try {
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(root);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize process timeline", e);
+        }
+    }
+
+    /**
+     * Write the JSON export to a file
+     */
+    public void writeJson(Path path) {
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            Files.writeString(path, toJson());
+            logger.info("Stage timeline written to: {}", path);
+        } catch (IOException e) {
+            logger.warn("Could not write stage timeline to {}: {}", path, e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ProcessTimeline{");
+        List<StageTiming> snapshot = getStages();
+        for (int i = 0; i < snapshot.size(); i++) {
+            StageTiming timing = snapshot.get(i);
+            if (i > 0) builder.append(", ");
+            builder.append(timing.getStage().getJsonName()).append('=')
+                    .append(TimeUnit.NANOSECONDS.toMillis(timing.getDurationNanos())).append("ms");
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Start/end nanos of one stage
+     */
+    public static class StageTiming {
+        private final Stage stage;
+        private final long startNanos;
+        private final long endNanos;
+
+        public StageTiming(Stage stage, long startNanos, long endNanos) {
+            this.stage = stage;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        public Stage getStage() { return stage; }
+        public long getStartNanos() { return startNanos; }
+        public long getEndNanos() { return endNanos; }
+        public long getDurationNanos() { return endNanos - startNanos; }
+    }
+}
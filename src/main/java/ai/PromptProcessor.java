@@ -1,5 +1,6 @@
 package ai;
 
+import keywords.KeywordRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -7,6 +8,9 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -23,8 +27,17 @@ public class PromptProcessor {
     private static final String DEFAULT_REPORTS_DIR = "target/cucumber-reports";
     private static final String DEFAULT_MAVEN_CMD = "mvn";
     private static final int DEFAULT_TIMEOUT_MINUTES = 10;
+    private static final int DEFAULT_OUTPUT_BUFFER_LINES = 2000;
+    private static final String DEFAULT_OUTPUT_SPILL_FILE = ".genai/maven-output.log";
+    private static final int PROGRESS_INTERVAL_SECONDS = 5;
+    private static final int OUTPUT_DRAIN_SECONDS = 10;
+    private static final String DEFAULT_TIMELINE_FILE = "target/cucumber-reports/stage-timeline.json";
+    private static final String DEFAULT_SKIP_MODE = "off";
+    private static final String DEFAULT_GENERATION_MODE = "java";
 
     private static Properties config;
+    private static volatile TestOutputMonitor lastOutputMonitor;
+    private static ToolchainCache.Toolchain toolchain;
 
     static {
         loadConfiguration();
@@ -59,6 +72,15 @@ public class PromptProcessor {
      * @param prompt The test scenario prompt to process
      */
     public static void processPrompt(String prompt) {
+        processPrompt(prompt, new ProcessTimeline());
+    }
+
+    /**
+     * Process a prompt while recording the duration of each workflow stage
+     * @param prompt The test scenario prompt to process
+     * @param timeline Timeline receiving the stage timings
+     */
+    public static void processPrompt(String prompt, ProcessTimeline timeline) {
         if (prompt == null || prompt.trim().isEmpty()) {
             logger.error("Prompt cannot be null or empty");
             throw new IllegalArgumentException("Prompt is required");
@@ -69,11 +91,15 @@ public class PromptProcessor {
 
         try {
             // Step 1: Validate prerequisites
+            timeline.start(ProcessTimeline.Stage.PREREQUISITE_CHECK);
             validatePrerequisites();
+            timeline.end(ProcessTimeline.Stage.PREREQUISITE_CHECK);
 
             // Step 2: Process prompt with AI
             logger.info("Step 1: Processing prompt with AI client");
+            timeline.start(ProcessTimeline.Stage.LLM_CALL);
             String aiResponse = GroqAIClient.processPrompt(prompt);
+            timeline.end(ProcessTimeline.Stage.LLM_CALL);
 
             if (aiResponse == null || aiResponse.trim().isEmpty()) {
                 throw new RuntimeException("AI client returned empty response");
@@ -81,19 +107,34 @@ public class PromptProcessor {
 
             logger.info("AI response received successfully (length: {})", aiResponse.length());
 
+            if (isKeywordMode()) {
+                // Keyword mode: features run straight through the keyword library, no Java to generate or compile
+                logger.info("Step 2: Generating keyword features and element maps from AI response");
+                List<String> features = TestGenerator.generateKeywordFiles(aiResponse, timeline);
+                logger.info("Step 3: Executing keyword features in-process");
+                executeKeywordTests(features, timeline);
+                logger.info("Prompt processing workflow completed successfully");
+                return;
+            }
+
             // Step 3: Generate test files
             logger.info("Step 2: Generating test files from AI response");
-            TestGenerator.generateTestFiles(aiResponse);
+            TestGenerator.generateTestFiles(aiResponse, timeline);
 
-            // Step 4: Execute tests
+            // Step 4: Execute tests, unless nothing relevant changed since the last run
             logger.info("Step 3: Executing generated tests");
-            executeTests();
+            executeGeneratedTests(timeline);
 
             logger.info("Prompt processing workflow completed successfully");
 
         } catch (Exception e) {
             logger.error("Error in prompt processing workflow: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process prompt: " + e.getMessage(), e);
+        } finally {
+            timeline.closeOpenStages();
+            logger.info("Stage timings: {}", timeline);
+            // Also for failed, aborted, skipped and keyword runs; slow or failing runs are the ones to inspect
+            timeline.writeJson(Paths.get(getConfigValue("timeline.output.file", DEFAULT_TIMELINE_FILE)));
         }
     }
 
@@ -103,20 +144,17 @@ public class PromptProcessor {
     private static void validatePrerequisites() {
         logger.debug("Validating system prerequisites");
 
-        // Check if Maven is available
-        String mavenCmd = getMavenCommand();
-        try {
-            ProcessBuilder pb = new ProcessBuilder(mavenCmd, "--version");
-            Process process = pb.start();
-            int exitCode = process.waitFor();
-
-            if (exitCode != 0) {
-                throw new RuntimeException("Maven is not properly configured or accessible");
-            }
-        } catch (Exception e) {
-            logger.warn("Could not verify Maven installation: {}", e.getMessage());
+        // Check if Maven is available (cached across runs, see ToolchainCache)
+        ToolchainCache.Toolchain detected = getToolchain();
+        if (!detected.isMavenAvailable()) {
+            logger.warn("Could not verify Maven installation: '{}' --version failed", detected.getMavenPath());
+        } else {
+            logger.debug("Using Maven {} at {}", detected.getMavenVersion(), detected.getMavenPath());
         }
 
+        // Fail before the LLM call if a generator template is missing or broken
+        TemplateEngine.validateAll();
+
         // Ensure project structure exists
         createDirectoryStructure();
     }
@@ -200,15 +238,102 @@ public class PromptProcessor {
 //    }
 
 
-    private static void executeTests() {
+    /**
+     * Execute the generated tests according to execution.skip.mode and record the outcome
+     * against the artifact hashes in the manifest
+     */
+    private static void executeGeneratedTests(ProcessTimeline timeline) {
+        ArtifactManifest.SkipMode skipMode = ArtifactManifest.SkipMode.fromConfig(
+                getConfigValue("execution.skip.mode", DEFAULT_SKIP_MODE));
+        String targetBuild = getTargetBuild();
+        Map<String, String> artifactHashes = ArtifactManifest.hashCurrentArtifacts();
+        ArtifactManifest manifest = ArtifactManifest.load();
+
+        ArtifactManifest.Action action = manifest.decide(skipMode, artifactHashes, targetBuild);
+        if (action == ArtifactManifest.Action.SKIP) {
+            logger.info("Skipping test execution: generated artifacts identical to the last passing run");
+            return;
+        }
+        List<String> featureFilter = action == ArtifactManifest.Action.RERUN_FAILED
+                ? manifest.getFailedScenarios() : Collections.emptyList();
+
+        lastOutputMonitor = null;
+        boolean passed = false;
+        try {
+            executeTests(timeline, featureFilter);
+            passed = true;
+        } finally {
+            manifest.recordResult(artifactHashes, targetBuild, passed, getFailedScenarioLocations());
+            // Feeds the shard balancing of the next generated testng.xml
+            ScenarioDurations.load().recordCucumberReports(Paths.get(getReportsDirectory()));
+        }
+    }
+
+    /**
+     * generation.mode=keywords runs features through the keyword library instead of generated Java
+     */
+    private static boolean isKeywordMode() {
+        return "keywords".equalsIgnoreCase(getConfigValue("generation.mode", DEFAULT_GENERATION_MODE).trim());
+    }
+
+    private static void executeKeywordTests(List<String> features, ProcessTimeline timeline) {
+        try {
+            prepareReportsDirectory();
+        } catch (IOException e) {
+            throw new TestExecutionException("Could not prepare reports directory", e);
+        }
+        timeline.start(ProcessTimeline.Stage.EXECUTION);
+        byte exitStatus;
+        try {
+            exitStatus = KeywordRunner.run(features);
+        } finally {
+            timeline.end(ProcessTimeline.Stage.EXECUTION);
+            ScenarioDurations.load().recordCucumberReports(Paths.get(getReportsDirectory()));
+        }
+        if (exitStatus != 0) {
+            throw new TestExecutionException("Keyword features failed with exit status: " + exitStatus);
+        }
+    }
+
+    /**
+     * Identifier of the application build under test; a change forces a full run
+     */
+    private static String getTargetBuild() {
+        String fromEnv = System.getenv("TARGET_BUILD_ID");
+        return getConfigValue("target.build.id", fromEnv != null ? fromEnv : "");
+    }
+
+    /**
+     * Locations of the failed scenarios, from the Cucumber JSON reports: the console output of
+     * parallel shards interleaves, so it cannot attribute failures to scenarios reliably
+     */
+    private static List<String> getFailedScenarioLocations() {
+        List<String> locations = new ArrayList<>();
+        for (TestOutputMonitor.ScenarioResult result : CucumberReports.scenarioResults(Paths.get(getReportsDirectory()))) {
+            if (result.getStatus() == TestOutputMonitor.ScenarioStatus.FAILED && result.getLocation() != null) {
+                locations.add(result.getLocation());
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * Run the Maven test build
+     * @param featureFilter feature:line locations to restrict the run to, or empty for all scenarios
+     */
+    private static void executeTests(ProcessTimeline timeline, List<String> featureFilter) {
         Process process = null;
+        long processStartNanos = System.nanoTime();
         try {
             // 1. Setup reporting directory
             prepareReportsDirectory();
 
             // 2. Build Maven command
             String mavenCmd = getMavenCommand();
-            String[] command = buildMavenCommand(mavenCmd);
+            List<String> command = new ArrayList<>(List.of(buildMavenCommand(mavenCmd)));
+            if (!featureFilter.isEmpty()) {
+                command.addAll(rerunArguments(featureFilter));
+            }
             logger.info("Executing command: {}", String.join(" ", command));
 
             // 3. Configure process builder
@@ -221,21 +346,22 @@ public class PromptProcessor {
             env.put("MAVEN_OPTS", "-Xmx1024m -XX:+UseG1GC");
 
             // 5. Start process
+            processStartNanos = System.nanoTime();
             process = pb.start();
 
-            // 6. Handle process output with threading
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    logger.info("[MAVEN] {}", line);
-                }
-            }
-
-            // 7. Configure timeout
+            // 6. Pump and parse process output on a background thread
+            final Process runningProcess = process;
+            TestOutputMonitor monitor = new TestOutputMonitor(
+                    process.getInputStream(),
+                    getIntConfigValue("test.output.buffer.lines", DEFAULT_OUTPUT_BUFFER_LINES),
+                    Paths.get(getConfigValue("test.output.spill.file", DEFAULT_OUTPUT_SPILL_FILE)),
+                    getIntConfigValue("test.abort.failure.threshold", 0),
+                    () -> terminateProcess(runningProcess)).start();
+            lastOutputMonitor = monitor;
+
+            // 7. Wait with timeout, logging live progress
             int timeoutMinutes = getConfiguredTimeout();
-            boolean completed = process.waitFor(timeoutMinutes, TimeUnit.MINUTES);
+            boolean completed = waitWithProgress(process, monitor, timeoutMinutes);
 
             // 8. Handle timeout
             if (!completed) {
@@ -243,6 +369,15 @@ public class PromptProcessor {
                 terminateProcess(process);
                 throw new TestExecutionException("Test execution timed out");
             }
+            long processEndNanos = System.nanoTime();
+            monitor.awaitCompletion(OUTPUT_DRAIN_SECONDS, TimeUnit.SECONDS);
+            logger.info("Test progress: {}", monitor.progressSummary());
+            recordChildProcessStages(timeline, monitor, processStartNanos, processEndNanos);
+
+            if (monitor.isAborted()) {
+                throw new TestExecutionException("Test execution aborted after "
+                        + monitor.getScenariosFailed() + " failed scenario(s)");
+            }
 
             // 9. Check exit status
             int exitCode = process.exitValue();
@@ -252,7 +387,9 @@ public class PromptProcessor {
             }
 
             logger.info("Tests executed successfully");
+            timeline.start(ProcessTimeline.Stage.REPORTING);
             logTestResults();
+            timeline.end(ProcessTimeline.Stage.REPORTING);
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -261,6 +398,10 @@ public class PromptProcessor {
             throw new TestExecutionException("Execution interrupted", e);
         } catch (IOException e) {
             logger.error("I/O error during test execution", e);
+            if (process == null) {
+                // Maven could not be started: the cached toolchain is stale
+                ToolchainCache.invalidate();
+            }
             terminateProcess(process);
             throw new TestExecutionException("I/O failure", e);
         } catch (Exception e) {
@@ -271,6 +412,94 @@ public class PromptProcessor {
     }
 
     // Helper methods
+
+    /**
+     * Maven arguments running only the given scenarios. cucumber.features replaces the features of
+     * every runner, so with one runner per feature each runner in testng.xml would run the whole
+     * list; the run is restricted to a single runner instead, which then runs each scenario once
+     */
+    private static List<String> rerunArguments(List<String> locations) {
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-Dcucumber.features=" + String.join(",", locations));
+        for (String location : locations) {
+            String runner = TestGenerator.runnerForLocation(location);
+            if (runner != null) {
+                arguments.add("-Dtest=" + runner);
+                return arguments;
+            }
+        }
+        logger.warn("No generated runner found for the failed scenarios; rerunning them through every runner");
+        return arguments;
+    }
+
+    /**
+     * Split the child process run into compile, browser startup, execution and shutdown
+     * stages using the build milestones seen in its output
+     */
+    private static void recordChildProcessStages(ProcessTimeline timeline, TestOutputMonitor monitor,
+                                                 long processStartNanos, long processEndNanos) {
+        Long compileStart = monitor.getMilestoneNanos(TestOutputMonitor.Milestone.COMPILE_STARTED);
+        Long testsStart = monitor.getMilestoneNanos(TestOutputMonitor.Milestone.TESTS_STARTED);
+        Long browserReady = monitor.getMilestoneNanos(TestOutputMonitor.Milestone.BROWSER_READY);
+        Long testsFinished = monitor.getMilestoneNanos(TestOutputMonitor.Milestone.TESTS_FINISHED);
+
+        if (testsStart == null) {
+            // Build never reached Surefire: everything was compilation (or a failure before it)
+            timeline.record(ProcessTimeline.Stage.COMPILE,
+                    compileStart != null ? compileStart : processStartNanos, processEndNanos);
+            return;
+        }
+
+        timeline.record(ProcessTimeline.Stage.COMPILE,
+                compileStart != null ? compileStart : processStartNanos, testsStart);
+
+        long executionStart = testsStart;
+        if (browserReady != null && browserReady > testsStart) {
+            timeline.record(ProcessTimeline.Stage.BROWSER_STARTUP, testsStart, browserReady);
+            executionStart = browserReady;
+        }
+
+        long executionEnd = testsFinished != null ? testsFinished : processEndNanos;
+        timeline.record(ProcessTimeline.Stage.EXECUTION, executionStart, executionEnd);
+        if (testsFinished != null) {
+            timeline.record(ProcessTimeline.Stage.CHILD_SHUTDOWN, testsFinished, processEndNanos);
+        }
+    }
+
+    private static boolean waitWithProgress(Process process, TestOutputMonitor monitor, int timeoutMinutes)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(timeoutMinutes);
+        String lastProgress = "";
+
+        while (!process.waitFor(PROGRESS_INTERVAL_SECONDS, TimeUnit.SECONDS)) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            String progress = monitor.progressSummary();
+            if (!progress.equals(lastProgress)) {
+                logger.info("Test progress: {}", progress);
+                lastProgress = progress;
+            }
+        }
+        return true;
+    }
+
+    private static int getIntConfigValue(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(getConfigValue(key, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value for {}. Using default: {}", key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Output monitor of the most recent test execution, or null if none ran
+     */
+    public static TestOutputMonitor getLastOutputMonitor() {
+        return lastOutputMonitor;
+    }
+
     private static int getConfiguredTimeout() {
         try {
             return Integer.parseInt(getConfigValue("test.timeout.minutes",
@@ -286,6 +515,8 @@ public class PromptProcessor {
         if (process == null) return;
 
         try {
+            // Surefire forks its own JVM, so stop the whole process tree
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
             if (process.isAlive()) {
                 process.destroyForcibly().waitFor(5, TimeUnit.SECONDS);
             }
@@ -330,41 +561,23 @@ public class PromptProcessor {
             return configuredMaven;
         }
 
-        String os = System.getProperty("os.name").toLowerCase();
-        if (os.contains("windows")) {
-            // Try different common Windows Maven locations
-            String[] windowsPaths = {
-                    "C:\\Program Files\\Apache\\maven\\bin\\mvn.cmd",
-                    "C:\\Program Files\\Maven\\bin\\mvn.cmd",
-                    "mvn.cmd",
-                    "mvn"
-            };
-
-            for (String path : windowsPaths) {
-                if (isCommandAvailable(path)) {
-                    return path;
-                }
-            }
-        }
-
-        return DEFAULT_MAVEN_CMD;
+        ToolchainCache.Toolchain detected = getToolchain();
+        return detected.isMavenAvailable() ? detected.getMavenPath() : DEFAULT_MAVEN_CMD;
     }
 
     /**
-     * Check if a command is available in the system
+     * Get the detected toolchain, loading the on-disk cache once per JVM
      */
-    private static boolean isCommandAvailable(String command) {
-        try {
-            ProcessBuilder pb = new ProcessBuilder(command, "--version");
-            Process process = pb.start();
-            return process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0;
-        } catch (Exception e) {
-            return false;
+    private static synchronized ToolchainCache.Toolchain getToolchain() {
+        if (toolchain == null) {
+            toolchain = ToolchainCache.load(getConfigValue("maven.command", ""));
         }
+        return toolchain;
     }
 
     /**
-     * Prepare the reports directory
+     * Prepare the reports directory; JSON reports of earlier runs are removed so only this run's
+     * results are recorded afterwards
      */
     private static void prepareReportsDirectory() throws IOException {
         String reportsDir = getReportsDirectory();
@@ -387,6 +600,14 @@ public class PromptProcessor {
                 logger.warn("Could not create reports directory: {}", reportsDir);
             }
         }
+
+        File[] oldReports = cucumberReports.listFiles((dir, name) -> name.endsWith(".json"));
+        if (oldReports != null) {
+            for (File oldReport : oldReports) {
+                Files.deleteIfExists(oldReport.toPath());
+            }
+            logger.debug("Removed {} old JSON report(s) from {}", oldReports.length, reportsDir);
+        }
     }
 
     /**
@@ -470,9 +691,11 @@ public class PromptProcessor {
     public static ProcessResult processPromptWithResult(String prompt) {
         long startTime = System.currentTimeMillis();
         ProcessResult result = new ProcessResult();
+        ProcessTimeline timeline = new ProcessTimeline();
+        result.setTimeline(timeline);
 
         try {
-            processPrompt(prompt);
+            processPrompt(prompt, timeline);
             result.setSuccess(true);
             result.setMessage("Prompt processed successfully");
         } catch (Exception e) {
@@ -494,6 +717,7 @@ public class PromptProcessor {
         private String message;
         private Exception exception;
         private long executionTime;
+        private ProcessTimeline timeline;
 
         // Getters and setters
         public boolean isSuccess() { return success; }
@@ -508,10 +732,20 @@ public class PromptProcessor {
         public long getExecutionTime() { return executionTime; }
         public void setExecutionTime(long executionTime) { this.executionTime = executionTime; }
 
+        public ProcessTimeline getTimeline() { return timeline; }
+        public void setTimeline(ProcessTimeline timeline) { this.timeline = timeline; }
+
+        /**
+         * Machine-readable per-stage breakdown of this run
+         */
+        public String getTimelineJson() {
+            return timeline != null ? timeline.toJson() : "{}";
+        }
+
         @Override
         public String toString() {
-            return String.format("ProcessResult{success=%s, message='%s', executionTime=%dms}",
-                    success, message, executionTime);
+            return String.format("ProcessResult{success=%s, message='%s', executionTime=%dms, stages=%s}",
+                    success, message, executionTime, timeline);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Historical scenario durations, used to balance parallel shards.
+ * Durations are read from the Cucumber JSON reports after each run (step and hook times,
+ * so browser start-up counts) and kept per feature file and scenario name as an
+ * exponential moving average in .genai/scenario-durations.json.
+ */
+public class ScenarioDurations {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioDurations.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String HISTORY_FILE = ".genai/scenario-durations.json";
+    // Weight of the newest run in the moving average
+    private static final double SMOOTHING = 0.5;
+    // Estimate for a scenario when nothing has been recorded yet
+    private static final long DEFAULT_SCENARIO_MILLIS = 30_000;
+    private static final Pattern SCENARIO_LINE = Pattern.compile("^\\s*Scenario(?: Outline| Template)?:\\s*(.+?)\\s*$");
+
+    private final Path historyPath;
+    // feature file name -> scenario name -> average millis
+    private final Map<String, Map<String, Long>> durations = new TreeMap<>();
+
+    private ScenarioDurations(Path historyPath) {
+        this.historyPath = historyPath;
+    }
+
+    /**
+     * Load the history, returning an empty one when none was recorded yet
+     */
+    public static ScenarioDurations load() {
+        ScenarioDurations history = new ScenarioDurations(Paths.get(HISTORY_FILE));
+        if (!Files.isRegularFile(history.historyPath)) {
+            return history;
+        }
+
+        try (InputStream input = Files.newInputStream(history.historyPath)) {
+            Iterator<Map.Entry<String, JsonNode>> features = objectMapper.readTree(input).fields();
+            while (features.hasNext()) {
+                Map.Entry<String, JsonNode> feature = features.next();
+                Map<String, Long> scenarios = new TreeMap<>();
+                feature.getValue().fields().forEachRemaining(entry -> scenarios.put(entry.getKey(), entry.getValue().asLong()));
+                history.durations.put(feature.getKey(), scenarios);
+            }
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable duration history {}: {}", HISTORY_FILE, e.getMessage());
+            history.durations.clear();
+        }
+        return history;
+    }
+
+    /**
+     * Fold the scenario durations of all Cucumber JSON reports in a directory into the history and save it
+     */
+    public void recordCucumberReports(Path reportsDir) {
+        int recorded = 0;
+        for (JsonNode report : CucumberReports.load(reportsDir)) {
+            recorded += record(report);
+        }
+        if (recorded > 0) {
+            save();
+            logger.info("Recorded durations of {} scenario(s)", recorded);
+        }
+    }
+
+    /**
+     * Estimated run time of a feature file: recorded averages for known scenarios, the mean
+     * recorded scenario time (or a default) for new ones
+     */
+    public long estimateFeatureMillis(Path featureFile) {
+        String feature = featureFile.getFileName().toString();
+        Map<String, Long> known = durations.getOrDefault(feature, Map.of());
+        long fallback = meanScenarioMillis();
+
+        List<String> scenarios = scenarioNames(featureFile);
+        if (scenarios.isEmpty()) {
+            return fallback;
+        }
+        long total = 0;
+        for (String scenario : scenarios) {
+            total += known.getOrDefault(scenario, fallback);
+        }
+        return total;
+    }
+
+    private int record(JsonNode features) {
+        // Outline examples share a scenario name; their times are summed per run
+        Map<String, Map<String, Long>> run = new HashMap<>();
+        for (JsonNode feature : features) {
+            String uri = feature.path("uri").asText("");
+            String featureName = uri.substring(Math.max(uri.lastIndexOf('/'), uri.lastIndexOf(':')) + 1);
+            if (featureName.isEmpty()) {
+                continue;
+            }
+            for (JsonNode element : feature.path("elements")) {
+                if (!"scenario".equals(element.path("type").asText())) {
+                    continue;
+                }
+                long nanos = CucumberReports.sumDurations(element.path("before"))
+                        + CucumberReports.sumDurations(element.path("steps"))
+                        + CucumberReports.sumDurations(element.path("after"));
+                run.computeIfAbsent(featureName, key -> new HashMap<>())
+                        .merge(element.path("name").asText(), TimeUnit.NANOSECONDS.toMillis(nanos), Long::sum);
+            }
+        }
+
+        int recorded = 0;
+        for (Map.Entry<String, Map<String, Long>> feature : run.entrySet()) {
+            Map<String, Long> history = durations.computeIfAbsent(feature.getKey(), key -> new TreeMap<>());
+            for (Map.Entry<String, Long> scenario : feature.getValue().entrySet()) {
+                history.merge(scenario.getKey(), scenario.getValue(),
+                        (previous, latest) -> Math.round(previous * (1 - SMOOTHING) + latest * SMOOTHING));
+                recorded++;
+            }
+        }
+        return recorded;
+    }
+
+    private long meanScenarioMillis() {
+        long total = 0;
+        int count = 0;
+        for (Map<String, Long> scenarios : durations.values()) {
+            for (long millis : scenarios.values()) {
+                total += millis;
+                count++;
+            }
+        }
+        return count == 0 ? DEFAULT_SCENARIO_MILLIS : total / count;
+    }
+
+    private static List<String> scenarioNames(Path featureFile) {
+        List<String> names = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(featureFile)) {
+                Matcher matcher = SCENARIO_LINE.matcher(line);
+                if (matcher.matches()) {
+                    names.add(matcher.group(1));
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not read feature {}: {}", featureFile, e.getMessage());
+        }
+        return names;
+    }
+
+    private void save() {
+        ObjectNode root = objectMapper.createObjectNode();
+        durations.forEach((feature, scenarios) -> {
+            ObjectNode node = root.putObject(feature);
+            scenarios.forEach(node::put);
+        });
+
+        try {
+            Files.createDirectories(historyPath.toAbsolutePath().getParent());
+            Path tempPath = historyPath.resolveSibling(historyPath.getFileName() + ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempPath.toFile(), root);
+            Files.move(tempPath, historyPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not write duration history {}: {}", historyPath, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ai;
+
+import core.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Splits runner classes into parallel shards balanced by estimated run time.
+ * Uses longest-processing-time-first: runners are taken longest first and each goes to the
+ * shard with the least work so far, which keeps the slowest shard within 4/3 of optimal.
+ */
+public class ShardPlanner {
+    private static final Logger logger = LoggerFactory.getLogger(ShardPlanner.class);
+
+    // Rough resident size of one browser plus its driver
+    private static final long DEFAULT_BROWSER_MEMORY_MB = 1024;
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * Number of shards the host can run at once: one browser per core, limited by free memory.
+     * parallel.shards in the runtime config overrides the detection
+     */
+    public static int hostShardCount() {
+        int configured = parseInt(ConfigManager.getProperty("parallel.shards", "0"), 0);
+        if (configured > 0) {
+            return configured;
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        long browserMemoryMb = parseInt(ConfigManager.getProperty("parallel.browser.memory.mb",
+                String.valueOf(DEFAULT_BROWSER_MEMORY_MB)), (int) DEFAULT_BROWSER_MEMORY_MB);
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean && browserMemoryMb > 0) {
+            long freeMb = ((com.sun.management.OperatingSystemMXBean) os).getFreeMemorySize() / (1024 * 1024);
+            int byMemory = (int) Math.max(1, freeMb / browserMemoryMb);
+            logger.debug("Host allows {} shard(s) by cores, {} by free memory ({} MB)", cores, byMemory, freeMb);
+            return Math.min(cores, byMemory);
+        }
+        return cores;
+    }
+
+    /**
+     * Assign runners to at most maxShards shards, longest estimate first onto the least loaded shard
+     * @param estimates estimated millis per runner class
+     */
+    public static List<Shard> plan(Map<String, Long> estimates, int maxShards) {
+        int shardCount = Math.max(1, Math.min(maxShards, estimates.size()));
+        List<Shard> shards = new ArrayList<>();
+        PriorityQueue<Shard> byLoad = new PriorityQueue<>(
+                Comparator.comparingLong(Shard::getEstimatedMillis).thenComparingInt(Shard::getIndex));
+        for (int i = 1; i <= shardCount; i++) {
+            Shard shard = new Shard(i);
+            shards.add(shard);
+            byLoad.add(shard);
+        }
+
+        List<Map.Entry<String, Long>> runners = new ArrayList<>(estimates.entrySet());
+        // Ties broken by name so the same history always renders the same suite
+        runners.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<String, Long> runner : runners) {
+            Shard lightest = byLoad.poll();
+            lightest.add(runner.getKey(), runner.getValue());
+            byLoad.add(lightest);
+        }
+
+        shards.removeIf(shard -> shard.getRunners().isEmpty());
+        return shards;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid shard setting '{}'. Using default: {}", value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Runner classes executed sequentially by one thread
+     */
+    public static class Shard {
+        private final int index;
+        private final List<String> runners = new ArrayList<>();
+        private long estimatedMillis;
+
+        public Shard(int index) {
+            this.index = index;
+        }
+
+        void add(String runner, long millis) {
+            runners.add(runner);
+            estimatedMillis += millis;
+        }
+
+        public int getIndex() { return index; }
+        public List<String> getRunners() { return Collections.unmodifiableList(runners); }
+        public long getEstimatedMillis() { return estimatedMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("Shard %d (~%ds): %s", index, estimatedMillis / 1000, runners);
+        }
+    }
+}
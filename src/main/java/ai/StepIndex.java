@@ -0,0 +1,516 @@
+package ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent index of Cucumber step expressions under the steps directory.
+ * Files are only re-parsed when their mtime changes. Used to drop generated step methods whose
+ * expression is already defined elsewhere, and to detect ambiguous or undefined feature steps
+ * before a browser is ever started.
+ */
+public class StepIndex {
+    private static final Logger logger = LoggerFactory.getLogger(StepIndex.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String INDEX_FILE = ".genai/step-index.json";
+    private static final Pattern STEP_ANNOTATION = Pattern.compile(
+            "@(Given|When|Then|And|But)\\(\\s*\"((?:[^\"\\\\]|\\\\.)*)\"\\s*\\)");
+    private static final Pattern METHOD_HEADER = Pattern.compile("\\bvoid\\s+(\\w+)\\s*\\([^)]*\\)[^{;]*\\{");
+    private static final Pattern FEATURE_STEP = Pattern.compile("^\\s*(?:Given|When|Then|And|But|\\*)\\s+(.+?)\\s*$");
+    private static final Pattern SCENARIO_HEADER = Pattern.compile("^(?:Scenario(?: Outline| Template)?|Example):.*");
+    private static final Pattern PARAMETER = Pattern.compile("\\{(\\w*)\\}");
+
+    private final Path stepsDir;
+    private final Map<String, IndexedFile> files = new TreeMap<>();
+
+    private StepIndex(Path stepsDir) {
+        this.stepsDir = stepsDir;
+    }
+
+    /**
+     * Load the persisted index and bring it up to date with the steps directory
+     */
+    public static StepIndex load(String stepsDir) {
+        StepIndex index = new StepIndex(Paths.get(stepsDir));
+        Path indexPath = Paths.get(INDEX_FILE);
+        if (Files.isRegularFile(indexPath)) {
+            try {
+                JsonNode root = objectMapper.readTree(indexPath.toFile());
+                Iterator<Map.Entry<String, JsonNode>> entries = root.path("files").fields();
+                while (entries.hasNext()) {
+                    Map.Entry<String, JsonNode> entry = entries.next();
+                    List<StepDefinition> steps = new ArrayList<>();
+                    for (JsonNode step : entry.getValue().path("steps")) {
+                        steps.add(new StepDefinition(step.path("keyword").asText(),
+                                step.path("expression").asText(), entry.getKey(), step.path("method").asText()));
+                    }
+                    index.files.put(entry.getKey(), new IndexedFile(entry.getValue().path("mtime").asLong(), steps));
+                }
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable step index {}: {}", INDEX_FILE, e.getMessage());
+                index.files.clear();
+            }
+        }
+        index.refresh();
+        return index;
+    }
+
+    /**
+     * Re-parse step files whose mtime changed, drop deleted ones and persist the index
+     */
+    public void refresh() {
+        Set<String> seen = new HashSet<>();
+        int reparsed = 0;
+        if (Files.isDirectory(stepsDir)) {
+            try (Stream<Path> paths = Files.walk(stepsDir)) {
+                for (Path path : paths.filter(p -> p.toString().endsWith(".java")).collect(Collectors.toList())) {
+                    String key = path.toString().replace('\\', '/');
+                    long mtime = Files.getLastModifiedTime(path).toMillis();
+                    seen.add(key);
+                    IndexedFile cached = files.get(key);
+                    if (cached == null || cached.mtime != mtime) {
+                        String source = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+                        files.put(key, new IndexedFile(mtime, parseSteps(source, key)));
+                        reparsed++;
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Could not scan step definitions in {}: {}", stepsDir, e.getMessage());
+            }
+        }
+        boolean removed = files.keySet().retainAll(seen);
+        if (reparsed > 0 || removed) {
+            save();
+        }
+        logger.debug("Step index: {} file(s), {} re-parsed", files.size(), reparsed);
+    }
+
+    /**
+     * Remove step methods whose expression is already defined in another steps file
+     * @param stepFile path the generated class will be written to; its own indexed steps are ignored
+     * @return source with duplicate step methods removed
+     */
+    public String removeDuplicateSteps(String source, String stepFile) {
+        String ownKey = stepFile.replace('\\', '/');
+        Set<String> known = new HashSet<>();
+        for (Map.Entry<String, IndexedFile> entry : files.entrySet()) {
+            if (!entry.getKey().equals(ownKey)) {
+                entry.getValue().steps.forEach(step -> known.add(normalize(step.getExpression())));
+            }
+        }
+
+        StringBuilder result = new StringBuilder(source);
+        Matcher annotation = STEP_ANNOTATION.matcher(source);
+        List<int[]> removals = new ArrayList<>();
+        int searchFrom = 0;
+        while (annotation.find(searchFrom)) {
+            String expression = normalize(unescape(annotation.group(2)));
+            Matcher method = METHOD_HEADER.matcher(source);
+            if (!method.find(annotation.end())) {
+                break;
+            }
+            int end = PageObjectRegistry.findMatchingBrace(source, method.end() - 1);
+            if (end < 0) {
+                break;
+            }
+            if (!known.add(expression)) {
+                int start = PageObjectRegistry.includeLeadingDocs(source, source.lastIndexOf('\n', annotation.start()) + 1);
+                int previousLineStart = source.lastIndexOf('\n', start - 2) + 1;
+                if (start > 0 && source.substring(previousLineStart, start).isBlank()) {
+                    start = previousLineStart;
+                }
+                int lineEnd = source.indexOf('\n', end);
+                removals.add(new int[]{start, lineEnd < 0 ? end + 1 : lineEnd + 1});
+                logger.info("Reusing existing step, dropping duplicate {} \"{}\" ({})",
+                        annotation.group(1), expression, method.group(1));
+            }
+            searchFrom = end + 1;
+        }
+
+        // Remove back to front so earlier offsets stay valid
+        for (int i = removals.size() - 1; i >= 0; i--) {
+            result.delete(removals.get(i)[0], removals.get(i)[1]);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Whether the source still defines any step
+     */
+    public static boolean definesSteps(String source) {
+        return STEP_ANNOTATION.matcher(source).find();
+    }
+
+    /**
+     * Check every step in the feature files against the indexed expressions
+     * @return problems found: ambiguous steps (several matches) and undefined steps
+     */
+    public List<GlueProblem> findGlueProblems(String featuresDir) {
+        List<StepMatcher> matchers = new ArrayList<>();
+        for (IndexedFile file : files.values()) {
+            for (StepDefinition step : file.steps) {
+                matchers.add(new StepMatcher(step));
+            }
+        }
+
+        List<GlueProblem> problems = new ArrayList<>();
+        Path root = Paths.get(featuresDir);
+        if (!Files.isDirectory(root)) {
+            return problems;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path feature : paths.filter(p -> p.toString().endsWith(".feature")).sorted().collect(Collectors.toList())) {
+                List<String> lines = Files.readAllLines(feature, StandardCharsets.UTF_8);
+                for (int i = 0; i < lines.size(); i++) {
+                    Matcher stepLine = FEATURE_STEP.matcher(lines.get(i));
+                    // Outline steps with <placeholders> only resolve after example substitution
+                    if (!stepLine.matches() || stepLine.group(1).contains("<")) {
+                        continue;
+                    }
+                    List<String> matches = new ArrayList<>();
+                    for (StepMatcher matcher : matchers) {
+                        if (matcher.matches(stepLine.group(1))) {
+                            matches.add(matcher.step.toString());
+                        }
+                    }
+                    String location = feature.toString().replace('\\', '/') + ":" + (i + 1);
+                    if (matches.size() > 1) {
+                        problems.add(new GlueProblem(GlueProblem.Kind.AMBIGUOUS,
+                                "Ambiguous step at " + location + " \"" + stepLine.group(1) + "\" matches " + matches));
+                    } else if (matches.isEmpty()) {
+                        problems.add(new GlueProblem(GlueProblem.Kind.UNDEFINED,
+                                "Undefined step at " + location + " \"" + stepLine.group(1) + "\""));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not check feature files in {}: {}", featuresDir, e.getMessage());
+        }
+        return problems;
+    }
+
+    /**
+     * Scenarios with at least one step matched by the given step definitions; a matching
+     * Background step selects every scenario of its feature
+     * @return feature:line locations
+     */
+    public List<String> findScenariosUsing(List<StepDefinition> steps, String featuresDir) {
+        List<String> locations = new ArrayList<>();
+        Path root = Paths.get(featuresDir);
+        if (steps.isEmpty() || !Files.isDirectory(root)) {
+            return locations;
+        }
+        List<StepMatcher> matchers = steps.stream().map(StepMatcher::new).collect(Collectors.toList());
+
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path feature : paths.filter(p -> p.toString().endsWith(".feature")).sorted().collect(Collectors.toList())) {
+                List<String> lines = Files.readAllLines(feature, StandardCharsets.UTF_8);
+                String featurePath = feature.toString().replace('\\', '/');
+                List<Integer> scenarioLines = new ArrayList<>();
+                Set<Integer> selected = new TreeSet<>();
+                boolean inBackground = false;
+                boolean backgroundSelected = false;
+                int currentScenario = -1;
+                List<String> outlineSteps = new ArrayList<>();
+                List<String> exampleHeader = null;
+                for (int i = 0; i < lines.size(); i++) {
+                    String line = lines.get(i).trim();
+                    if (line.startsWith("Background:")) {
+                        inBackground = true;
+                        continue;
+                    }
+                    if (SCENARIO_HEADER.matcher(line).matches()) {
+                        inBackground = false;
+                        currentScenario = i + 1;
+                        scenarioLines.add(currentScenario);
+                        outlineSteps.clear();
+                        exampleHeader = null;
+                        continue;
+                    }
+                    if (line.startsWith("Examples:") || line.startsWith("Scenarios:")) {
+                        exampleHeader = new ArrayList<>();
+                        continue;
+                    }
+                    if (line.startsWith("|") && exampleHeader != null) {
+                        // Outline steps only resolve once an example row is substituted
+                        List<String> cells = tableCells(line);
+                        if (exampleHeader.isEmpty()) {
+                            exampleHeader.addAll(cells);
+                            continue;
+                        }
+                        for (String outlineStep : outlineSteps) {
+                            String text = outlineStep;
+                            for (int c = 0; c < exampleHeader.size() && c < cells.size(); c++) {
+                                text = text.replace("<" + exampleHeader.get(c) + ">", cells.get(c));
+                            }
+                            String resolved = text;
+                            if (matchers.stream().anyMatch(m -> m.matches(resolved))) {
+                                selected.add(currentScenario);
+                            }
+                        }
+                        continue;
+                    }
+                    Matcher stepLine = FEATURE_STEP.matcher(lines.get(i));
+                    if (!stepLine.matches() || (!inBackground && currentScenario < 0)) {
+                        continue;
+                    }
+                    String text = stepLine.group(1);
+                    if (!inBackground && text.contains("<")) {
+                        outlineSteps.add(text);
+                    } else if (matchers.stream().anyMatch(m -> m.matches(text))) {
+                        if (inBackground) {
+                            backgroundSelected = true;
+                        } else {
+                            selected.add(currentScenario);
+                        }
+                    }
+                }
+                for (int scenarioLine : backgroundSelected ? scenarioLines : new ArrayList<>(selected)) {
+                    locations.add(featurePath + ":" + scenarioLine);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not scan feature files in {}: {}", featuresDir, e.getMessage());
+        }
+        return locations;
+    }
+
+    private static List<String> tableCells(String row) {
+        List<String> cells = new ArrayList<>();
+        String[] parts = row.trim().split("(?<!\\\\)\\|", -1);
+        // Leading and trailing pipes leave empty first and last parts
+        for (int i = 1; i < parts.length - 1; i++) {
+            cells.add(parts[i].trim());
+        }
+        return cells;
+    }
+
+    /**
+     * All indexed step definitions
+     */
+    public List<StepDefinition> getSteps() {
+        List<StepDefinition> steps = new ArrayList<>();
+        files.values().forEach(file -> steps.addAll(file.steps));
+        return steps;
+    }
+
+    private static List<StepDefinition> parseSteps(String source, String file) {
+        List<StepDefinition> steps = new ArrayList<>();
+        Matcher annotation = STEP_ANNOTATION.matcher(source);
+        while (annotation.find()) {
+            Matcher method = METHOD_HEADER.matcher(source);
+            String methodName = method.find(annotation.end()) ? method.group(1) : "";
+            steps.add(new StepDefinition(annotation.group(1), unescape(annotation.group(2)), file, methodName));
+        }
+        return steps;
+    }
+
+    private void save() {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode fileNodes = root.putObject("files");
+        for (Map.Entry<String, IndexedFile> entry : files.entrySet()) {
+            ObjectNode fileNode = fileNodes.putObject(entry.getKey());
+            fileNode.put("mtime", entry.getValue().mtime);
+            ArrayNode stepNodes = fileNode.putArray("steps");
+            for (StepDefinition step : entry.getValue().steps) {
+                stepNodes.addObject()
+                        .put("keyword", step.getKeyword())
+                        .put("expression", step.getExpression())
+                        .put("method", step.getMethod());
+            }
+        }
+        try {
+            Path indexPath = Paths.get(INDEX_FILE);
+            Files.createDirectories(indexPath.toAbsolutePath().getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(indexPath.toFile(), root);
+        } catch (IOException e) {
+            logger.warn("Could not write step index {}: {}", INDEX_FILE, e.getMessage());
+        }
+    }
+
+    private static String unescape(String javaLiteral) {
+        return javaLiteral.replace("\\\"", "\"").replace("\\\\", "\\");
+    }
+
+    private static String normalize(String expression) {
+        return expression.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Convert a Cucumber expression (or a ^...$ regular expression) to a regex
+     */
+    static Pattern toRegex(String expression) {
+        if (expression.startsWith("^") || expression.endsWith("$")) {
+            return Pattern.compile(expression);
+        }
+
+        StringBuilder regex = new StringBuilder("^");
+        // Literal text between parameters may use alternation (a/b) and optional text (s)
+        Matcher parameter = PARAMETER.matcher(expression);
+        int last = 0;
+        while (parameter.find()) {
+            regex.append(literalToRegex(expression.substring(last, parameter.start())));
+            regex.append(parameterRegex(parameter.group(1)));
+            last = parameter.end();
+        }
+        regex.append(literalToRegex(expression.substring(last))).append('$');
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String parameterRegex(String type) {
+        switch (type) {
+            case "int":
+            case "long":
+            case "short":
+            case "byte":
+            case "biginteger":
+                return "(-?\\d+)";
+            case "float":
+            case "double":
+            case "bigdecimal":
+                return "(-?\\d*[.,]?\\d+(?:[eE]-?\\d+)?)";
+            case "word":
+                return "([^\\s]+)";
+            case "string":
+                return "(\"[^\"]*\"|'[^']*')";
+            default:
+                return "(.*)";
+        }
+    }
+
+    private static String literalToRegex(String text) {
+        StringBuilder regex = new StringBuilder();
+        for (String token : text.split("(?<=\\s)|(?=\\s)")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (token.isBlank()) {
+                regex.append("\\s+");
+                continue;
+            }
+            if (token.contains("/") && !token.contains("(")) {
+                List<String> options = new ArrayList<>();
+                for (String option : token.split("/")) {
+                    options.add(Pattern.quote(option));
+                }
+                regex.append("(?:").append(String.join("|", options)).append(')');
+                continue;
+            }
+            // Optional text: "apple(s)" matches "apple" and "apples"
+            Matcher optional = Pattern.compile("\\(([^)]*)\\)").matcher(token);
+            int last = 0;
+            while (optional.find()) {
+                regex.append(Pattern.quote(token.substring(last, optional.start())))
+                        .append("(?:").append(Pattern.quote(optional.group(1))).append(")?");
+                last = optional.end();
+            }
+            String rest = token.substring(last);
+            if (!rest.isEmpty()) {
+                regex.append(Pattern.quote(rest));
+            }
+        }
+        return regex.toString();
+    }
+
+    private static class IndexedFile {
+        private final long mtime;
+        private final List<StepDefinition> steps;
+
+        IndexedFile(long mtime, List<StepDefinition> steps) {
+            this.mtime = mtime;
+            this.steps = steps;
+        }
+    }
+
+    private static class StepMatcher {
+        private final StepDefinition step;
+        private final Pattern pattern;
+
+        StepMatcher(StepDefinition step) {
+            this.step = step;
+            Pattern compiled;
+            try {
+                compiled = toRegex(step.getExpression());
+            } catch (RuntimeException e) {
+                logger.warn("Cannot interpret step expression \"{}\": {}", step.getExpression(), e.getMessage());
+                compiled = Pattern.compile(Pattern.quote(step.getExpression()));
+            }
+            this.pattern = compiled;
+        }
+
+        boolean matches(String stepText) {
+            return pattern.matcher(stepText).matches();
+        }
+    }
+
+    /**
+     * Feature step that matches several step definitions or none
+     */
+    public static class GlueProblem {
+        public enum Kind { AMBIGUOUS, UNDEFINED }
+
+        private final Kind kind;
+        private final String message;
+
+        public GlueProblem(Kind kind, String message) {
+            this.kind = kind;
+            this.message = message;
+        }
+
+        public Kind getKind() { return kind; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() { return message; }
+    }
+
+    /**
+     * One indexed step definition
+     */
+    public static class StepDefinition {
+        private final String keyword;
+        private final String expression;
+        private final String file;
+        private final String method;
+
+        public StepDefinition(String keyword, String expression, String file, String method) {
+            this.keyword = keyword;
+            this.expression = expression;
+            this.file = file;
+            this.method = method;
+        }
+
+        public String getKeyword() { return keyword; }
+        public String getExpression() { return expression; }
+        public String getFile() { return file; }
+        public String getMethod() { return method; }
+
+        @Override
+        public String toString() {
+            return Paths.get(file).getFileName() + "#" + method;
+        }
+    }
+}
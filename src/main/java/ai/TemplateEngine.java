@@ -0,0 +1,212 @@
+package ai;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Precompiled templates for generated boilerplate.
+ * Templates live in src/main/resources/templates and use ${name} placeholders. Each is loaded
+ * and split into literal/variable segments once per JVM, validated against its declared
+ * variables (XML templates are also checked for well-formedness), and rendered by appending
+ * segments straight to a Writer instead of reformatting a text block per prompt.
+ */
+public class TemplateEngine {
+    private static final Logger logger = LoggerFactory.getLogger(TemplateEngine.class);
+
+    private static final String TEMPLATE_DIR = "templates/";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([A-Za-z][A-Za-z0-9]*)}");
+
+    /**
+     * Known templates with the variables they require
+     */
+    public enum TemplateId {
+        RUNNER("runner.java.tpl", "marker", "featureName", "featuresPath", "runnerName"),
+        TESTNG_SUITE("testng.xml.tpl", "shardCount", "shards"),
+        TEST_PROPERTIES("test.properties.tpl"),
+        BASE_TEST("BaseTest.java.tpl"),
+        SCREENSHOT_UTIL("ScreenshotUtil.java.tpl"),
+        TEST_DATA_UTIL("TestDataUtil.java.tpl"),
+        EXTENT_PROPERTIES("extent.properties.tpl");
+
+        private final String resource;
+        private final Set<String> variables;
+
+        TemplateId(String resource, String... variables) {
+            this.resource = resource;
+            this.variables = new LinkedHashSet<>(Arrays.asList(variables));
+        }
+
+        public String getResource() { return resource; }
+        public Set<String> getVariables() { return Collections.unmodifiableSet(variables); }
+    }
+
+    private TemplateEngine() {
+    }
+
+    // Lazy holder: templates are loaded and validated once, on first use
+    private static class Holder {
+        private static final Map<TemplateId, Template> TEMPLATES = loadAll();
+    }
+
+    /**
+     * Load and validate all templates, failing fast on a missing or broken template
+     */
+    public static void validateAll() {
+        logger.debug("{} templates loaded", Holder.TEMPLATES.size());
+    }
+
+    /**
+     * Precompiled template by id
+     */
+    public static Template get(TemplateId id) {
+        return Holder.TEMPLATES.get(id);
+    }
+
+    /**
+     * Render a template to a string
+     */
+    public static String render(TemplateId id, Map<String, String> variables) {
+        StringWriter output = new StringWriter();
+        try {
+            get(id).render(variables, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toString();
+    }
+
+    private static Map<TemplateId, Template> loadAll() {
+        Map<TemplateId, Template> templates = new EnumMap<>(TemplateId.class);
+        List<String> problems = new ArrayList<>();
+        for (TemplateId id : TemplateId.values()) {
+            try {
+                Template template = compile(id, readResource(id.getResource()));
+                problems.addAll(validate(id, template));
+                templates.put(id, template);
+            } catch (IOException e) {
+                problems.add(id.getResource() + ": " + e.getMessage());
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid generator templates: " + problems);
+        }
+        logger.info("Loaded {} generator templates", templates.size());
+        return templates;
+    }
+
+    private static String readResource(String name) throws IOException {
+        try (InputStream input = TemplateEngine.class.getClassLoader().getResourceAsStream(TEMPLATE_DIR + name)) {
+            if (input == null) {
+                throw new IOException("template not found on classpath");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Template compile(TemplateId id, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(source.substring(last, matcher.start()));
+            variables.add(matcher.group(1));
+            last = matcher.end();
+        }
+        literals.add(source.substring(last));
+        return new Template(id, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    private static List<String> validate(TemplateId id, Template template) {
+        List<String> problems = new ArrayList<>();
+        Set<String> used = new LinkedHashSet<>(Arrays.asList(template.variables));
+        for (String variable : used) {
+            if (!id.variables.contains(variable)) {
+                problems.add(id.getResource() + ": undeclared placeholder ${" + variable + "}");
+            }
+        }
+        for (String variable : id.variables) {
+            if (!used.contains(variable)) {
+                logger.warn("Template {} does not use declared variable {}", id.getResource(), variable);
+            }
+        }
+        for (String literal : template.literals) {
+            if (literal.contains("${")) {
+                problems.add(id.getResource() + ": malformed placeholder near '"
+                        + literal.substring(literal.indexOf("${"), Math.min(literal.length(), literal.indexOf("${") + 20)) + "'");
+            }
+        }
+
+        if (id.getResource().endsWith(".xml.tpl") && problems.isEmpty()) {
+            Map<String, String> sample = new HashMap<>();
+            id.variables.forEach(variable -> sample.put(variable, ""));
+            try {
+                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+                factory.newDocumentBuilder().parse(new InputSource(new StringReader(render(template, sample))));
+            } catch (Exception e) {
+                problems.add(id.getResource() + ": not well-formed XML (" + e.getMessage() + ")");
+            }
+        }
+        return problems;
+    }
+
+    private static String render(Template template, Map<String, String> variables) throws IOException {
+        StringWriter output = new StringWriter();
+        template.render(variables, output);
+        return output.toString();
+    }
+
+    /**
+     * Template split into alternating literal and variable segments
+     */
+    public static class Template {
+        private final TemplateId id;
+        private final String[] literals;
+        private final String[] variables;
+
+        private Template(TemplateId id, String[] literals, String[] variables) {
+            this.id = id;
+            this.literals = literals;
+            this.variables = variables;
+        }
+
+        /**
+         * Append the rendered template to the output
+         * @throws IllegalArgumentException if a required variable is missing
+         */
+        public void render(Map<String, String> values, Appendable output) throws IOException {
+            for (int i = 0; i < variables.length; i++) {
+                String value = values.get(variables[i]);
+                if (value == null) {
+                    throw new IllegalArgumentException("Missing template variable '" + variables[i]
+                            + "' for " + id.getResource());
+                }
+                output.append(literals[i]).append(value);
+            }
+            output.append(literals[literals.length - 1]);
+        }
+
+        public TemplateId getId() { return id; }
+    }
+}
@@ -156,20 +156,26 @@
 package ai;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import keywords.ElementMap;
+import keywords.KeywordRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * TestGenerator class responsible for generating test automation files
@@ -178,8 +184,6 @@ import java.util.List;
  */
 public class TestGenerator {
     private static final Logger logger = LoggerFactory.getLogger(TestGenerator.class);
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
     private static final String PAGE_OBJECTS_DIR = "src/main/java/pages/";
     private static final String FILE_SUFFIX = ".java";
     // Configuration constants
@@ -188,7 +192,11 @@ public class TestGenerator {
     private static final String STEPS_PATH = "src/test/java/steps/";
     private static final String RUNNERS_PATH = "src/test/java/runners/";
     private static final String TESTNG_FILE = "testng.xml";
+    private static final String GENERATED_RUNNER_MARKER = "Generated runner for feature:";
+    private static final String LEGACY_RUNNER_PREFIX = "TestRunner_";
     private static final String REPORTS_PATH = "target/cucumber-reports";
+    // Feature file name in a scenario location, e.g. "file:src/test/resources/features/login.feature:12"
+    private static final Pattern FEATURE_LOCATION = Pattern.compile("([^/\\\\:]+)\\.feature(?::\\d+)*$");
 
     /**
      * Main method to generate all test files from AI response
@@ -196,30 +204,62 @@ public class TestGenerator {
      * @param aiResponse JSON response from AI containing test file specifications
      */
     public static void generateTestFiles(String aiResponse) {
+        generateTestFiles(aiResponse, new ProcessTimeline());
+    }
+
+    /**
+     * Generate all test files, recording parse and file generation stages
+     *
+     * @param aiResponse JSON response from AI containing test file specifications
+     * @param timeline   Timeline receiving the stage timings
+     */
+    public static void generateTestFiles(String aiResponse, ProcessTimeline timeline) {
         try {
             logger.info("Starting test file generation process...");
 
-            // Clean and parse AI response
-            String cleanedResponse = cleanAIResponse(aiResponse);
-            JsonNode jsonResponse = objectMapper.readTree(cleanedResponse);
-
-            // Validate JSON structure
-            validateJsonStructure(jsonResponse);
-
             // Create necessary directories
             createDirectories();
 
-            // Generate all test files
-            generateFeatureFile(jsonResponse.get("featureFile"));
-            generatePageObject(jsonResponse.get("pageObject"));
-            generateStepDefinition(jsonResponse.get("stepDefinition"));
-            generateRunnerClass(jsonResponse);
-            generateTestNGSuite(jsonResponse);
-
-            // Generate additional supporting files
-            generatePropertiesFile();
-            generateBaseTestClass();
-            generateUtilityClasses();
+            // Render all test files and write them concurrently, skipping unchanged ones
+            try (ArtifactWriter writer = new ArtifactWriter()) {
+                // Stream-parse the response; each artifact is queued for writing as soon as it is parsed
+                timeline.start(ProcessTimeline.Stage.PARSE);
+                List<String> featureNames = new ArrayList<>();
+                PageObjectRegistry pageRegistry = PageObjectRegistry.load(PAGE_OBJECTS_DIR);
+                StepIndex stepIndex = StepIndex.load(STEPS_PATH);
+                GeneratedCodeRewriter rewriter = new GeneratedCodeRewriter();
+                Map<AIResponseParser.ArtifactType, Integer> counts = AIResponseParser.parse(aiResponse,
+                        (type, artifact) -> {
+                            switch (type) {
+                                case FEATURE:
+                                    featureNames.add(generateFeatureFile(artifact, FEATURES_PATH, writer));
+                                    break;
+                                case PAGE_OBJECT:
+                                    generatePageObject(artifact, pageRegistry, rewriter, writer);
+                                    break;
+                                case STEP_DEFINITION:
+                                    generateStepDefinition(artifact, pageRegistry, stepIndex, rewriter, writer);
+                                    break;
+                            }
+                        });
+                validateArtifactCounts(counts);
+                pageRegistry.save();
+                timeline.end(ProcessTimeline.Stage.PARSE);
+
+                timeline.start(ProcessTimeline.Stage.FILE_GENERATION);
+                Map<String, String> liveRunners = generateRunnerClasses(featureNames, writer);
+                generateTestNGSuite(liveRunners, writer);
+
+                // Generate additional supporting files
+                generatePropertiesFile(writer);
+                generateBaseTestClass(writer);
+                generateUtilityClasses(writer);
+
+                writer.awaitAll();
+                rewriter.writeReport();
+                checkGlue(stepIndex);
+            }
+            timeline.end(ProcessTimeline.Stage.FILE_GENERATION);
 
             logger.info("All test files generated successfully");
 
@@ -230,40 +270,85 @@ public class TestGenerator {
     }
 
     /**
-     * Clean AI response by removing markdown code blocks
+     * Generate keyword-driven artifacts only: feature files for the keyword runner and element
+     * maps from the page objects. No Java is written, so the features run without compilation
+     * @return paths of the generated feature files
      */
-    private static String cleanAIResponse(String aiResponse) {
-        String cleanedResponse = aiResponse.trim();
+    public static List<String> generateKeywordFiles(String aiResponse, ProcessTimeline timeline) {
+        try (ArtifactWriter writer = new ArtifactWriter()) {
+            timeline.start(ProcessTimeline.Stage.PARSE);
+            List<String> features = new ArrayList<>();
+            GeneratedCodeRewriter rewriter = new GeneratedCodeRewriter();
+            AIResponseParser.parse(aiResponse, (type, artifact) -> {
+                switch (type) {
+                    case FEATURE:
+                        String featureName = generateFeatureFile(artifact, KeywordRunner.FEATURES_DIR, writer);
+                        features.add(Paths.get(KeywordRunner.FEATURES_DIR, featureName + ".feature").toString());
+                        break;
+                    case PAGE_OBJECT:
+                        // Simplified locators end up in the map; the page class itself is not written
+                        String className = artifact.path("className").asText();
+                        generateElementMap(className, rewriter.rewritePage(className, artifact.path("content").asText()),
+                                artifact.path("url").asText(""), writer);
+                        break;
+                    case STEP_DEFINITION:
+                        logger.debug("Keyword mode ignores step definition {}", artifact.path("className").asText());
+                        break;
+                }
+            });
+            timeline.end(ProcessTimeline.Stage.PARSE);
 
-        if (cleanedResponse.startsWith("```")) {
-            int firstNewline = cleanedResponse.indexOf('\n');
-            if (firstNewline != -1) {
-                cleanedResponse = cleanedResponse.substring(firstNewline + 1);
-            }
-            if (cleanedResponse.endsWith("```")) {
-                cleanedResponse = cleanedResponse.substring(0, cleanedResponse.length() - 3);
+            timeline.start(ProcessTimeline.Stage.FILE_GENERATION);
+            writer.awaitAll();
+            timeline.end(ProcessTimeline.Stage.FILE_GENERATION);
+
+            if (features.isEmpty()) {
+                throw new IllegalArgumentException("Missing required fields in JSON: featureFile");
             }
-            cleanedResponse = cleanedResponse.trim();
+            logger.info("Keyword features generated: {}", features);
+            return features;
+        } catch (IOException e) {
+            logger.error("Error generating keyword files: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to generate keyword files", e);
         }
-
-        return cleanedResponse;
     }
 
     /**
-     * Validate JSON structure contains required fields
+     * Validate the response contained at least one artifact of each required type
      */
-    private static void validateJsonStructure(JsonNode jsonResponse) {
+    private static void validateArtifactCounts(Map<AIResponseParser.ArtifactType, Integer> counts) {
         List<String> missingFields = new ArrayList<>();
 
-        if (!jsonResponse.has("featureFile")) missingFields.add("featureFile");
-        if (!jsonResponse.has("pageObject")) missingFields.add("pageObject");
-        if (!jsonResponse.has("stepDefinition")) missingFields.add("stepDefinition");
+        for (Map.Entry<AIResponseParser.ArtifactType, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() == 0) {
+                missingFields.add(entry.getKey().getSingleField());
+            }
+        }
 
         if (!missingFields.isEmpty()) {
             throw new IllegalArgumentException("Missing required fields in JSON: " + String.join(", ", missingFields));
         }
     }
 
+    /**
+     * Re-index the written step definitions and fail before execution on ambiguous glue
+     */
+    private static void checkGlue(StepIndex stepIndex) {
+        stepIndex.refresh();
+        List<StepIndex.GlueProblem> ambiguous = new ArrayList<>();
+        for (StepIndex.GlueProblem problem : stepIndex.findGlueProblems(FEATURES_PATH)) {
+            if (problem.getKind() == StepIndex.GlueProblem.Kind.AMBIGUOUS) {
+                ambiguous.add(problem);
+                logger.error(problem.getMessage());
+            } else {
+                logger.warn(problem.getMessage());
+            }
+        }
+        if (!ambiguous.isEmpty()) {
+            throw new IllegalStateException(ambiguous.size() + " ambiguous step(s) in generated glue: " + ambiguous.get(0));
+        }
+    }
+
     /**
      * Create necessary directory structure
      */
@@ -283,8 +368,9 @@ public class TestGenerator {
 
     /**
      * Generate Cucumber feature file
+     * @return feature name without extension
      */
-    private static void generateFeatureFile(JsonNode featureFile) throws IOException {
+    private static String generateFeatureFile(JsonNode featureFile, String featuresDir, ArtifactWriter writer) {
         String fileName = featureFile.get("name").asText();
         String content = featureFile.get("content").asText();
 
@@ -307,16 +393,18 @@ public class TestGenerator {
             taggedContent.append(line).append("\n");
         }
 
-        Path featurePath = Paths.get(FEATURES_PATH + fileName);
-        Files.write(featurePath, taggedContent.toString().getBytes());
+        Path featurePath = Paths.get(featuresDir).resolve(fileName);
+        writer.submit(featurePath, taggedContent.toString());
 
         logger.info("Feature file generated: {}", fileName);
+        return fileName.substring(0, fileName.length() - ".feature".length());
     }
 
     /**
-     * Generate Page Object Model class
+     * Generate Page Object Model class, merged into the registered page for the same URL pattern
      */
-    private static void generatePageObject(JsonNode pageObject) throws IOException {
+    private static void generatePageObject(JsonNode pageObject, PageObjectRegistry pageRegistry,
+                                           GeneratedCodeRewriter rewriter, ArtifactWriter writer) {
         // Validate input JSON structure
         if (!pageObject.has("className") || !pageObject.has("content")) {
             throw new IllegalArgumentException("Invalid JSON structure: Missing 'className' or 'content'");
@@ -333,12 +421,6 @@ public class TestGenerator {
             throw new IllegalArgumentException("Content cannot be blank");
         }
 
-        // Create directory if missing
-        Path outputDir = Paths.get(PAGE_OBJECTS_DIR);
-        if (!Files.exists(outputDir)) {
-            Files.createDirectories(outputDir);
-        }
-
         // Fix WebDriverWait constructor for Selenium 4+
         content = content.replaceAll(
             "new\\s+WebDriverWait\\s*\\(\\s*driver\\s*,\\s*(\\d+)\\s*\\)",
@@ -357,25 +439,54 @@ public class TestGenerator {
             }
         }
 
-        // Write file with explicit charset and atomic replacement
-        Path outputPath = outputDir.resolve(className + FILE_SUFFIX);
-        Path tempPath = outputDir.resolve(className + ".tmp");
+        // Rewrite before merging so locators compare in their final form
+        content = rewriter.rewritePage(className, content);
 
-        Files.writeString(tempPath, content, StandardCharsets.UTF_8);
-        Files.move(tempPath, outputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Merge into an existing page instead of clobbering it
+        PageObjectRegistry.MergeResult page = pageRegistry.register(className, content,
+                pageObject.path("url").asText(""));
+
+        // A page generated before the rewrite pass existed is brought in line with the merged methods
+        String merged = rewriter.rewritePage(page.getClassName(), page.getContent());
+
+        // Writer creates the directory and replaces the file atomically
+        Path outputPath = Paths.get(PAGE_OBJECTS_DIR).resolve(page.getClassName() + FILE_SUFFIX);
+        writer.submit(outputPath, merged);
+        generateElementMap(page.getClassName(), merged, pageObject.path("url").asText(""), writer);
 
         logger.info("Generated page object: {}", outputPath);
     }
 
+    /**
+     * Write the element map of a page, used by keyword features to address its elements by name
+     */
+    private static void generateElementMap(String className, String pageSource, String url, ArtifactWriter writer) {
+        String elementMap = ElementMap.fromPageSource(pageSource, url);
+        if (elementMap != null) {
+            writer.submit(ElementMap.defaultDirectory().resolve(className + ".properties"), elementMap);
+        }
+    }
+
     /**
      * Generate Step Definition class
      */
-    private static void generateStepDefinition(JsonNode stepDefinition) throws IOException {
+    private static void generateStepDefinition(JsonNode stepDefinition, PageObjectRegistry pageRegistry,
+                                               StepIndex stepIndex, GeneratedCodeRewriter rewriter,
+                                               ArtifactWriter writer) throws IOException {
         String className = stepDefinition.get("className").asText();
-        String content = stepDefinition.get("content").asText();
+        String content = pageRegistry.applyClassRenames(stepDefinition.get("content").asText());
+        content = rewriter.rewriteSteps(className, content);
 
+        // Reuse steps already defined in other classes instead of emitting duplicates
         Path stepPath = Paths.get(STEPS_PATH + className + ".java");
-        Files.write(stepPath, content.getBytes());
+        content = stepIndex.removeDuplicateSteps(content, stepPath.toString());
+        if (!StepIndex.definesSteps(content)) {
+            // A stale copy of this class would now only hold duplicates
+            Files.deleteIfExists(stepPath);
+            logger.info("All steps of {} already exist, no step definition generated", className);
+            return;
+        }
+        writer.submit(stepPath, content);
 
         logger.info("Step definition generated: {}", className);
     }
@@ -445,174 +556,144 @@ public class TestGenerator {
 //
 //        logger.info("Runner class generated: {}", runnerName);
 //    }
-    private static void generateRunnerClass(JsonNode jsonResponse) throws IOException {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String runnerName = "TestRunner_" + timestamp;
-        String featureName = jsonResponse.get("featureFile").get("name").asText();
-
-        // Remove .feature extension if present for runner
-        if (featureName.endsWith(".feature")) {
-            featureName = featureName.substring(0, featureName.length() - 8);
+    /**
+     * Generate one runner per feature file and remove runners whose feature is gone
+     * (including legacy TestRunner_<timestamp> runners that all pointed at the whole features directory)
+     *
+     * @param generatedFeatures features from this response; their files may still be queued in the writer
+     * @return class names of the live runners
+     */
+    private static Map<String, String> generateRunnerClasses(List<String> generatedFeatures, ArtifactWriter writer)
+            throws IOException {
+        Set<String> features = new TreeSet<>(generatedFeatures);
+        try (Stream<Path> featureFiles = Files.list(Paths.get(FEATURES_PATH))) {
+            featureFiles.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".feature"))
+                    .forEach(name -> features.add(name.substring(0, name.length() - ".feature".length())));
         }
 
-        // Template with proper formatting placeholders
-        String runnerTemplate = """
-                package runners;
-           
-                import io.cucumber.testng.AbstractTestNGCucumberTests;
-                import io.cucumber.testng.CucumberOptions;
-                import org.testng.annotations.DataProvider;
-                import java.util.Date;
-                import java.text.SimpleDateFormat;
-            
-                /**
-                 * Cucumber TestNG Runner
-                 * Generated on: %s
-                 * Feature: %s
-                 */
-                @CucumberOptions(
-                    features = "src/test/resources/features",
-                    glue = {"steps", "hooks"},
-                    plugin = {
-                        "pretty",
-                        "html:target/cucumber-reports/html-report.html",
-                        "json:target/cucumber-reports/cucumber.json",
-                        "junit:target/cucumber-reports/cucumber.xml",
-                        "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:",
-                        "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
-                    },
-                    monochrome = true,
-                    publish = true,
-                    tags = "@smoke or @regression"
-                )
-                public class %s extends AbstractTestNGCucumberTests {
-            
-                    @Override
-                    @DataProvider(parallel = true)
-                    public Object[][] scenarios() {
-                        return super.scenarios();
-                    }
-            
-                    /**
-                     * Get current timestamp for logging/reporting purposes
-                     * @return formatted timestamp string
-                     */
-                    private static String getCurrentTimestamp() {
-                        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
-                    }
-            
-                    /**
-                     * Get the feature name this runner was generated for
-                     * @return feature name
-                     */
-                    public static String getFeatureName() {
-                        return "%s";
-                    }
-            
-                }
-            """;
+        Map<String, String> liveRunners = new LinkedHashMap<>();
+        for (String feature : features) {
+            String runnerName = runnerClassName(feature);
+            writer.submit(Paths.get(RUNNERS_PATH + runnerName + ".java"),
+                    TemplateEngine.get(TemplateEngine.TemplateId.RUNNER), runnerVariables(runnerName, feature));
+            liveRunners.put(runnerName, feature);
+        }
 
-        // Format with three arguments: timestamp, feature name, runner class name, feature name again
-        String runnerContent = String.format(runnerTemplate, timestamp, featureName, runnerName, featureName);
+        removeStaleRunners(liveRunners.keySet());
+        logger.info("Runner classes generated: {}", liveRunners.keySet());
+        return liveRunners;
+    }
+
+    private static Map<String, String> runnerVariables(String runnerName, String featureName) {
+        // No timestamps: unchanged features must render byte-identical runners so the writer can skip them
+        Map<String, String> variables = new HashMap<>();
+        variables.put("marker", GENERATED_RUNNER_MARKER);
+        variables.put("featureName", featureName);
+        variables.put("featuresPath", FEATURES_PATH);
+        variables.put("runnerName", runnerName);
+        return variables;
+    }
+
+    /**
+     * Delete generated runners that are not in the live set; hand-written runners are left alone
+     */
+    private static void removeStaleRunners(Set<String> liveRunners) throws IOException {
+        List<Path> runnerFiles;
+        try (Stream<Path> files = Files.list(Paths.get(RUNNERS_PATH))) {
+            runnerFiles = files.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList());
+        }
 
-        // Ensure the runners directory exists
-        Path runnersDir = Paths.get(RUNNERS_PATH);
-        if (!Files.exists(runnersDir)) {
-            Files.createDirectories(runnersDir);
+        for (Path runnerFile : runnerFiles) {
+            String fileName = runnerFile.getFileName().toString();
+            String className = fileName.substring(0, fileName.length() - ".java".length());
+            if (liveRunners.contains(className)) {
+                continue;
+            }
+            boolean generated = className.startsWith(LEGACY_RUNNER_PREFIX)
+                    || Files.readString(runnerFile).contains(GENERATED_RUNNER_MARKER);
+            if (generated) {
+                Files.delete(runnerFile);
+                logger.info("Removed stale runner: {}", className);
+            }
         }
+    }
 
-        // Write the runner file
-        Path runnerPath = Paths.get(RUNNERS_PATH + runnerName + ".java");
-        Files.writeString(runnerPath, runnerContent);
+    /**
+     * Generated runner of the feature a scenario location points to, e.g.
+     * "file:src/test/resources/features/login.feature:12" -> LoginRunner; null when there is none
+     */
+    static String runnerForLocation(String location) {
+        Matcher matcher = FEATURE_LOCATION.matcher(location);
+        if (!matcher.find()) {
+            return null;
+        }
+        String runnerName = runnerClassName(matcher.group(1));
+        return Files.isRegularFile(Paths.get(RUNNERS_PATH + runnerName + ".java")) ? runnerName : null;
+    }
 
-        logger.info("Runner class generated: {} for feature: {}", runnerName, featureName);
+    /**
+     * Runner class name for a feature, e.g. "login-test" -> LoginTestRunner
+     */
+    private static String runnerClassName(String featureName) {
+        StringBuilder className = new StringBuilder();
+        boolean upperNext = true;
+        for (char c : featureName.toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                className.append(upperNext ? Character.toUpperCase(c) : c);
+                upperNext = false;
+            } else {
+                upperNext = true;
+            }
+        }
+        if (className.length() == 0 || !Character.isJavaIdentifierStart(className.charAt(0))) {
+            className.insert(0, "Feature");
+        }
+        return className.append("Runner").toString();
     }
+
     /**
-     * Generate TestNG Suite configuration
+     * Generate testng.xml with one test per shard; runners are balanced across shards by their
+     * features' historical durations so the parallel shards finish together
+     * @param liveRunners runner class name to feature name
      */
-    private static void generateTestNGSuite(JsonNode jsonResponse) throws IOException {
-        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-        String suiteName = "AI_TestSuite_" + timestamp;
-
-        String testngContent = String.format("""
-                <?xml version=1.0 encoding=UTF-8?>
-                <!DOCTYPE suite SYSTEM http://testng.org/testng-1.0.dtd\">
-                <suite name=\"%s\" parallel=\"tests\" thread-count=\"3\" verbose=\"2\">
-                    <parameter name=\"browser\" value=\"chrome\"/>
-                    <parameter name=\"environment\" value=\"qa\"/>
-                    <parameter name=\"headless\" value=\"false\"/>
-                    <listeners>
-                        <listener class-name="reporting.ExtentReportManager"/>
-                        <listener class-name=\"reporting.AllureReportManager\"/>
-                    </listeners>
-                    <test name=\"Smoke Tests\" parallel=\"methods\" thread-count=\"2\">
-                        <parameter name=\"testType\" value=\"smoke\"/>
-                        <groups>
-                            <run>
-                                <include name=\"smoke\"/>
-                            </run>
-                        </groups>
-                        <classes>
-                            <class name=\"runners.TestRunner_%s\"/>
-                        </classes>
-                    </test>
-                    <test name=\"Regression Tests\" parallel=\"methods\" thread-count=\"3\">
-                        <parameter name=\"testType\" value=\"regression\"/>
-                        <groups>
-                            <run>
-                                <include name=\"regression\"/>
-                            </run>
-                        </groups>
-                        <classes>
-                            <class name=\"runners.TestRunner_%s\"/>
-                        </classes>
-                    </test>
-                </suite>
-                """, suiteName, timestamp, timestamp);
+    private static void generateTestNGSuite(Map<String, String> liveRunners, ArtifactWriter writer)
+            throws IOException {
+        // Estimates read the feature files, so this run's features must be on disk first
+        writer.awaitAll();
+        ScenarioDurations durations = ScenarioDurations.load();
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        liveRunners.forEach((runner, feature) ->
+                estimates.put(runner, durations.estimateFeatureMillis(Paths.get(FEATURES_PATH + feature + ".feature"))));
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(estimates, ShardPlanner.hostShardCount());
+
+        StringBuilder tests = new StringBuilder();
+        for (ShardPlanner.Shard shard : shards) {
+            tests.append(String.format("    <test name=\"Shard %d\">%n", shard.getIndex()));
+            tests.append(String.format("        <classes>%n"));
+            for (String runner : shard.getRunners()) {
+                tests.append(String.format("            <class name=\"runners.%s\"/>%n", runner));
+            }
+            tests.append(String.format("        </classes>%n"));
+            tests.append(String.format("    </test>%n"));
+        }
 
+        Map<String, String> variables = new HashMap<>();
+        variables.put("shardCount", String.valueOf(Math.max(1, shards.size())));
+        variables.put("shards", tests.toString());
         Path testngPath = Paths.get(TESTNG_FILE);
-        Files.write(testngPath, testngContent.getBytes());
+        writer.submit(testngPath, TemplateEngine.get(TemplateEngine.TemplateId.TESTNG_SUITE), variables);
 
-        logger.info("TestNG suite generated: {}", TESTNG_FILE);
+        logger.info("TestNG suite generated: {} ({} runner(s) in {} shard(s))", TESTNG_FILE, liveRunners.size(), shards.size());
+        shards.forEach(shard -> logger.info("  {}", shard));
     }
 
     /**
      * Generate configuration properties file
      */
-    private static void generatePropertiesFile() throws IOException {
-        String propertiesContent = """
-                # Test Configuration Properties
-                # Browser Configuration
-                browser=chrome
-                headless=false
-                implicit.wait=10
-                explicit.wait=20
-                page.load.timeout=30
-                
-                # Environment Configuration
-                base.url=https://example.com
-                api.base.url=https://api.example.com
-                environment=qa
-                
-                # Database Configuration
-                db.host=localhost
-                db.port=5432
-                db.name=testdb
-                db.username=testuser
-                db.password=testpass
-                
-                # Reporting Configuration
-                extent.report.path=target/extent-reports/
-                allure.results.directory=target/allure-results/
-                screenshot.on.failure=true
-                
-                # Retry Configuration
-                retry.count=2
-                retry.enabled=true
-                """;
-
+    private static void generatePropertiesFile(ArtifactWriter writer) {
         Path propertiesPath = Paths.get("src/test/resources/config/test.properties");
-        Files.write(propertiesPath, propertiesContent.getBytes());
+        writer.submit(propertiesPath, TemplateEngine.get(TemplateEngine.TemplateId.TEST_PROPERTIES), Map.of());
 
         logger.info("Properties file generated: test.properties");
     }
@@ -620,101 +701,9 @@ public class TestGenerator {
     /**
      * Generate base test class for common functionality
      */
-    private static void generateBaseTestClass() throws IOException {
-        String baseTestContent = """
-                package base;
-                
-                import org.openqa.selenium.WebDriver;
-                import org.openqa.selenium.chrome.ChromeDriver;
-                import org.openqa.selenium.firefox.FirefoxDriver;
-                import org.openqa.selenium.edge.EdgeDriver;
-                import org.openqa.selenium.chrome.ChromeOptions;
-                import org.openqa.selenium.firefox.FirefoxOptions;
-                import org.openqa.selenium.support.ui.WebDriverWait;
-                import org.testng.annotations.*;
-                import io.github.bonigarcia.wdm.WebDriverManager;
-                
-                import java.time.Duration;
-                import java.util.Properties;
-                import java.io.FileInputStream;
-                import java.io.IOException;
-                
-                /**
-                 * Base Test Class providing common setup and teardown functionality
-                 */
-                public class BaseTest {
-                    protected WebDriver driver;
-                    protected WebDriverWait wait;
-                    protected Properties properties;
-                
-                    @BeforeClass
-                    public void setUp() throws IOException {
-                        loadProperties();
-                        initializeDriver();
-                        configureBrowser();
-                    }
-                
-                    @AfterClass
-                    public void tearDown() {
-                        if (driver != null) {
-                            driver.quit();
-                        }
-                    }
-                
-                    private void loadProperties() throws IOException {
-                        properties = new Properties();
-                        try (FileInputStream fis = new FileInputStream("src/test/resources/config/test.properties")) {
-                            properties.load(fis);
-                        }
-                    }
-                
-                    private void initializeDriver() {
-                        String browser = properties.getProperty("browser", "chrome").toLowerCase();
-                        boolean headless = Boolean.parseBoolean(properties.getProperty("headless", "false"));
-                
-                        switch (browser) {
-                            case "chrome":
-                
-                                ChromeOptions chromeOptions = new ChromeOptions();
-                                if (headless) chromeOptions.addArguments("--headless");
-                                chromeOptions.addArguments("--no-sandbox", "--disable-dev-shm-usage");
-                                driver = new ChromeDriver(chromeOptions);
-                                break;
-                            case "firefox":
-                
-                                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                                if (headless) firefoxOptions.addArguments("--headless");
-                                driver = new FirefoxDriver(firefoxOptions);
-                                break;
-                            case "edge":
-                
-                                driver = new EdgeDriver();
-                                break;
-                            default:
-                                throw new IllegalArgumentException("Browser not supported: " + browser);
-                        }
-                    }
-                
-                    private void configureBrowser() {
-                        int implicitWait = Integer.parseInt(properties.getProperty("implicit.wait", "10"));
-                        int explicitWait = Integer.parseInt(properties.getProperty("explicit.wait", "20"));
-                        int pageLoadTimeout = Integer.parseInt(properties.getProperty("page.load.timeout", "30"));
-                
-                        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
-                        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
-                        driver.manage().window().maximize();
-                
-                        wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWait));
-                    }
-                
-                    protected String getProperty(String key) {
-                        return properties.getProperty(key);
-                    }
-                }
-                """;
-
+    private static void generateBaseTestClass(ArtifactWriter writer) {
         Path baseTestPath = Paths.get("src/test/java/base/BaseTest.java");
-        Files.write(baseTestPath, baseTestContent.getBytes());
+        writer.submit(baseTestPath, TemplateEngine.get(TemplateEngine.TemplateId.BASE_TEST), Map.of());
 
         logger.info("Base test class generated: BaseTest.java");
     }
@@ -722,99 +711,14 @@ public class TestGenerator {
     /**
      * Generate utility classes for common functions
      */
-    private static void generateUtilityClasses() throws IOException {
+    private static void generateUtilityClasses(ArtifactWriter writer) {
         // Generate Screenshot Utility
-        String screenshotUtilContent = """
-                package utils;
-                
-                import org.apache.commons.io.FileUtils;
-                import org.openqa.selenium.OutputType;
-                import org.openqa.selenium.TakesScreenshot;
-                import org.openqa.selenium.WebDriver;
-                import org.slf4j.Logger;
-                import org.slf4j.LoggerFactory;
-                
-                import java.io.File;
-                import java.io.IOException;
-                import java.time.LocalDateTime;
-                import java.time.format.DateTimeFormatter;
-                
-                /**
-                 * Utility class for capturing screenshots
-                 */
-                public class ScreenshotUtil {
-                    private static final Logger logger = LoggerFactory.getLogger(ScreenshotUtil.class);
-                
-                    public static String captureScreenshot(WebDriver driver, String testName) {
-                        try {
-                            TakesScreenshot screenshot = (TakesScreenshot) driver;
-                            File sourceFile = screenshot.getScreenshotAs(OutputType.FILE);
-                
-                            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                            String fileName = testName + "_" + timestamp + ".png";
-                            String filePath = "target/screenshots/" + fileName;
-                
-                            File destFile = new File(filePath);
-                            destFile.getParentFile().mkdirs();
-                
-                            FileUtils.copyFile(sourceFile, destFile);
-                            logger.info("Screenshot captured: {}", filePath);
-                
-                            return filePath;
-                        } catch (IOException e) {
-                            logger.error("Failed to capture screenshot", e);
-                            return null;
-                        }
-                    }
-                }
-                """;
-
         Path screenshotPath = Paths.get("src/test/java/utils/ScreenshotUtil.java");
-        Files.write(screenshotPath, screenshotUtilContent.getBytes());
+        writer.submit(screenshotPath, TemplateEngine.get(TemplateEngine.TemplateId.SCREENSHOT_UTIL), Map.of());
 
         // Generate Test Data Utility
-        String testDataUtilContent = """
-                package utils;
-                
-                import com.fasterxml.jackson.databind.JsonNode;
-                import com.fasterxml.jackson.databind.ObjectMapper;
-                import org.slf4j.Logger;
-                import org.slf4j.LoggerFactory;
-                
-                import java.io.File;
-                import java.io.IOException;
-                import java.util.HashMap;
-                import java.util.Map;
-                
-                /**
-                 * Utility class for managing test data
-                 */
-                public class TestDataUtil {
-                    private static final Logger logger = LoggerFactory.getLogger(TestDataUtil.class);
-                    private static final ObjectMapper objectMapper = new ObjectMapper();
-                
-                    public static Map<String, String> getTestData(String fileName) {
-                        Map<String, String> testData = new HashMap<>();
-                
-                        try {
-                            File file = new File("src/test/resources/testdata/" + fileName);
-                            JsonNode jsonNode = objectMapper.readTree(file);
-                
-                            jsonNode.fields().forEachRemaining(entry -> {
-                                testData.put(entry.getKey(), entry.getValue().asText());
-                            });
-                
-                        } catch (IOException e) {
-                            logger.error("Failed to load test data from {}", fileName, e);
-                        }
-                
-                        return testData;
-                    }
-                }
-                """;
-
         Path testDataPath = Paths.get("src/test/java/utils/TestDataUtil.java");
-        Files.write(testDataPath, testDataUtilContent.getBytes());
+        writer.submit(testDataPath, TemplateEngine.get(TemplateEngine.TemplateId.TEST_DATA_UTIL), Map.of());
 
         logger.info("Utility classes generated successfully");
     }
@@ -835,22 +739,11 @@ public class TestGenerator {
      * Generate reporting configuration files
      */
     private static void generateReportingConfiguration() {
-        try {
+        try (ArtifactWriter writer = new ArtifactWriter()) {
             // Generate Extent Reports configuration
-            String extentConfig = """
-                    extent.reporter.spark.start=true
-                    extent.reporter.spark.out=target/extent-reports/ExtentSpark.html
-                    extent.reporter.spark.config=src/test/resources/config/extent-config.xml
-                    
-                    extent.reporter.json.start=true
-                    extent.reporter.json.out=target/extent-reports/ExtentJson.json
-                    
-                    extent.reporter.pdf.start=true
-                    extent.reporter.pdf.out=target/extent-reports/ExtentPdf.pdf
-                    """;
-
             Path extentPath = Paths.get("src/test/resources/config/extent.properties");
-            Files.write(extentPath, extentConfig.getBytes());
+            writer.submit(extentPath, TemplateEngine.get(TemplateEngine.TemplateId.EXTENT_PROPERTIES), Map.of());
+            writer.awaitAll();
 
             logger.info("Reporting configuration generated successfully");
 
@@ -0,0 +1,426 @@
+package ai;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Non-blocking pump for the output of the Maven child process.
+ * Parses Cucumber, TestNG and Surefire progress lines while they stream,
+ * keeps live scenario counters, bounds memory with a ring buffer that spills
+ * evicted lines to a file and aborts the run once a failure threshold is reached.
+ * Parallel runners interleave their output, so the per-scenario results seen here are
+ * approximate and only drive progress and the abort threshold; {@link CucumberReports}
+ * has the authoritative results once the run is over.
+ */
+public class TestOutputMonitor implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(TestOutputMonitor.class);
+
+    // Cucumber pretty formatter: "Scenario: Successful login   # src/test/resources/features/Login.feature:3"
+    private static final Pattern SCENARIO_START = Pattern.compile(
+            "^\\s*Scenario(?: Outline)?:\\s*(.+?)(?:\\s+#\\s*(\\S+:\\d+))?\\s*$");
+    // Cucumber step line: "  When I click the login button  # steps.LoginSteps.click()"
+    private static final Pattern STEP_LINE = Pattern.compile(
+            "^\\s+(?:Given|When|Then|And|But|\\*)\\s.+#\\s*\\S+.*$");
+    // Exception printed under a failed step
+    private static final Pattern STEP_FAILURE = Pattern.compile(
+            "^\\s+(?:(?:[a-zA-Z_$][\\w$]*\\.)+[\\w$]*(?:Exception|Error)\\b.*|The step .+ is undefined.*)$");
+    // TestNG verbose output: PASSED: runners.X.runScenario("Successful login", "Feature")
+    private static final Pattern TESTNG_RESULT = Pattern.compile(
+            "^(PASSED|FAILED|SKIPPED): .*runScenario\\(\"(.+?)\".*$");
+    // Surefire failure detail: runners.X.runScenario["Successful login", ...](1)  Time elapsed: 19.2 s  <<< FAILURE!
+    private static final Pattern SUREFIRE_FAILURE = Pattern.compile(
+            "runScenario\\[\"(.+?)\".*Time elapsed: ([\\d.,]+) ?s.*<<< (?:FAILURE|ERROR)!");
+    // Surefire summary: Tests run: 3, Failures: 1, Errors: 0, Skipped: 0, Time elapsed: 12.3 s
+    private static final Pattern SUREFIRE_SUMMARY = Pattern.compile(
+            "Tests run: (\\d+), Failures: (\\d+), Errors: (\\d+), Skipped: (\\d+)");
+
+    // Maven 3.9 prints "--- compiler:3.11.0:compile", older versions "--- maven-compiler-plugin:3.11.0:compile"
+    private static final Pattern COMPILE_PHASE = Pattern.compile("--- (?:maven-)?compiler(?:-plugin)?:");
+    private static final Pattern TEST_PHASE = Pattern.compile("--- (?:maven-)?surefire(?:-plugin)?:");
+    private static final Pattern BROWSER_READY = Pattern.compile(
+            "Driver initialized for browser|ChromeDriver was started successfully|Started \\w*Driver");
+    private static final Pattern RESULTS_BANNER = Pattern.compile("^(?:\\[\\w+\\] )?Results ?:\\s*$");
+
+    private final InputStream input;
+    private final int bufferCapacity;
+    private final Path spillFile;
+    private final int failureThreshold;
+    private final Runnable abortAction;
+
+    private final ArrayDeque<String> recentLines;
+    private final List<ScenarioResult> scenarioResults = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger scenariosStarted = new AtomicInteger();
+    private final AtomicInteger scenariosPassed = new AtomicInteger();
+    private final AtomicInteger scenariosFailed = new AtomicInteger();
+    private final AtomicInteger scenariosSkipped = new AtomicInteger();
+    private final AtomicInteger testsRun = new AtomicInteger();
+    private final AtomicInteger testsFailed = new AtomicInteger();
+    private final AtomicInteger testsSkipped = new AtomicInteger();
+    private final AtomicInteger linesRead = new AtomicInteger();
+    private final AtomicInteger spilledLines = new AtomicInteger();
+    private final AtomicBoolean aborted = new AtomicBoolean(false);
+    private final Map<Milestone, Long> milestones = new ConcurrentHashMap<>();
+
+    private BufferedWriter spillWriter;
+    private Thread pumpThread;
+
+    // Scenario currently printed by the pretty formatter (pump thread only)
+    private String currentScenario;
+    private String currentLocation;
+    private long currentStartNanos;
+    private boolean currentFailed;
+    private boolean insideStep;
+
+    /**
+     * @param input merged stdout/stderr of the child process
+     * @param bufferCapacity maximum number of lines kept in memory
+     * @param spillFile file receiving lines evicted from the ring buffer
+     * @param failureThreshold failed scenarios after which the run is aborted, 0 to disable
+     * @param abortAction callback terminating the child process
+     */
+    public TestOutputMonitor(InputStream input, int bufferCapacity, Path spillFile,
+                             int failureThreshold, Runnable abortAction) {
+        this.input = input;
+        this.bufferCapacity = Math.max(1, bufferCapacity);
+        this.spillFile = spillFile;
+        this.failureThreshold = failureThreshold;
+        this.abortAction = abortAction;
+        this.recentLines = new ArrayDeque<>(Math.min(this.bufferCapacity, 1024));
+    }
+
+    /**
+     * Start pumping on a daemon thread
+     */
+    public TestOutputMonitor start() {
+        pumpThread = new Thread(this, "maven-output-pump");
+        pumpThread.setDaemon(true);
+        pumpThread.start();
+        return this;
+    }
+
+    /**
+     * Wait for the pump to drain the remaining output
+     */
+    public void awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        if (pumpThread != null) {
+            pumpThread.join(unit.toMillis(timeout));
+        }
+    }
+
+    @Override
+    public void run() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                linesRead.incrementAndGet();
+                logger.info("[MAVEN] {}", line);
+                buffer(line);
+                parse(line);
+            }
+        } catch (IOException e) {
+            // Stream is closed when the process is terminated
+            logger.debug("Maven output stream closed: {}", e.getMessage());
+        } finally {
+            finishCurrentScenario();
+            closeSpillWriter();
+        }
+    }
+
+    /**
+     * Keep the line in the ring buffer, spilling the oldest line when full
+     */
+    private void buffer(String line) {
+        String evicted = null;
+        synchronized (recentLines) {
+            if (recentLines.size() == bufferCapacity) {
+                evicted = recentLines.pollFirst();
+            }
+            recentLines.addLast(line);
+        }
+        if (evicted != null) {
+            spill(evicted);
+        }
+    }
+
+    private void spill(String line) {
+        if (spillFile == null) {
+            return;
+        }
+        try {
+            if (spillWriter == null) {
+                Files.createDirectories(spillFile.toAbsolutePath().getParent());
+                spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+                logger.debug("Spilling Maven output to: {}", spillFile);
+            }
+            spillWriter.write(line);
+            spillWriter.newLine();
+            spilledLines.incrementAndGet();
+        } catch (IOException e) {
+            logger.warn("Could not spill Maven output to {}: {}", spillFile, e.getMessage());
+        }
+    }
+
+    private void closeSpillWriter() {
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                logger.warn("Error closing spill file {}: {}", spillFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Update counters from a single output line
+     */
+    private void parse(String line) {
+        checkMilestones(line);
+
+        Matcher matcher = SCENARIO_START.matcher(line);
+        if (matcher.matches()) {
+            milestones.putIfAbsent(Milestone.FIRST_SCENARIO, System.nanoTime());
+            finishCurrentScenario();
+            currentScenario = matcher.group(1).trim();
+            currentLocation = matcher.group(2);
+            currentStartNanos = System.nanoTime();
+            currentFailed = false;
+            insideStep = false;
+            scenariosStarted.incrementAndGet();
+            logger.debug("Scenario started: {}", currentScenario);
+            return;
+        }
+
+        if (currentScenario != null) {
+            if (STEP_LINE.matcher(line).matches()) {
+                insideStep = true;
+                return;
+            }
+            if (insideStep && !currentFailed && STEP_FAILURE.matcher(line).matches()) {
+                currentFailed = true;
+                return;
+            }
+        }
+
+        matcher = TESTNG_RESULT.matcher(line);
+        if (matcher.matches()) {
+            recordExternalResult(matcher.group(2), ScenarioStatus.valueOf(matcher.group(1)), -1);
+            return;
+        }
+
+        matcher = SUREFIRE_FAILURE.matcher(line);
+        if (matcher.find()) {
+            long millis = (long) (Double.parseDouble(matcher.group(2).replace(',', '.')) * 1000);
+            recordExternalResult(matcher.group(1), ScenarioStatus.FAILED, millis);
+            return;
+        }
+
+        matcher = SUREFIRE_SUMMARY.matcher(line);
+        if (matcher.find()) {
+            finishCurrentScenario();
+            // Surefire prints one summary per test set followed by a grand total; keep the latest
+            testsRun.set(Integer.parseInt(matcher.group(1)));
+            testsFailed.set(Integer.parseInt(matcher.group(2)) + Integer.parseInt(matcher.group(3)));
+            testsSkipped.set(Integer.parseInt(matcher.group(4)));
+        }
+    }
+
+    /**
+     * Record the first time each build phase shows up in the output
+     */
+    private void checkMilestones(String line) {
+        if (!milestones.containsKey(Milestone.COMPILE_STARTED) && COMPILE_PHASE.matcher(line).find()) {
+            milestones.put(Milestone.COMPILE_STARTED, System.nanoTime());
+        } else if (!milestones.containsKey(Milestone.TESTS_STARTED) && TEST_PHASE.matcher(line).find()) {
+            milestones.put(Milestone.TESTS_STARTED, System.nanoTime());
+        } else if (!milestones.containsKey(Milestone.BROWSER_READY) && BROWSER_READY.matcher(line).find()) {
+            milestones.put(Milestone.BROWSER_READY, System.nanoTime());
+        } else if (!milestones.containsKey(Milestone.TESTS_FINISHED) && RESULTS_BANNER.matcher(line).matches()) {
+            milestones.put(Milestone.TESTS_FINISHED, System.nanoTime());
+        }
+    }
+
+    /**
+     * Close the scenario the pretty formatter is currently printing
+     */
+    private void finishCurrentScenario() {
+        if (currentScenario == null) {
+            return;
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - currentStartNanos);
+        ScenarioStatus status = currentFailed ? ScenarioStatus.FAILED : ScenarioStatus.PASSED;
+        record(new ScenarioResult(currentScenario, currentLocation, status, durationMillis));
+        currentScenario = null;
+        currentLocation = null;
+    }
+
+    /**
+     * Apply a TestNG/Surefire verdict for a scenario the pretty output did not classify as failed
+     */
+    private void recordExternalResult(String name, ScenarioStatus status, long durationMillis) {
+        if (name.equals(currentScenario)) {
+            if (status == ScenarioStatus.FAILED) {
+                currentFailed = true;
+            }
+            finishCurrentScenario();
+            return;
+        }
+
+        synchronized (scenarioResults) {
+            for (int i = 0; i < scenarioResults.size(); i++) {
+                ScenarioResult known = scenarioResults.get(i);
+                if (known.getName().equals(name)) {
+                    if (status == ScenarioStatus.FAILED && known.getStatus() != ScenarioStatus.FAILED) {
+                        scenarioResults.set(i, new ScenarioResult(name, known.getLocation(), status,
+                                durationMillis >= 0 ? durationMillis : known.getDurationMillis()));
+                        adjustCounter(known.getStatus(), -1);
+                        adjustCounter(status, 1);
+                        checkFailureThreshold();
+                    }
+                    return;
+                }
+            }
+        }
+        record(new ScenarioResult(name, null, status, Math.max(durationMillis, 0)));
+    }
+
+    private void record(ScenarioResult result) {
+        scenarioResults.add(result);
+        adjustCounter(result.getStatus(), 1);
+        logger.debug("Scenario {}: {} ({} ms)", result.getStatus(), result.getName(), result.getDurationMillis());
+        checkFailureThreshold();
+    }
+
+    private void adjustCounter(ScenarioStatus status, int delta) {
+        switch (status) {
+            case PASSED:
+                scenariosPassed.addAndGet(delta);
+                break;
+            case FAILED:
+                scenariosFailed.addAndGet(delta);
+                break;
+            default:
+                scenariosSkipped.addAndGet(delta);
+        }
+    }
+
+    private void checkFailureThreshold() {
+        if (failureThreshold > 0 && scenariosFailed.get() >= failureThreshold
+                && aborted.compareAndSet(false, true)) {
+            logger.error("Failure threshold of {} scenario(s) reached, aborting test execution", failureThreshold);
+            if (abortAction != null) {
+                abortAction.run();
+            }
+        }
+    }
+
+    // ==================== LIVE COUNTERS ====================
+
+    public int getScenariosStarted() { return scenariosStarted.get(); }
+    public int getScenariosPassed() { return scenariosPassed.get(); }
+    public int getScenariosFailed() { return scenariosFailed.get(); }
+    public int getScenariosSkipped() { return scenariosSkipped.get(); }
+    public int getTestsRun() { return testsRun.get(); }
+    public int getTestsFailed() { return testsFailed.get(); }
+    public int getTestsSkipped() { return testsSkipped.get(); }
+    public int getLinesRead() { return linesRead.get(); }
+    public boolean isAborted() { return aborted.get(); }
+
+    /**
+     * Number of lines evicted from memory to the spill file
+     */
+    public int getSpilledLines() {
+        return spilledLines.get();
+    }
+
+    /**
+     * Snapshot of the most recent output lines still held in memory
+     */
+    public List<String> getRecentLines() {
+        synchronized (recentLines) {
+            return new ArrayList<>(recentLines);
+        }
+    }
+
+    /**
+     * Snapshot of the scenarios completed so far, as attributed from the console output
+     */
+    public List<ScenarioResult> getScenarioResults() {
+        synchronized (scenarioResults) {
+            return new ArrayList<>(scenarioResults);
+        }
+    }
+
+    /**
+     * System.nanoTime() at which the milestone was first seen, or null if it never appeared
+     */
+    public Long getMilestoneNanos(Milestone milestone) {
+        return milestones.get(milestone);
+    }
+
+    /**
+     * One-line progress summary for logging
+     */
+    public String progressSummary() {
+        return String.format("scenarios started=%d, passed=%d, failed=%d, skipped=%d, lines=%d",
+                scenariosStarted.get(), scenariosPassed.get(), scenariosFailed.get(),
+                scenariosSkipped.get(), linesRead.get());
+    }
+
+    /**
+     * Build phases recognised in the process output
+     */
+    public enum Milestone { COMPILE_STARTED, TESTS_STARTED, FIRST_SCENARIO, BROWSER_READY, TESTS_FINISHED }
+
+    /**
+     * Scenario outcome as observed in the process output
+     */
+    public enum ScenarioStatus { PASSED, FAILED, SKIPPED }
+
+    /**
+     * Outcome and duration of a single scenario
+     */
+    public static class ScenarioResult {
+        private final String name;
+        private final String location;
+        private final ScenarioStatus status;
+        private final long durationMillis;
+
+        public ScenarioResult(String name, String location, ScenarioStatus status, long durationMillis) {
+            this.name = name;
+            this.location = location;
+            this.status = status;
+            this.durationMillis = durationMillis;
+        }
+
+        public String getName() { return name; }
+        public String getLocation() { return location; }
+        public ScenarioStatus getStatus() { return status; }
+        public long getDurationMillis() { return durationMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("ScenarioResult{name='%s', status=%s, duration=%dms}", name, status, durationMillis);
+        }
+    }
+}
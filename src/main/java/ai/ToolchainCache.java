@@ -0,0 +1,379 @@
+package ai;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches detected toolchain information (Maven, Java, browser and driver versions)
+ * in a small on-disk fingerprint file so repeated runs skip spawning probe processes.
+ * The cache is invalidated when PATH, JAVA_HOME, the configured Maven command or the
+ * modification time of any PATH entry or detected binary changes.
+ */
+public class ToolchainCache {
+    private static final Logger logger = LoggerFactory.getLogger(ToolchainCache.class);
+
+    private static final String CACHE_FILE = ".genai/toolchain.properties";
+    private static final int PROBE_TIMEOUT_SECONDS = 10;
+    private static final String[] WINDOWS_MAVEN_PATHS = {
+            "C:\\Program Files\\Apache\\maven\\bin\\mvn.cmd",
+            "C:\\Program Files\\Maven\\bin\\mvn.cmd",
+            "mvn.cmd",
+            "mvn"
+    };
+    private static final String[] BROWSER_BINARIES = {
+            "google-chrome", "google-chrome-stable", "chromium", "chromium-browser", "chrome"
+    };
+    private static final String[] DRIVER_BINARIES = {"chromedriver"};
+
+    private ToolchainCache() {
+    }
+
+    /**
+     * Load the cached toolchain or detect it when the fingerprint no longer matches
+     * @param configuredMaven Maven command from configuration, empty if not set
+     * @return detected toolchain
+     */
+    public static Toolchain load(String configuredMaven) {
+        String fingerprint = computeFingerprint(configuredMaven);
+        Path cacheFile = Paths.get(CACHE_FILE);
+
+        if (Files.isRegularFile(cacheFile)) {
+            Properties cached = new Properties();
+            try (InputStream input = Files.newInputStream(cacheFile)) {
+                cached.load(input);
+                Toolchain toolchain = Toolchain.fromProperties(cached);
+                if (fingerprint.equals(cached.getProperty("fingerprint")) && toolchain.binariesUnchanged()) {
+                    logger.debug("Using cached toolchain from {}", CACHE_FILE);
+                    return toolchain;
+                }
+                logger.info("Toolchain fingerprint changed, re-detecting");
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring unreadable toolchain cache {}: {}", CACHE_FILE, e.getMessage());
+            }
+        }
+
+        Toolchain toolchain = detect(configuredMaven);
+        save(cacheFile, fingerprint, toolchain);
+        return toolchain;
+    }
+
+    /**
+     * Drop the cache so the next load re-detects everything
+     */
+    public static void invalidate() {
+        try {
+            if (Files.deleteIfExists(Paths.get(CACHE_FILE))) {
+                logger.info("Toolchain cache invalidated");
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete toolchain cache {}: {}", CACHE_FILE, e.getMessage());
+        }
+    }
+
+    // ==================== FINGERPRINT ====================
+
+    /**
+     * Cheap fingerprint of the environment: only stats PATH entries, never spawns processes
+     */
+    private static String computeFingerprint(String configuredMaven) {
+        StringBuilder builder = new StringBuilder();
+        String path = System.getenv().getOrDefault("PATH", "");
+        builder.append(path).append('\n')
+                .append(System.getenv().getOrDefault("JAVA_HOME", "")).append('\n')
+                .append(System.getenv().getOrDefault("M2_HOME", "")).append('\n')
+                .append(System.getProperty("java.home")).append('\n')
+                .append(System.getProperty("os.name")).append('\n')
+                .append(configuredMaven).append('\n');
+
+        for (String entry : path.split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                builder.append(entry).append('=').append(lastModified(Paths.get(entry))).append('\n');
+            }
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(builder.toString().hashCode());
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    // ==================== DETECTION ====================
+
+    private static Toolchain detect(String configuredMaven) {
+        long start = System.nanoTime();
+        Toolchain toolchain = new Toolchain();
+        toolchain.javaHome = System.getProperty("java.home");
+        toolchain.javaVersion = System.getProperty("java.version");
+
+        // Maven
+        String mavenPath = resolveMaven(configuredMaven);
+        List<String> mavenOutput = probe(mavenPath, "--version");
+        if (mavenOutput != null) {
+            toolchain.mavenPath = mavenPath;
+            toolchain.mavenAvailable = true;
+            for (String line : mavenOutput) {
+                if (line.startsWith("Apache Maven")) {
+                    toolchain.mavenVersion = line.replaceFirst("Apache Maven\\s+", "").replaceFirst("\\s*\\(.*$", "");
+                } else if (line.startsWith("Maven home:")) {
+                    toolchain.mavenHome = line.substring("Maven home:".length()).trim();
+                }
+            }
+        } else {
+            toolchain.mavenPath = mavenPath;
+            toolchain.mavenAvailable = false;
+        }
+        toolchain.mavenMtime = lastModified(resolvedBinary(toolchain.mavenPath));
+
+        // Browser and driver
+        for (String browser : BROWSER_BINARIES) {
+            Path binary = findOnPath(browser);
+            if (binary != null) {
+                toolchain.browserPath = binary.toString();
+                toolchain.browserVersion = firstLine(probe(binary.toString(), "--version"));
+                toolchain.browserMtime = lastModified(binary);
+                break;
+            }
+        }
+        for (String driver : DRIVER_BINARIES) {
+            Path binary = findOnPath(driver);
+            if (binary != null) {
+                toolchain.driverPath = binary.toString();
+                toolchain.driverVersion = firstLine(probe(binary.toString(), "--version"));
+                toolchain.driverMtime = lastModified(binary);
+                break;
+            }
+        }
+
+        logger.info("Toolchain detected in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), toolchain);
+        return toolchain;
+    }
+
+    /**
+     * Resolve the Maven executable, preferring a PATH lookup over spawning probe processes
+     */
+    private static String resolveMaven(String configuredMaven) {
+        if (configuredMaven != null && !configuredMaven.isEmpty()) {
+            return configuredMaven;
+        }
+
+        boolean windows = System.getProperty("os.name").toLowerCase().contains("windows");
+        Path onPath = findOnPath(windows ? "mvn.cmd" : "mvn");
+        if (onPath != null) {
+            return onPath.toString();
+        }
+
+        if (windows) {
+            for (String candidate : WINDOWS_MAVEN_PATHS) {
+                if (probe(candidate, "--version") != null) {
+                    return candidate;
+                }
+            }
+        }
+        return "mvn";
+    }
+
+    private static Path findOnPath(String executable) {
+        String path = System.getenv().getOrDefault("PATH", "");
+        for (String entry : path.split(File.pathSeparator)) {
+            if (entry.isEmpty()) continue;
+            try {
+                Path candidate = Paths.get(entry, executable);
+                if (Files.isRegularFile(candidate) && Files.isExecutable(candidate)) {
+                    return candidate;
+                }
+            } catch (RuntimeException e) {
+                // Malformed PATH entry
+            }
+        }
+        return null;
+    }
+
+    private static Path resolvedBinary(String command) {
+        Path path = Paths.get(command);
+        if (path.isAbsolute()) {
+            return path;
+        }
+        Path onPath = findOnPath(command);
+        return onPath != null ? onPath : path;
+    }
+
+    /**
+     * Run a command and return its output lines, or null if it failed or did not exit in time.
+     * Output goes to a temp file rather than a pipe, so a hanging probe cannot block a reader and
+     * the timeout always applies
+     */
+    private static List<String> probe(String command, String argument) {
+        Process process = null;
+        Path output = null;
+        try {
+            output = Files.createTempFile("toolchain-probe", ".out");
+            ProcessBuilder pb = new ProcessBuilder(command, argument);
+            pb.redirectErrorStream(true);
+            pb.redirectOutput(output.toFile());
+            process = pb.start();
+            // Nothing to send; closing stdin keeps interactive wrappers from blocking
+            process.getOutputStream().close();
+
+            if (!process.waitFor(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.debug("Probe '{} {}' timed out after {} s", command, argument, PROBE_TIMEOUT_SECONDS);
+                return null;
+            }
+            if (process.exitValue() != 0) {
+                return null;
+            }
+            List<String> lines = new ArrayList<>();
+            // Decoded leniently, as a reader on the pipe would; readAllLines fails on malformed bytes
+            for (String line : new String(Files.readAllBytes(output), StandardCharsets.UTF_8).split("\\R")) {
+                lines.add(line.trim());
+            }
+            return lines;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            if (output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException e) {
+                    logger.debug("Could not delete probe output {}", output);
+                }
+            }
+        }
+    }
+
+    private static String firstLine(List<String> lines) {
+        return lines == null || lines.isEmpty() ? "" : lines.get(0);
+    }
+
+    private static void save(Path cacheFile, String fingerprint, Toolchain toolchain) {
+        Properties properties = toolchain.toProperties();
+        properties.setProperty("fingerprint", fingerprint);
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+            try (OutputStream output = Files.newOutputStream(tempFile)) {
+                properties.store(output, "Detected toolchain - delete to force re-detection");
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Toolchain cache written to {}", cacheFile);
+        } catch (IOException e) {
+            logger.warn("Could not write toolchain cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Detected toolchain information
+     */
+    public static class Toolchain {
+        private String mavenPath = "mvn";
+        private String mavenVersion = "";
+        private String mavenHome = "";
+        private boolean mavenAvailable;
+        private long mavenMtime = -1;
+        private String javaHome = "";
+        private String javaVersion = "";
+        private String browserPath = "";
+        private String browserVersion = "";
+        private long browserMtime = -1;
+        private String driverPath = "";
+        private String driverVersion = "";
+        private long driverMtime = -1;
+
+        public String getMavenPath() { return mavenPath; }
+        public String getMavenVersion() { return mavenVersion; }
+        public String getMavenHome() { return mavenHome; }
+        public boolean isMavenAvailable() { return mavenAvailable; }
+        public String getJavaHome() { return javaHome; }
+        public String getJavaVersion() { return javaVersion; }
+        public String getBrowserPath() { return browserPath; }
+        public String getBrowserVersion() { return browserVersion; }
+        public String getDriverPath() { return driverPath; }
+        public String getDriverVersion() { return driverVersion; }
+
+        /**
+         * Detected binaries still have the modification time recorded at detection
+         */
+        boolean binariesUnchanged() {
+            return lastModified(resolvedBinary(mavenPath)) == mavenMtime
+                    && (browserPath.isEmpty() || lastModified(Paths.get(browserPath)) == browserMtime)
+                    && (driverPath.isEmpty() || lastModified(Paths.get(driverPath)) == driverMtime);
+        }
+
+        Properties toProperties() {
+            Properties properties = new Properties();
+            properties.setProperty("maven.path", mavenPath);
+            properties.setProperty("maven.version", mavenVersion);
+            properties.setProperty("maven.home", mavenHome);
+            properties.setProperty("maven.available", String.valueOf(mavenAvailable));
+            properties.setProperty("maven.mtime", String.valueOf(mavenMtime));
+            properties.setProperty("java.home", javaHome);
+            properties.setProperty("java.version", javaVersion);
+            properties.setProperty("browser.path", browserPath);
+            properties.setProperty("browser.version", browserVersion);
+            properties.setProperty("browser.mtime", String.valueOf(browserMtime));
+            properties.setProperty("driver.path", driverPath);
+            properties.setProperty("driver.version", driverVersion);
+            properties.setProperty("driver.mtime", String.valueOf(driverMtime));
+            return properties;
+        }
+
+        static Toolchain fromProperties(Properties properties) {
+            Toolchain toolchain = new Toolchain();
+            toolchain.mavenPath = properties.getProperty("maven.path", "mvn");
+            toolchain.mavenVersion = properties.getProperty("maven.version", "");
+            toolchain.mavenHome = properties.getProperty("maven.home", "");
+            toolchain.mavenAvailable = Boolean.parseBoolean(properties.getProperty("maven.available", "false"));
+            toolchain.mavenMtime = Long.parseLong(properties.getProperty("maven.mtime", "-1"));
+            toolchain.javaHome = properties.getProperty("java.home", "");
+            toolchain.javaVersion = properties.getProperty("java.version", "");
+            toolchain.browserPath = properties.getProperty("browser.path", "");
+            toolchain.browserVersion = properties.getProperty("browser.version", "");
+            toolchain.browserMtime = Long.parseLong(properties.getProperty("browser.mtime", "-1"));
+            toolchain.driverPath = properties.getProperty("driver.path", "");
+            toolchain.driverVersion = properties.getProperty("driver.version", "");
+            toolchain.driverMtime = Long.parseLong(properties.getProperty("driver.mtime", "-1"));
+            return toolchain;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Toolchain{maven='%s' %s, java='%s', browser='%s', driver='%s'}",
+                    mavenPath, mavenVersion, javaVersion, browserVersion, driverVersion);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package ai;
+
+import core.DriverManager;
+import io.cucumber.core.cli.Main;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Authoring loop in a warm JVM: watches features, page objects and step definitions, compiles
+ * only the changed classes and re-runs only the scenarios that use them, in-process and on the
+ * same browser session.
+ *
+ * Pages, steps and hooks are compiled to .genai/watch-classes and loaded by a fresh child-first
+ * class loader per run, so edits take effect without restarting; core classes (DriverManager,
+ * BasePage) stay in the parent loader and keep the open browser across runs.
+ *
+ * Usage: WatchMode (or FastLauncher --watch); stop with Ctrl+C
+ */
+public class WatchMode {
+    private static final Logger logger = LoggerFactory.getLogger(WatchMode.class);
+
+    private static final String FEATURES_DIR = "src/test/resources/features";
+    private static final String PAGES_DIR = "src/main/java/pages";
+    private static final String STEPS_DIR = "src/test/java/steps";
+    private static final String HOOKS_DIR = "src/main/java/hooks";
+    private static final String SOURCE_PATH = "src/main/java" + File.pathSeparator + "src/test/java";
+    private static final String OUTPUT_DIR = ".genai/watch-classes";
+    // Editors save in several events; wait until the directory is quiet
+    private static final long DEBOUNCE_MILLIS = 300;
+    private static final List<String> RELOADABLE_PACKAGES = List.of("pages.", "steps.", "hooks.");
+
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    private final StepIndex stepIndex = StepIndex.load(STEPS_DIR + "/");
+    private volatile WebDriver session;
+
+    public static void main(String[] args) {
+        try {
+            new WatchMode().watch();
+        } catch (Exception e) {
+            logger.error("Watch mode failed: {}", e.getMessage(), e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compile everything once, then block re-running affected scenarios on every change
+     */
+    public void watch() throws IOException, InterruptedException {
+        if (compiler == null) {
+            throw new IllegalStateException("Watch mode needs a JDK; no system Java compiler available");
+        }
+        DriverManager.setKeepSessionOpen(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeSession, "watch-mode-shutdown"));
+
+        compile(sourcesIn(PAGES_DIR, STEPS_DIR, HOOKS_DIR));
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            for (String dir : List.of(FEATURES_DIR, PAGES_DIR, STEPS_DIR)) {
+                registerAll(watchService, Paths.get(dir));
+            }
+            logger.info("Watching {}, {} and {} for changes (Ctrl+C to stop)", FEATURES_DIR, PAGES_DIR, STEPS_DIR);
+
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watchService, watchService.take(), changed);
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(watchService, next, changed);
+                }
+                onChange(changed);
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.info("Watch mode stopped");
+        }
+    }
+
+    private void onChange(Set<Path> changed) {
+        logger.info("Changed: {}", changed);
+        List<Path> sources = changed.stream()
+                .filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+                .collect(Collectors.toList());
+        if (!sources.isEmpty() && !compile(sources)) {
+            logger.warn("Compilation failed, not running scenarios until the next change");
+            return;
+        }
+
+        stepIndex.refresh();
+        List<String> scenarios = affectedScenarios(changed);
+        if (scenarios.isEmpty()) {
+            logger.info("No scenarios affected");
+            return;
+        }
+        runScenarios(scenarios);
+    }
+
+    /**
+     * feature:line locations to re-run: whole changed features, and scenarios using steps
+     * defined in a changed step class or in a step class that references a changed page
+     */
+    private List<String> affectedScenarios(Set<Path> changed) {
+        Set<String> locations = new LinkedHashSet<>();
+        Set<Path> stepFiles = new LinkedHashSet<>();
+
+        for (Path path : changed) {
+            if (!Files.isRegularFile(path)) {
+                continue;
+            }
+            String name = path.getFileName().toString();
+            if (name.endsWith(".feature")) {
+                locations.add(path.toString().replace('\\', '/'));
+            } else if (path.startsWith(Paths.get(STEPS_DIR)) && name.endsWith(".java")) {
+                stepFiles.add(path.normalize());
+            } else if (path.startsWith(Paths.get(PAGES_DIR)) && name.endsWith(".java")) {
+                stepFiles.addAll(stepFilesReferencing(name.substring(0, name.length() - ".java".length())));
+            }
+        }
+
+        List<StepIndex.StepDefinition> steps = stepIndex.getSteps().stream()
+                .filter(step -> stepFiles.contains(Paths.get(step.getFile()).normalize()))
+                .collect(Collectors.toList());
+        for (String location : stepIndex.findScenariosUsing(steps, FEATURES_DIR)) {
+            // A whole feature already selected covers its scenarios
+            if (!locations.contains(location.substring(0, location.lastIndexOf(':')))) {
+                locations.add(location);
+            }
+        }
+        return new ArrayList<>(locations);
+    }
+
+    private static List<Path> stepFilesReferencing(String pageClass) {
+        Pattern reference = Pattern.compile("\\b" + Pattern.quote(pageClass) + "\\b");
+        List<Path> referencing = new ArrayList<>();
+        for (Path stepFile : sourcesIn(STEPS_DIR)) {
+            try {
+                if (reference.matcher(Files.readString(stepFile, StandardCharsets.UTF_8)).find()) {
+                    referencing.add(stepFile.normalize());
+                }
+            } catch (IOException e) {
+                logger.debug("Could not read {}: {}", stepFile, e.getMessage());
+            }
+        }
+        return referencing;
+    }
+
+    /**
+     * Compile the given sources into the watch output directory; other sources they need are
+     * compiled from the source path only when newer than their class files
+     */
+    private boolean compile(List<Path> sources) {
+        if (sources.isEmpty()) {
+            return true;
+        }
+        long start = System.nanoTime();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            Files.createDirectories(Paths.get(OUTPUT_DIR));
+            List<String> options = List.of(
+                    "-d", OUTPUT_DIR,
+                    "-classpath", OUTPUT_DIR + File.pathSeparator + System.getProperty("java.class.path"),
+                    "-sourcepath", SOURCE_PATH,
+                    "-implicit:class",
+                    "-proc:none");
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(sources);
+            boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, units).call();
+
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                String source = diagnostic.getSource() == null ? "" : diagnostic.getSource().getName() + ":" + diagnostic.getLineNumber() + " ";
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    logger.error("{}{}", source, diagnostic.getMessage(null));
+                } else {
+                    logger.debug("{}{}", source, diagnostic.getMessage(null));
+                }
+            }
+            logger.info("Compiled {} source(s) in {} ms", sources.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return success;
+        } catch (IOException e) {
+            logger.error("Compilation failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Run scenarios in-process with freshly loaded glue; the browser opened by the hooks stays open
+     */
+    private void runScenarios(List<String> locations) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--glue", "steps", "--glue", "hooks",
+                "--plugin", "pretty", "--plugin", "summary",
+                "--monochrome"));
+        arguments.addAll(locations);
+        logger.info("Running {} location(s): {}", locations.size(), locations);
+
+        long start = System.nanoTime();
+        byte exitStatus;
+        try (ReloadingClassLoader loader = new ReloadingClassLoader(Paths.get(OUTPUT_DIR), getClass().getClassLoader())) {
+            exitStatus = Main.run(arguments.toArray(new String[0]), loader);
+        } catch (IOException e) {
+            logger.warn("Could not release class loader: {}", e.getMessage());
+            exitStatus = 1;
+        }
+        session = DriverManager.getDriver();
+        logger.info("Run {} in {} ms", exitStatus == 0 ? "passed" : "failed",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void closeSession() {
+        WebDriver driver = session;
+        if (driver != null) {
+            try {
+                driver.quit();
+            } catch (RuntimeException e) {
+                logger.debug("Browser already gone: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void registerAll(WatchService watchService, Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            Files.createDirectories(root);
+        }
+        try (Stream<Path> dirs = Files.walk(root)) {
+            for (Path dir : dirs.filter(Files::isDirectory).collect(Collectors.toList())) {
+                dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    private static void collect(WatchService watchService, WatchKey key, Set<Path> changed) throws IOException {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (Files.isDirectory(path)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    registerAll(watchService, path);
+                }
+            } else if (!path.getFileName().toString().endsWith("~")) {
+                changed.add(path);
+            }
+        }
+        key.reset();
+    }
+
+    private static List<Path> sourcesIn(String... dirs) {
+        List<Path> sources = new ArrayList<>();
+        for (String dir : dirs) {
+            if (!Files.isDirectory(Paths.get(dir))) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(Paths.get(dir))) {
+                files.filter(path -> path.toString().endsWith(".java")).forEach(sources::add);
+            } catch (IOException e) {
+                logger.warn("Could not list sources in {}: {}", dir, e.getMessage());
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Loads pages, steps and hooks from the watch output directory before asking the parent,
+     * so each run sees the latest compiled classes; everything else comes from the parent
+     */
+    static class ReloadingClassLoader extends URLClassLoader {
+
+        ReloadingClassLoader(Path classesDir, ClassLoader parent) throws MalformedURLException {
+            super(new URL[]{classesDir.toUri().toURL()}, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (RELOADABLE_PACKAGES.stream().noneMatch(name::startsWith)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    try {
+                        loaded = findClass(name);
+                    } catch (ClassNotFoundException e) {
+                        loaded = super.loadClass(name, false);
+                    }
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
+}
@@ -324,6 +324,19 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Check if an optional element (banner, error message) is present right now, without waiting
+     * or healing. An absence is not checked again until the page changes
+     * @param elementName Descriptive name of the element
+     * @param locators Array of locator strategies
+     * @return true if element is present, false otherwise
+     */
+    protected boolean isElementPresent(String elementName, String... locators) {
+        boolean present = SelfHealingLocator.isPresent(driver, elementName, locators);
+        logger.debug("Element '{}' present: {}", elementName, present);
+        return present;
+    }
+
     /**
      * Check if element is enabled
      * @param elementName Descriptive name of the element
@@ -765,17 +778,18 @@ public abstract class BasePage {
     }
 
     /**
-     * Wait for element to be present
+     * Wait for element to be present. Polls the no-wait presence check until the default timeout,
+     * so the implicit wait is not paid per locator and no healing runs while the page is loading
      * @param elementName Descriptive name of the element
      * @param locators Array of locator strategies
      * @return true if element becomes present, false otherwise
      */
     protected boolean waitForElementPresent(String elementName, String... locators) {
         try {
-            findElementWithHealing(elementName, locators);
+            webDriverWait.until(d -> SelfHealingLocator.isPresent(d, elementName, locators));
             logger.debug("Element '{}' is present", elementName);
             return true;
-        } catch (Exception e) {
+        } catch (TimeoutException e) {
             logger.debug("Element '{}' not present within timeout", elementName);
             return false;
         }
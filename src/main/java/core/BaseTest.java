@@ -2,6 +2,7 @@ package core;
 
 import core.DriverManager;
 import io.qameta.allure.Attachment;
+import locators.HealingBudget;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.slf4j.Logger;
@@ -20,13 +21,14 @@ public class BaseTest {
 
     @BeforeSuite
     public void suiteSetup() {
+        // Extent reports are initialized lazily by the first createTest call
         logger.info("Test suite execution started");
-        reporting.ExtentReportManager.initializeExtentReports();
     }
 
     @BeforeMethod
     public void setUp(Method method) {
-        String browserName = com.ai.automation.core.ConfigManager.getBrowser();
+        String browserName = ConfigManager.getBrowser();
+        HealingBudget.reset();
         DriverManager.setDriver(browserName);
         logger.info("Test method '{}' started with browser: {}", method.getName(), browserName);
     }
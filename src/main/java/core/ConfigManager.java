@@ -9,37 +9,54 @@ import java.util.Properties;
 
 public class ConfigManager {
     private static final String CONFIG_FILE = "src/main/resources/config.properties";
-    private static Properties properties = new Properties();
 
-    static {
-        try {
-            properties.load(new FileInputStream(CONFIG_FILE));
+    /**
+     * Configuration is read on first access instead of at class initialization,
+     * so startup paths that never touch it do not pay for the file read
+     */
+    private static final class Holder {
+        private static final Properties PROPERTIES = load();
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (FileInputStream input = new FileInputStream(CONFIG_FILE)) {
+            properties.load(input);
         } catch (IOException e) {
             throw new RuntimeException("Failed to load config file: " + CONFIG_FILE, e);
         }
+        return properties;
+    }
+
+    private static Properties properties() {
+        return Holder.PROPERTIES;
     }
 
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return properties().getProperty(key);
+    }
+
+    public static String getProperty(String key, String defaultValue) {
+        return properties().getProperty(key, defaultValue);
     }
 
     public static String getGroqApiKey() {
-        return EncryptionUtil.decryptKey(properties.getProperty("groq.api.key"));
+        return EncryptionUtil.decryptKey(properties().getProperty("groq.api.key"));
     }
 
     public static String getGroqApiUrl() {
-        return properties.getProperty("groq.api.url", "https://api.groq.com/openai/v1/chat/completions");
+        return properties().getProperty("groq.api.url", "https://api.groq.com/openai/v1/chat/completions");
     }
 
     public static String getBrowser() {
-        return properties.getProperty("browser", "chrome");
+        return properties().getProperty("browser", "chrome");
     }
 
     public static int getImplicitWait() {
-        return Integer.parseInt(properties.getProperty("implicit.wait", "10"));
+        return Integer.parseInt(properties().getProperty("implicit.wait", "10"));
     }
 
     public static int getExplicitWait() {
-        return Integer.parseInt(properties.getProperty("explicit.wait", "20"));
+        return Integer.parseInt(properties().getProperty("explicit.wait", "20"));
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package core;// 2. DriverManager.java
 
 
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
@@ -15,6 +16,7 @@ import java.time.Duration;
 public class DriverManager {
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
     private static ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static volatile boolean keepSessionOpen;
 
     public static WebDriver getDriver() {
         return driverThreadLocal.get();
@@ -25,7 +27,7 @@ public class DriverManager {
         driverThreadLocal.set(driver);
 
         driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(com.ai.automation.core.ConfigManager.getImplicitWait()));
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getImplicitWait()));
         driver.manage().deleteAllCookies();
 
         logger.info("Driver initialized for browser: {}", browserName);
@@ -55,6 +57,29 @@ public class DriverManager {
         }
     }
 
+    /**
+     * Keep the browser open across scenarios (watch mode) instead of quitting it after each one
+     */
+    public static void setKeepSessionOpen(boolean keep) {
+        keepSessionOpen = keep;
+    }
+
+    /**
+     * End of scenario: quit the driver, or only clear its cookies when the session is kept open
+     */
+    public static void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (keepSessionOpen && driver != null) {
+            try {
+                driver.manage().deleteAllCookies();
+                return;
+            } catch (WebDriverException e) {
+                logger.warn("Kept session is no longer usable, closing it: {}", e.getMessage());
+            }
+        }
+        quitDriver();
+    }
+
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
@@ -2,9 +2,12 @@ package hooks;
 
 
 import core.BaseTest;
+import core.ConfigManager;
+import core.DriverManager;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
+import locators.HealingBudget;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reporting.AllureReportManager;
@@ -17,6 +20,11 @@ public class TestHooks extends BaseTest {
     @Before
     public void beforeScenario(Scenario scenario) {
         logger.info("Starting scenario: {}", scenario.getName());
+        HealingBudget.reset();
+        // Generated steps take the session from DriverManager instead of creating their own
+        if (DriverManager.getDriver() == null) {
+            DriverManager.setDriver(ConfigManager.getBrowser());
+        }
         ExtentReportManager.createTest(scenario.getName(), "AI Generated Test Scenario");
         AllureReportManager.addStep("Scenario Started",
                 io.qameta.allure.model.Status.PASSED,
@@ -35,6 +43,7 @@ public class TestHooks extends BaseTest {
             ExtentReportManager.logPass("Scenario passed: " + scenario.getName());
         }
 
+        DriverManager.releaseDriver();
         logger.info("Completed scenario: {}", scenario.getName());
     }
 
@@ -0,0 +1,204 @@
+package keywords;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Element names to locator strings (the id=/css=/xpath= format of SelfHealingLocator), one
+ * properties file per page under src/test/resources/elements.
+ * Maps are generated from the By and @FindBy fields of page objects. Names are matched loosely:
+ * "the username field", "username" and "usernameField" all resolve to the same element.
+ */
+public class ElementMap {
+    private static final Logger logger = LoggerFactory.getLogger(ElementMap.class);
+
+    public static final String ELEMENTS_DIR = "src/test/resources/elements";
+    // Reserved key holding the page URL, used to navigate by page name
+    static final String URL_KEY = "_url";
+    // Fallback locators of one element, tried in order
+    private static final String SEPARATOR = " || ";
+    private static final Pattern ROLE_SUFFIX = Pattern.compile(
+            "(field|button|btn|input|textbox|box|link|dropdown|select|menu|checkbox|icon|label|page)$");
+
+    private static final Pattern BY_FIELD = Pattern.compile(
+            "\\bBy\\s+(\\w+)\\s*=\\s*By\\.(id|name|cssSelector|xpath|className|linkText|partialLinkText|tagName)"
+                    + "\\s*\\(\\s*\"((?:[^\"\\\\]|\\\\.)*)\"\\s*\\)");
+    private static final Pattern FIND_BY_FIELD = Pattern.compile(
+            "@FindBy\\s*\\(\\s*(id|name|css|xpath|className|linkText|partialLinkText|tagName)\\s*=\\s*\"((?:[^\"\\\\]|\\\\.)*)\"\\s*\\)"
+                    + "\\s*(?:(?:private|protected|public)\\s+)?WebElement\\s+(\\w+)");
+
+    // Normalized element name -> locators
+    private final Map<String, List<String>> locators = new HashMap<>();
+    // Normalized page name -> URL
+    private final Map<String, String> pageUrls = new HashMap<>();
+
+    /**
+     * Merge all element map files of a directory; elements with the same name on several pages
+     * keep all their locators as fallbacks
+     */
+    public static ElementMap load(Path dir) {
+        ElementMap map = new ElementMap();
+        if (!Files.isDirectory(dir)) {
+            logger.warn("No element maps found in {}", dir);
+            return map;
+        }
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(dir)) {
+            files = paths.filter(path -> path.toString().endsWith(".properties")).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list element maps in " + dir, e);
+        }
+
+        for (Path file : files) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read element map " + file, e);
+            }
+            String pageName = file.getFileName().toString().replace(".properties", "");
+            for (String name : properties.stringPropertyNames()) {
+                String value = properties.getProperty(name);
+                if (name.equals(URL_KEY)) {
+                    map.pageUrls.put(stripRole(normalize(pageName)), value);
+                } else {
+                    for (String locator : value.split(Pattern.quote(SEPARATOR))) {
+                        map.add(name, locator.trim());
+                    }
+                }
+            }
+        }
+        logger.info("Loaded {} element(s) and {} page URL(s) from {} map(s)", map.locators.size(), map.pageUrls.size(), files.size());
+        return map;
+    }
+
+    /**
+     * Element map content for a page object source, or null when the page has no locator fields
+     * @param url page URL, may be empty
+     */
+    public static String fromPageSource(String source, String url) {
+        Map<String, String> entries = new TreeMap<>();
+        Matcher byField = BY_FIELD.matcher(source);
+        while (byField.find()) {
+            entries.put(byField.group(1), toLocator(byField.group(2), unescape(byField.group(3))));
+        }
+        Matcher findBy = FIND_BY_FIELD.matcher(source);
+        while (findBy.find()) {
+            entries.put(findBy.group(3), toLocator(findBy.group(1), unescape(findBy.group(2))));
+        }
+        if (entries.isEmpty()) {
+            return null;
+        }
+
+        // Written by hand instead of Properties.store: no timestamp, so unchanged pages render identical maps
+        StringBuilder content = new StringBuilder("# Generated from page object fields\n");
+        if (url != null && !url.isBlank()) {
+            content.append(URL_KEY).append('=').append(escape(url)).append('\n');
+        }
+        entries.forEach((name, locator) -> content.append(name).append('=').append(escape(locator)).append('\n'));
+        return content.toString();
+    }
+
+    /**
+     * Locators for an element name as written in a step
+     * @throws IllegalArgumentException if no element matches
+     */
+    public String[] resolve(String elementName) {
+        String key = normalize(elementName);
+        List<String> found = locators.get(key);
+        if (found == null) {
+            found = locators.get(stripRole(key));
+        }
+        if (found == null) {
+            throw new IllegalArgumentException("No element '" + elementName + "' in the element maps under " + ELEMENTS_DIR);
+        }
+        return found.toArray(new String[0]);
+    }
+
+    /**
+     * URL of a page by name ("the OrangeHRM login page"), or null
+     */
+    public String pageUrl(String pageName) {
+        return pageUrls.get(stripRole(normalize(pageName)));
+    }
+
+    private void add(String name, String locator) {
+        if (locator.isEmpty()) {
+            return;
+        }
+        String key = normalize(name);
+        for (String alias : new String[]{key, stripRole(key)}) {
+            List<String> existing = locators.computeIfAbsent(alias, k -> new ArrayList<>());
+            if (!existing.contains(locator)) {
+                existing.add(locator);
+            }
+        }
+    }
+
+    static String normalize(String name) {
+        String lower = name.toLowerCase().trim();
+        if (lower.startsWith("the ")) {
+            lower = lower.substring(4);
+        }
+        return lower.replaceAll("[^a-z0-9]", "");
+    }
+
+    private static String stripRole(String key) {
+        String stripped = ROLE_SUFFIX.matcher(key).replaceFirst("");
+        return stripped.isEmpty() ? key : stripped;
+    }
+
+    private static String toLocator(String strategy, String value) {
+        switch (strategy) {
+            case "id":
+                return "id=" + value;
+            case "name":
+                return "name=" + value;
+            case "className":
+                return "class=" + value;
+            case "css":
+            case "cssSelector":
+                return "css=" + value;
+            case "linkText":
+                return "linkText=" + value;
+            case "partialLinkText":
+                return "partialLinkText=" + value;
+            case "tagName":
+                return "tagName=" + value;
+            default:
+                return "xpath=" + value;
+        }
+    }
+
+    private static String unescape(String literal) {
+        return literal.replace("\\\"", "\"").replace("\\\\", "\\");
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\");
+    }
+
+    /**
+     * Default element map location
+     */
+    public static Path defaultDirectory() {
+        return Paths.get(ELEMENTS_DIR);
+    }
+}
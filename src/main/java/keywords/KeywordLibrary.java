@@ -0,0 +1,221 @@
+package keywords;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generic step library executing Gherkin step text directly, without generated step classes.
+ *
+ * Step phrases are matched against patterns compiled once per JVM. Candidates are narrowed by the
+ * step's leading verb before any regex runs, and the result of matching a given step text is
+ * memoized, so a step repeated across scenarios and outline rows is parsed only once.
+ */
+public class KeywordLibrary {
+    private static final Logger logger = LoggerFactory.getLogger(KeywordLibrary.class);
+
+    private static final Pattern LEADING_FILLER = Pattern.compile("^(?:i|we|the user|user)\\s+(?:should\\s+)?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern URL = Pattern.compile("^(?:https?://|www\\.)\\S+$", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Supported keywords; patterns apply to the step text after a leading "I"/"the user"
+     */
+    public enum Keyword {
+        NAVIGATE(new String[]{"navigate", "go", "open", "am", "visit", "launch"},
+                "(?:navigate to|go to|open|am on|visit|launch)(?: the)? (?<target>.+?)",
+                "am at (?<target>.+?)"),
+        ENTER_TEXT(new String[]{"enter", "type", "fill", "input"},
+                "(?:enter|type|input) \"(?<text>.*)\" (?:into|in|as) (?:the )?(?<element>.+?)",
+                "fill in (?:the )?(?<element>.+?) with \"(?<text>.*)\"",
+                "(?:enter|type|input) (?:the |a |an )?(?<element>.+?) \"(?<text>.*)\""),
+        SELECT(new String[]{"select", "choose"},
+                "(?:select|choose) \"(?<text>.*)\" (?:from|in) (?:the )?(?<element>.+?)"),
+        CLICK(new String[]{"click", "tap", "press", "submit"},
+                "(?:click|tap|press|submit)(?: on)?(?: the)? (?<element>.+?)"),
+        VERIFY_PAGE_TEXT(new String[]{"see", "the"},
+                "see (?:the )?text \"(?<text>.*)\"",
+                "(?:the )?page (?:should )?(?:contain|contains|show|shows) \"(?<text>.*)\""),
+        VERIFY_URL(new String[]{"be", "the", "url"},
+                "be on (?:a |the )?(?:url|page) containing \"(?<text>.*)\"",
+                "(?:the )?(?:current )?url (?:should )?(?:contain|contains|be|is) \"(?<text>.*)\""),
+        VERIFY_TITLE(new String[]{"the", "title", "see"},
+                "(?:the )?(?:page )?title (?:should )?(?:contain|contains|be|is) \"(?<text>.*)\"",
+                "see (?:the )?title \"(?<text>.*)\""),
+        VERIFY_ELEMENT_TEXT(new String[]{"see", "the"},
+                "see \"(?<text>.*)\" in (?:the )?(?<element>.+?)",
+                "(?:the )?(?<element>.+?) (?:should )?(?:contain|contains|show|shows|display|displays) \"(?<text>.*)\""),
+        VERIFY_VISIBLE(new String[]{"see", "the"},
+                "see (?:the )?(?<element>.+?)",
+                "(?:the )?(?<element>.+?) (?:should be|is) (?:visible|displayed)");
+
+        private final String[] verbs;
+        private final Pattern[] patterns;
+
+        Keyword(String[] verbs, String... patterns) {
+            this.verbs = verbs;
+            this.patterns = new Pattern[patterns.length];
+            for (int i = 0; i < patterns.length; i++) {
+                // Values may be single or double quoted, as with Cucumber's {string}
+                String regex = patterns[i].replace("\"", "[\"']");
+                this.patterns[i] = Pattern.compile("^" + regex + "$", Pattern.CASE_INSENSITIVE);
+            }
+        }
+    }
+
+    // Leading verb -> keywords worth trying, in declaration order (more specific phrasing first)
+    private static final Map<String, List<Keyword>> BY_VERB = new HashMap<>();
+    static {
+        for (Keyword keyword : Keyword.values()) {
+            for (String verb : keyword.verbs) {
+                BY_VERB.computeIfAbsent(verb, v -> new ArrayList<>()).add(keyword);
+            }
+        }
+    }
+
+    // Step text -> match; steps repeat across scenarios and runs in the same JVM
+    private static final Map<String, StepMatch> MATCHES = new ConcurrentHashMap<>();
+    private static final StepMatch NO_MATCH = new StepMatch(null, Map.of());
+
+    private final ElementMap elements;
+
+    public KeywordLibrary(ElementMap elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Match a step text against the keywords
+     * @return the match, or null if no keyword applies
+     */
+    public static StepMatch match(String stepText) {
+        StepMatch match = MATCHES.computeIfAbsent(stepText.trim(), KeywordLibrary::matchUncached);
+        return match == NO_MATCH ? null : match;
+    }
+
+    /**
+     * Execute a step on the given page
+     * @throws IllegalArgumentException if no keyword matches the step
+     */
+    public void execute(String stepText, KeywordPage page) {
+        StepMatch match = match(stepText);
+        if (match == null) {
+            throw new IllegalArgumentException("No keyword matches step \"" + stepText + "\"; supported keywords: "
+                    + Arrays.toString(Keyword.values()));
+        }
+        logger.debug("Step \"{}\" -> {} {}", stepText, match.getKeyword(), match.getArguments());
+
+        String element = match.get("element");
+        String text = match.get("text");
+        switch (match.getKeyword()) {
+            case NAVIGATE:
+                page.navigate(resolveUrl(match.get("target")));
+                break;
+            case ENTER_TEXT:
+                page.enter(text, element, elements.resolve(element));
+                break;
+            case SELECT:
+                page.select(text, element, elements.resolve(element));
+                break;
+            case CLICK:
+                page.click(element, elements.resolve(element));
+                break;
+            case VERIFY_ELEMENT_TEXT:
+                String actual = page.textOf(element, elements.resolve(element));
+                Assert.assertTrue(actual.contains(text), "Expected " + element + " to contain \"" + text + "\" but was \"" + actual + "\"");
+                break;
+            case VERIFY_VISIBLE:
+                Assert.assertTrue(page.isDisplayed(element, elements.resolve(element)), "Expected " + element + " to be displayed");
+                break;
+            case VERIFY_PAGE_TEXT:
+                Assert.assertTrue(page.pageContains(text), "Expected the page to contain \"" + text + "\"");
+                break;
+            case VERIFY_URL:
+                String url = page.currentUrl();
+                Assert.assertTrue(url.contains(text), "Expected the URL to contain \"" + text + "\" but was " + url);
+                break;
+            case VERIFY_TITLE:
+                String title = page.title();
+                Assert.assertTrue(title.contains(text), "Expected the title to contain \"" + text + "\" but was \"" + title + "\"");
+                break;
+        }
+    }
+
+    private String resolveUrl(String target) {
+        String unquoted = unquote(target);
+        if (URL.matcher(unquoted).matches()) {
+            return unquoted;
+        }
+        String url = elements.pageUrl(unquoted);
+        if (url == null) {
+            throw new IllegalArgumentException("No URL known for page '" + unquoted + "'; use a URL or add "
+                    + ElementMap.URL_KEY + " to its element map");
+        }
+        return url;
+    }
+
+    private static StepMatch matchUncached(String stepText) {
+        String phrase = LEADING_FILLER.matcher(stepText).replaceFirst("");
+        String verb = phrase.split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+
+        List<Keyword> candidates = BY_VERB.getOrDefault(verb, List.of());
+        StepMatch match = tryKeywords(candidates, phrase);
+        if (match == null) {
+            // Uncommon phrasing: fall back to every keyword
+            match = tryKeywords(List.of(Keyword.values()), phrase);
+        }
+        return match == null ? NO_MATCH : match;
+    }
+
+    private static StepMatch tryKeywords(List<Keyword> keywords, String phrase) {
+        for (Keyword keyword : keywords) {
+            for (Pattern pattern : keyword.patterns) {
+                Matcher matcher = pattern.matcher(phrase);
+                if (matcher.matches()) {
+                    Map<String, String> arguments = new HashMap<>();
+                    for (String group : new String[]{"element", "text", "target"}) {
+                        if (pattern.pattern().contains("<" + group + ">")) {
+                            arguments.put(group, unquote(matcher.group(group)));
+                        }
+                    }
+                    return new StepMatch(keyword, arguments);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && (trimmed.startsWith("\"") && trimmed.endsWith("\"")
+                || trimmed.startsWith("'") && trimmed.endsWith("'"))) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Keyword chosen for a step with its extracted arguments
+     */
+    public static class StepMatch {
+        private final Keyword keyword;
+        private final Map<String, String> arguments;
+
+        StepMatch(Keyword keyword, Map<String, String> arguments) {
+            this.keyword = keyword;
+            this.arguments = arguments;
+        }
+
+        public Keyword getKeyword() { return keyword; }
+        public Map<String, String> getArguments() { return arguments; }
+        public String get(String name) { return arguments.get(name); }
+    }
+}
@@ -0,0 +1,50 @@
+package keywords;
+
+import core.BasePage;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Generic page exposing the BasePage actions the keyword library executes
+ */
+public class KeywordPage extends BasePage {
+
+    public KeywordPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public void navigate(String url) {
+        navigateToUrl(url);
+    }
+
+    public void enter(String text, String elementName, String... locators) {
+        enterText(text, elementName, locators);
+    }
+
+    public void click(String elementName, String... locators) {
+        clickElement(elementName, locators);
+    }
+
+    public void select(String optionText, String elementName, String... locators) {
+        selectDropdownByText(optionText, elementName, locators);
+    }
+
+    public String textOf(String elementName, String... locators) {
+        return getElementText(elementName, locators);
+    }
+
+    public boolean isDisplayed(String elementName, String... locators) {
+        return isElementDisplayed(elementName, locators);
+    }
+
+    public boolean pageContains(String text) {
+        return verifyPageContains(text);
+    }
+
+    public String currentUrl() {
+        return getCurrentUrl();
+    }
+
+    public String title() {
+        return getPageTitle();
+    }
+}
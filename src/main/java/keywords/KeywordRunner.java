@@ -0,0 +1,44 @@
+package keywords;
+
+import io.cucumber.core.cli.Main;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs keyword features in-process through Cucumber, with the keyword library as glue.
+ * Nothing is generated or compiled: features and element maps are read as they are on disk.
+ *
+ * Usage: KeywordRunner [feature paths...] (default: src/test/resources/keyword-features)
+ */
+public class KeywordRunner {
+    private static final Logger logger = LoggerFactory.getLogger(KeywordRunner.class);
+
+    public static final String FEATURES_DIR = "src/test/resources/keyword-features";
+    private static final String REPORT_PREFIX = "target/cucumber-reports/KeywordRunner";
+
+    public static void main(String[] args) {
+        List<String> features = args.length > 0 ? Arrays.asList(args) : List.of(FEATURES_DIR);
+        System.exit(run(features));
+    }
+
+    /**
+     * Run the given feature files or directories
+     * @return Cucumber exit status, 0 when all scenarios passed
+     */
+    public static byte run(List<String> features) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--glue", "keywords", "--glue", "hooks",
+                "--plugin", "pretty", "--plugin", "summary",
+                "--plugin", "json:" + REPORT_PREFIX + ".json",
+                "--plugin", "html:" + REPORT_PREFIX + ".html",
+                "--monochrome"));
+        arguments.addAll(features);
+
+        logger.info("Running keyword features: {}", features);
+        return Main.run(arguments.toArray(new String[0]), KeywordRunner.class.getClassLoader());
+    }
+}
@@ -0,0 +1,28 @@
+package keywords;
+
+import core.DriverManager;
+import io.cucumber.java.en.Given;
+
+/**
+ * Single catch-all step definition handing every step to the keyword library.
+ * Only used as glue for keyword features (see KeywordRunner); combined with generated step
+ * classes every step would be ambiguous.
+ */
+public class KeywordSteps {
+
+    // Element maps are read once per JVM
+    private static final class Holder {
+        private static final KeywordLibrary LIBRARY = new KeywordLibrary(ElementMap.load(ElementMap.defaultDirectory()));
+    }
+
+    private KeywordPage page;
+
+    @Given("^(.+)$")
+    public void step(String stepText) {
+        if (page == null) {
+            // Cucumber creates a new glue instance per scenario; the hooks have started the driver by now
+            page = new KeywordPage(DriverManager.getDriver());
+        }
+        Holder.LIBRARY.execute(stepText, page);
+    }
+}
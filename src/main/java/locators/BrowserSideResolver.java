@@ -0,0 +1,160 @@
+package locators;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates all candidate locators of an element inside the page with one executeScript call.
+ * Candidates are tried in order and the first visible match wins, so a lookup whose primary
+ * locator is broken costs one round trip instead of one (or two, with isDisplayed) per candidate.
+ */
+public final class BrowserSideResolver {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserSideResolver.class);
+
+    // arguments[0]: [[using, value], ...] in W3C locator terms; arguments[1]: require visibility;
+    // arguments[2]: optional container to search in. The winner's fingerprint comes back with it,
+    // so recording it costs no extra round trip
+    private static final String SCRIPT = ElementFingerprint.DESCRIBE_FUNCTION + """
+            var candidates = arguments[0], requireVisible = arguments[1], root = arguments[2] || document;
+            function visible(e) {
+              var style = window.getComputedStyle(e);
+              if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) {
+                return false;
+              }
+              return e.getClientRects().length > 0;
+            }
+            function find(using, value) {
+              switch (using) {
+                case 'css selector':
+                  return Array.prototype.slice.call(root.querySelectorAll(value));
+                case 'xpath':
+                  var snapshot = document.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                  var nodes = [];
+                  for (var i = 0; i < snapshot.snapshotLength; i++) {
+                    if (snapshot.snapshotItem(i).nodeType === 1) nodes.push(snapshot.snapshotItem(i));
+                  }
+                  return nodes;
+                case 'tag name':
+                  return Array.prototype.slice.call(root.getElementsByTagName(value));
+                case 'link text':
+                case 'partial link text':
+                  return Array.prototype.filter.call(root.getElementsByTagName('a'), function (a) {
+                    var text = (a.innerText || a.textContent || '').trim();
+                    return using === 'link text' ? text === value : text.indexOf(value) >= 0;
+                  });
+              }
+              return [];
+            }
+            for (var c = 0; c < candidates.length; c++) {
+              var found;
+              try {
+                found = find(candidates[c][0], candidates[c][1]);
+              } catch (e) {
+                continue;
+              }
+              for (var j = 0; j < found.length; j++) {
+                if (!requireVisible || visible(found[j])) return [found[j], c, describe(found[j])];
+              }
+            }
+            return null;
+            """;
+
+    private BrowserSideResolver() {
+    }
+
+    /**
+     * First candidate with a matching element, in candidate order
+     * @return the match, or null when nothing matched or the candidates cannot be evaluated in the page
+     */
+    public static Resolution resolve(WebDriver driver, List<By> candidates, boolean requireVisible) {
+        return resolve(driver, null, candidates, requireVisible);
+    }
+
+    /**
+     * First candidate with a matching element below the container, in candidate order. XPaths are
+     * made relative to the container, which WebElement.findElement leaves to the caller
+     * @param root container to search in, or null for the whole page
+     */
+    public static Resolution resolve(WebDriver driver, WebElement root, List<By> candidates, boolean requireVisible) {
+        if (!canResolve(driver, candidates)) {
+            logger.debug("Cannot resolve {} in the page, skipping browser-side resolution", candidates);
+            return null;
+        }
+        List<List<String>> encoded = new ArrayList<>();
+        for (By by : candidates) {
+            By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+            String value = String.valueOf(parameters.value());
+            if (root != null && "xpath".equals(parameters.using())) {
+                value = LocatorOptimizer.scopeXPath(value);
+            }
+            encoded.add(List.of(parameters.using(), value));
+        }
+
+        Object result;
+        try {
+            JavascriptExecutor executor = (JavascriptExecutor) driver;
+            result = root == null
+                    ? executor.executeScript(SCRIPT, encoded, requireVisible)
+                    : executor.executeScript(SCRIPT, encoded, requireVisible, root);
+        } catch (WebDriverException e) {
+            logger.debug("Browser-side resolution failed: {}", e.getMessage());
+            return null;
+        }
+        if (!(result instanceof List) || ((List<?>) result).size() < 2) {
+            return null;
+        }
+        List<?> match = (List<?>) result;
+        ElementFingerprint fingerprint = match.size() > 2 && match.get(2) instanceof Map
+                ? ElementFingerprint.fromMap((Map<?, ?>) match.get(2)) : null;
+        return new Resolution((WebElement) match.get(0), ((Number) match.get(1)).intValue(), fingerprint);
+    }
+
+    /**
+     * Whether the candidates can be evaluated in the page: chained or custom By types can only be
+     * evaluated by Selenium itself
+     */
+    public static boolean canResolve(WebDriver driver, List<By> candidates) {
+        if (!(driver instanceof JavascriptExecutor) || candidates.isEmpty()) {
+            return false;
+        }
+        for (By by : candidates) {
+            if (!(by instanceof By.Remotable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matched element and the index of the candidate that found it
+     */
+    public static class Resolution {
+        private final WebElement element;
+        private final int index;
+        private final ElementFingerprint fingerprint;
+
+        Resolution(WebElement element, int index) {
+            this(element, index, null);
+        }
+
+        Resolution(WebElement element, int index, ElementFingerprint fingerprint) {
+            this.element = element;
+            this.index = index;
+            this.fingerprint = fingerprint;
+        }
+
+        public WebElement getElement() { return element; }
+        public int getIndex() { return index; }
+        // Null when the lookup did not describe the element
+        public ElementFingerprint getFingerprint() { return fingerprint; }
+    }
+}
@@ -0,0 +1,164 @@
+package locators;
+
+import org.openqa.selenium.By;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A locator parsed once: its kind, raw value and Selenium By.
+ * Instances are interned, so the "id=..."/"css=..." strings of page objects and LocatorStrategy
+ * values resolve to the same shared object instead of being re-parsed and re-allocated on every
+ * lookup. Values embedded into generated selectors are escaped with cssString and xpathLiteral.
+ * XPaths CSS can express exactly compile to a CSS By (see LocatorOptimizer); toString keeps the
+ * locator as written.
+ */
+public final class CompiledLocator {
+
+    public enum Kind {
+        ID("id"),
+        NAME("name"),
+        CLASS_NAME("class"),
+        CSS("css"),
+        XPATH("xpath"),
+        LINK_TEXT("linkText"),
+        PARTIAL_LINK_TEXT("partialLinkText"),
+        TAG_NAME("tagName");
+
+        private final String prefix;
+
+        Kind(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public String getPrefix() { return prefix; }
+    }
+
+    // Interning stops here; locators are written in code, so this is only reached by generated values
+    private static final int MAX_INTERNED = 10_000;
+    private static final Map<String, CompiledLocator> INTERNED = new ConcurrentHashMap<>();
+
+    private final Kind kind;
+    private final String value;
+    private final By by;
+
+    private CompiledLocator(Kind kind, String value) {
+        this.kind = kind;
+        this.value = value;
+        this.by = toBy(kind, value);
+    }
+
+    /**
+     * Locator from the self-healing string format; strings without a known prefix are XPaths
+     */
+    public static CompiledLocator parse(String locator) {
+        CompiledLocator compiled = INTERNED.get(locator);
+        if (compiled != null) {
+            return compiled;
+        }
+        for (Kind kind : Kind.values()) {
+            if (locator.startsWith(kind.prefix + "=")) {
+                return of(kind, locator.substring(kind.prefix.length() + 1));
+            }
+        }
+        return of(Kind.XPATH, locator);
+    }
+
+    public static CompiledLocator of(Kind kind, String value) {
+        Objects.requireNonNull(value, "Locator value must not be null");
+        String key = kind.prefix + "=" + value;
+        CompiledLocator compiled = INTERNED.get(key);
+        if (compiled != null) {
+            return compiled;
+        }
+        compiled = new CompiledLocator(kind, value);
+        if (INTERNED.size() < MAX_INTERNED) {
+            CompiledLocator raced = INTERNED.putIfAbsent(key, compiled);
+            return raced != null ? raced : compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * CSS locator matching an attribute value exactly, e.g. [data-testid="login"]
+     * @param tag element tag, or null for any
+     */
+    public static CompiledLocator cssAttribute(String tag, String attribute, String value) {
+        return of(Kind.CSS, (tag == null ? "" : tag) + "[" + attribute + "=" + cssString(value) + "]");
+    }
+
+    /**
+     * CSS string literal, quoted and escaped
+     */
+    public static String cssString(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c == '\n' || c == '\r' || c == '\f') {
+                // Newlines cannot appear in CSS strings, only as hex escapes
+                literal.append("\\").append(Integer.toHexString(c)).append(' ');
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * XPath string literal; XPath 1.0 has no escapes, so values with both quote kinds use concat()
+     */
+    public static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        StringBuilder concat = new StringBuilder("concat(");
+        String[] parts = value.split("'", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                concat.append(", \"'\", ");
+            }
+            concat.append('\'').append(parts[i]).append('\'');
+        }
+        return concat.append(')').toString();
+    }
+
+    private static By toBy(Kind kind, String value) {
+        switch (kind) {
+            case ID:
+                return By.id(value);
+            case NAME:
+                return By.name(value);
+            case CLASS_NAME:
+                return By.className(value);
+            case CSS:
+                return By.cssSelector(value);
+            case LINK_TEXT:
+                return By.linkText(value);
+            case PARTIAL_LINK_TEXT:
+                return By.partialLinkText(value);
+            case TAG_NAME:
+                return By.tagName(value);
+            default:
+                String css = LocatorOptimizer.toCss(value);
+                return css != null ? By.cssSelector(css) : By.xpath(value);
+        }
+    }
+
+    public Kind getKind() { return kind; }
+    public String getValue() { return value; }
+    public By getBy() { return by; }
+
+    /**
+     * The self-healing string format, which parse reads back
+     */
+    @Override
+    public String toString() {
+        return kind.prefix + "=" + value;
+    }
+}
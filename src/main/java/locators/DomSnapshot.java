@@ -0,0 +1,136 @@
+package locators;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fingerprints of the visible, potentially interactive elements of a page, captured with one
+ * script call together with the elements themselves, so candidates are scored in Java and the
+ * winner needs no further lookup
+ */
+public final class DomSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(DomSnapshot.class);
+
+    private static final String CANDIDATES = "input, button, select, textarea, a, label, [role], [onclick], "
+            + "[tabindex], [id], [name], [data-testid], [aria-label], [placeholder], [title]";
+    // Caps the response size on very large pages
+    private static final int MAX_ELEMENTS = 2000;
+    // Below this a candidate is too unlike the target to be the same element
+    public static final double MIN_SIMILARITY = 0.5;
+    // Candidates this close to the best make the match ambiguous
+    private static final double AMBIGUITY_MARGIN = 0.02;
+
+    private static final String SCRIPT = ElementFingerprint.DESCRIBE_FUNCTION + """
+            var nodes = document.querySelectorAll(arguments[0]);
+            var result = [];
+            for (var i = 0; i < nodes.length && result.length < arguments[1]; i++) {
+              var description = describe(nodes[i]);
+              if (!description.visible) continue;
+              description.element = nodes[i];
+              result.push(description);
+            }
+            return result;
+            """;
+
+    private final List<ElementFingerprint> fingerprints;
+    private final List<WebElement> elements;
+
+    private DomSnapshot(List<ElementFingerprint> fingerprints, List<WebElement> elements) {
+        this.fingerprints = fingerprints;
+        this.elements = elements;
+    }
+
+    /**
+     * Snapshot of the current page, or null when the driver cannot run scripts
+     */
+    public static DomSnapshot capture(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeScript(SCRIPT, CANDIDATES, MAX_ELEMENTS);
+        } catch (WebDriverException e) {
+            logger.debug("DOM snapshot failed: {}", e.getMessage());
+            return null;
+        }
+        if (!(result instanceof List)) {
+            return null;
+        }
+        List<ElementFingerprint> fingerprints = new ArrayList<>();
+        List<WebElement> elements = new ArrayList<>();
+        for (Object item : (List<?>) result) {
+            if (item instanceof Map && ((Map<?, ?>) item).get("element") instanceof WebElement) {
+                Map<?, ?> description = (Map<?, ?>) item;
+                fingerprints.add(ElementFingerprint.fromMap(description));
+                elements.add((WebElement) description.get("element"));
+            }
+        }
+        logger.debug("DOM snapshot captured {} candidate element(s)", elements.size());
+        return new DomSnapshot(fingerprints, elements);
+    }
+
+    /**
+     * Candidate most similar to the target
+     * @return the match, or null when no candidate reaches minSimilarity or the best is ambiguous
+     */
+    public Match bestMatch(ElementFingerprint target, double minSimilarity) {
+        int best = -1;
+        double bestScore = 0;
+        double runnerUp = 0;
+        for (int i = 0; i < fingerprints.size(); i++) {
+            double score = target.similarity(fingerprints.get(i));
+            if (score > bestScore) {
+                runnerUp = bestScore;
+                bestScore = score;
+                best = i;
+            } else if (score > runnerUp) {
+                runnerUp = score;
+            }
+        }
+        if (best < 0 || bestScore < minSimilarity) {
+            logger.debug("No candidate similar enough to {} (best {})", target, bestScore);
+            return null;
+        }
+        if (bestScore - runnerUp < AMBIGUITY_MARGIN) {
+            logger.debug("Ambiguous match for {}: best {} vs {}", target, bestScore, runnerUp);
+            return null;
+        }
+        ElementFingerprint fingerprint = fingerprints.get(best);
+        return new Match(elements.get(best), fingerprint, bestScore, fingerprint.toLocator(fingerprints));
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * Best candidate with its score and a locator that finds it again
+     */
+    public static class Match {
+        private final WebElement element;
+        private final ElementFingerprint fingerprint;
+        private final double score;
+        private final String locator;
+
+        Match(WebElement element, ElementFingerprint fingerprint, double score, String locator) {
+            this.element = element;
+            this.fingerprint = fingerprint;
+            this.score = score;
+            this.locator = locator;
+        }
+
+        public WebElement getElement() { return element; }
+        public ElementFingerprint getFingerprint() { return fingerprint; }
+        public double getScore() { return score; }
+        public String getLocator() { return locator; }
+    }
+}
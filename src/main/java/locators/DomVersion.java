@@ -0,0 +1,45 @@
+package locators;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Identifies the current state of the DOM: equal versions mean nothing was added, removed or
+ * changed in between. The first call on a document installs a MutationObserver counting mutation
+ * batches; a navigation replaces the window and with it the observer and the document's random id.
+ */
+public final class DomVersion {
+    private static final Logger logger = LoggerFactory.getLogger(DomVersion.class);
+
+    private static final String SCRIPT = """
+            var state = window.__genaiDomVersion;
+            if (!state) {
+              state = window.__genaiDomVersion = { id: Math.random().toString(36).slice(2), version: 0 };
+              new MutationObserver(function () { state.version++; }).observe(document,
+                  { subtree: true, childList: true, attributes: true, characterData: true });
+            }
+            return state.id + ':' + state.version;
+            """;
+
+    private DomVersion() {
+    }
+
+    /**
+     * Version of the current document, or null when it cannot be read
+     */
+    public static String current(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        try {
+            Object version = ((JavascriptExecutor) driver).executeScript(SCRIPT);
+            return version == null ? null : version.toString();
+        } catch (WebDriverException e) {
+            logger.debug("DOM version unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+}
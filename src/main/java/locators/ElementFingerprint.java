@@ -0,0 +1,425 @@
+package locators;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * What identifies an element apart from its locator: tag, id, name, classes, text, aria and form
+ * attributes, DOM path and position.
+ * Used to find an element again after its locator broke, by scoring the elements of the current
+ * DOM against the fingerprint it had before (or one derived from its name and broken locators).
+ */
+public class ElementFingerprint {
+
+    /**
+     * In-page function describe(element) returning the fingerprint attributes, shared by the scripts
+     * that send fingerprints back with their results
+     */
+    static final String DESCRIBE_FUNCTION = """
+            function describe(e) {
+              var style = window.getComputedStyle(e);
+              var rect = e.getBoundingClientRect();
+              var path = [];
+              for (var n = e; n && n.nodeType === 1 && path.length < 12; n = n.parentElement) {
+                var tag = n.tagName.toLowerCase();
+                if (n.id && n !== e) {
+                  path.unshift(tag + '#' + CSS.escape(n.id));
+                  break;
+                }
+                var index = 1;
+                for (var s = n.previousElementSibling; s; s = s.previousElementSibling) {
+                  if (s.tagName === n.tagName) index++;
+                }
+                path.unshift(tag + ':nth-of-type(' + index + ')');
+              }
+              var text = (e.innerText || e.textContent || '').trim();
+              return {
+                tag: e.tagName.toLowerCase(),
+                id: e.id || '',
+                name: e.getAttribute('name') || '',
+                classes: typeof e.className === 'string' ? e.className : '',
+                text: text.length > 80 ? text.substring(0, 80) : text,
+                ariaLabel: e.getAttribute('aria-label') || '',
+                placeholder: e.getAttribute('placeholder') || '',
+                title: e.getAttribute('title') || '',
+                type: e.getAttribute('type') || '',
+                testId: e.getAttribute('data-testid') || '',
+                path: path.join(' > '),
+                x: rect.left + window.scrollX,
+                y: rect.top + window.scrollY,
+                width: rect.width,
+                height: rect.height,
+                visible: style.display !== 'none' && style.visibility !== 'hidden'
+                    && parseFloat(style.opacity) !== 0 && e.getClientRects().length > 0
+              };
+            }
+            """;
+
+    private static final String DESCRIBE_ELEMENT = DESCRIBE_FUNCTION + "return describe(arguments[0]);";
+
+    private static final Pattern STRATEGY_PREFIX = Pattern.compile("^(id|name|class|css|xpath|linkText|partialLinkText|tagName)=");
+    // Words of element names that describe the kind of element rather than which one
+    private static final Set<String> ROLE_WORDS = Set.of("the", "field", "button", "btn", "input", "textbox", "box",
+            "link", "dropdown", "select", "menu", "checkbox", "icon", "label", "element");
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+|(?<=\\p{Ll})(?=\\p{Lu})");
+    // [attr='v'] in CSS and @attr='v' in XPath
+    private static final Pattern ATTRIBUTE = Pattern.compile("@?([\\w-]+)\\s*[~*^$|]?=\\s*['\"]([^'\"]*)['\"]");
+    private static final Pattern XPATH_TEXT = Pattern.compile("text\\(\\)\\s*[=,]\\s*['\"]([^'\"]*)['\"]");
+    private static final Pattern LEADING_TAG = Pattern.compile("^(?:/+|\\(/+)?([a-zA-Z][\\w-]*)");
+    private static final Pattern CSS_ID = Pattern.compile("#([\\w-]+)");
+    private static final Pattern CSS_CLASS = Pattern.compile("\\.([\\w-]+)");
+
+    // Weight of each attribute in the similarity score
+    private static final double ID = 0.25;
+    private static final double TEST_ID = 0.25;
+    private static final double NAME = 0.15;
+    private static final double TEXT = 0.15;
+    private static final double ARIA_LABEL = 0.1;
+    private static final double PLACEHOLDER = 0.08;
+    private static final double CLASSES = 0.08;
+    private static final double TITLE = 0.05;
+    private static final double TAG = 0.05;
+    private static final double PATH = 0.05;
+    private static final double POSITION = 0.05;
+    private static final double TYPE = 0.04;
+    private static final double KEYWORDS = 0.3;
+
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private double x = Double.NaN;
+    private double y = Double.NaN;
+    private double width = Double.NaN;
+    private double height = Double.NaN;
+    // Words the element is known by (its step or field name) when no real fingerprint exists yet
+    private final Set<String> keywords = new HashSet<>();
+
+    private ElementFingerprint() {
+    }
+
+    /**
+     * Fingerprint from the map returned by describe() in the page
+     */
+    public static ElementFingerprint fromMap(Map<?, ?> values) {
+        ElementFingerprint fingerprint = new ElementFingerprint();
+        for (String key : new String[]{"tag", "id", "name", "classes", "text", "ariaLabel", "placeholder", "title", "type", "testId", "path"}) {
+            Object value = values.get(key);
+            if (value != null && !value.toString().isBlank()) {
+                fingerprint.attributes.put(key, value.toString().trim());
+            }
+        }
+        fingerprint.x = number(values.get("x"));
+        fingerprint.y = number(values.get("y"));
+        fingerprint.width = number(values.get("width"));
+        fingerprint.height = number(values.get("height"));
+        return fingerprint;
+    }
+
+    /**
+     * Fingerprint of an element of the current page, or null when the driver cannot describe it
+     */
+    public static ElementFingerprint of(WebDriver driver, WebElement element) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        try {
+            Object description = ((JavascriptExecutor) driver).executeScript(DESCRIBE_ELEMENT, element);
+            return description instanceof Map ? fromMap((Map<?, ?>) description) : null;
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Attributes for persisting; fromMap reads them back
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> values = new LinkedHashMap<>(attributes);
+        if (!Double.isNaN(width)) {
+            values.put("x", x);
+            values.put("y", y);
+            values.put("width", width);
+            values.put("height", height);
+        }
+        return values;
+    }
+
+    /**
+     * Best guess of a fingerprint for an element never seen: its name as keywords plus whatever
+     * its (broken) locators say about id, name, classes, attributes, text and tag
+     */
+    public static ElementFingerprint hint(String elementName, String... locators) {
+        ElementFingerprint fingerprint = new ElementFingerprint();
+        fingerprint.keywords.addAll(tokens(elementName));
+        fingerprint.keywords.removeAll(ROLE_WORDS);
+        for (String locator : locators) {
+            // Unprefixed locators are XPaths, as in SelfHealingLocator
+            Matcher prefix = STRATEGY_PREFIX.matcher(locator);
+            boolean prefixed = prefix.find();
+            String strategy = prefixed ? prefix.group(1) : "xpath";
+            String value = prefixed ? locator.substring(prefix.end()) : locator;
+            switch (strategy) {
+                case "id":
+                    fingerprint.attributes.putIfAbsent("id", value);
+                    break;
+                case "name":
+                    fingerprint.attributes.putIfAbsent("name", value);
+                    break;
+                case "class":
+                    fingerprint.attributes.putIfAbsent("classes", value);
+                    break;
+                case "linkText":
+                case "partialLinkText":
+                    fingerprint.attributes.putIfAbsent("tag", "a");
+                    fingerprint.attributes.putIfAbsent("text", value);
+                    break;
+                case "tagName":
+                    fingerprint.attributes.putIfAbsent("tag", value.toLowerCase(Locale.ROOT));
+                    break;
+                default:
+                    fingerprint.readSelector(value);
+            }
+        }
+        return fingerprint;
+    }
+
+    private void readSelector(String selector) {
+        Matcher attribute = ATTRIBUTE.matcher(selector);
+        while (attribute.find()) {
+            String key = attributeKey(attribute.group(1));
+            if (key != null) {
+                attributes.putIfAbsent(key, attribute.group(2));
+            }
+        }
+        Matcher text = XPATH_TEXT.matcher(selector);
+        if (text.find()) {
+            attributes.putIfAbsent("text", text.group(1));
+        }
+        Matcher tag = LEADING_TAG.matcher(selector.trim());
+        if (tag.find() && !selector.trim().startsWith("/*")) {
+            attributes.putIfAbsent("tag", tag.group(1).toLowerCase(Locale.ROOT));
+        }
+        if (!selector.contains("/")) {
+            // CSS shorthands; brackets are stripped so attribute values are not mistaken for them
+            String outside = selector.replaceAll("\\[[^\\]]*\\]", "");
+            Matcher id = CSS_ID.matcher(outside);
+            if (id.find()) {
+                attributes.putIfAbsent("id", id.group(1));
+            }
+            Matcher cssClass = CSS_CLASS.matcher(outside);
+            List<String> classes = new ArrayList<>();
+            while (cssClass.find()) {
+                classes.add(cssClass.group(1));
+            }
+            if (!classes.isEmpty()) {
+                attributes.putIfAbsent("classes", String.join(" ", classes));
+            }
+        }
+    }
+
+    private static String attributeKey(String attribute) {
+        switch (attribute) {
+            case "id":
+                return "id";
+            case "name":
+                return "name";
+            case "class":
+                return "classes";
+            case "placeholder":
+                return "placeholder";
+            case "title":
+                return "title";
+            case "type":
+                return "type";
+            case "aria-label":
+                return "ariaLabel";
+            case "data-testid":
+                return "testId";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Similarity of a candidate to this fingerprint, 0 to 1; only attributes this fingerprint has count
+     */
+    public double similarity(ElementFingerprint candidate) {
+        double score = 0;
+        double total = 0;
+        double[][] parts = {
+                {ID, compare("id", candidate)},
+                {TEST_ID, compare("testId", candidate)},
+                {NAME, compare("name", candidate)},
+                {TEXT, compare("text", candidate)},
+                {ARIA_LABEL, compare("ariaLabel", candidate)},
+                {PLACEHOLDER, compare("placeholder", candidate)},
+                {TITLE, compare("title", candidate)},
+                {CLASSES, compare("classes", candidate)},
+                {TAG, exact("tag", candidate)},
+                {TYPE, exact("type", candidate)},
+                {PATH, pathSimilarity(candidate)},
+                {POSITION, positionSimilarity(candidate)},
+                {KEYWORDS, keywordCoverage(candidate)}
+        };
+        for (double[] part : parts) {
+            // Negative: attribute unknown for this fingerprint
+            if (part[1] >= 0) {
+                score += part[0] * part[1];
+                total += part[0];
+            }
+        }
+        return total == 0 ? 0 : score / total;
+    }
+
+    /**
+     * The most specific locator for this element, in SelfHealingLocator format
+     * @param snapshot the other elements of the page, to avoid attributes they share
+     */
+    public String toLocator(List<ElementFingerprint> snapshot) {
+        String tag = attributes.getOrDefault("tag", "*");
+        if (unique("id", snapshot)) {
+            return "id=" + attributes.get("id");
+        }
+        if (unique("testId", snapshot)) {
+            return CompiledLocator.cssAttribute(null, "data-testid", attributes.get("testId")).toString();
+        }
+        if (unique("name", snapshot)) {
+            return CompiledLocator.cssAttribute(tag, "name", attributes.get("name")).toString();
+        }
+        if (unique("ariaLabel", snapshot)) {
+            return CompiledLocator.cssAttribute(tag, "aria-label", attributes.get("ariaLabel")).toString();
+        }
+        if (unique("placeholder", snapshot)) {
+            return CompiledLocator.cssAttribute(tag, "placeholder", attributes.get("placeholder")).toString();
+        }
+        return "css=" + attributes.getOrDefault("path", tag);
+    }
+
+    public String get(String attribute) {
+        return attributes.get(attribute);
+    }
+
+    private boolean unique(String attribute, List<ElementFingerprint> snapshot) {
+        String value = attributes.get(attribute);
+        if (value == null) {
+            return false;
+        }
+        int count = 0;
+        for (ElementFingerprint other : snapshot) {
+            if (value.equals(other.attributes.get(attribute))) {
+                count++;
+            }
+        }
+        return count <= 1;
+    }
+
+    private double compare(String attribute, ElementFingerprint candidate) {
+        String expected = attributes.get(attribute);
+        if (expected == null) {
+            return -1;
+        }
+        String actual = candidate.attributes.get(attribute);
+        if (actual == null) {
+            return 0;
+        }
+        if (expected.equalsIgnoreCase(actual)) {
+            return 1;
+        }
+        if (squash(expected).equals(squash(actual))) {
+            // user-name vs username
+            return 0.9;
+        }
+        return jaccard(tokens(expected), tokens(actual));
+    }
+
+    private double exact(String attribute, ElementFingerprint candidate) {
+        String expected = attributes.get(attribute);
+        if (expected == null) {
+            return -1;
+        }
+        return expected.equalsIgnoreCase(candidate.attributes.getOrDefault(attribute, "")) ? 1 : 0;
+    }
+
+    private double pathSimilarity(ElementFingerprint candidate) {
+        String expected = attributes.get("path");
+        if (expected == null) {
+            return -1;
+        }
+        String[] a = expected.split(" > ");
+        String[] b = candidate.attributes.getOrDefault("path", "").split(" > ");
+        // Matching segments counted from the element upwards
+        int common = 0;
+        while (common < a.length && common < b.length && a[a.length - 1 - common].equals(b[b.length - 1 - common])) {
+            common++;
+        }
+        return (double) common / Math.max(a.length, b.length);
+    }
+
+    private double positionSimilarity(ElementFingerprint candidate) {
+        if (Double.isNaN(width) || Double.isNaN(candidate.width)) {
+            return -1;
+        }
+        double distance = Math.hypot((x + width / 2) - (candidate.x + candidate.width / 2),
+                (y + height / 2) - (candidate.y + candidate.height / 2));
+        return 1 / (1 + distance / 200);
+    }
+
+    private double keywordCoverage(ElementFingerprint candidate) {
+        if (keywords.isEmpty()) {
+            return -1;
+        }
+        Set<String> words = new HashSet<>();
+        for (String attribute : new String[]{"tag", "id", "name", "text", "ariaLabel", "placeholder", "title", "type", "testId"}) {
+            words.addAll(tokens(candidate.attributes.getOrDefault(attribute, "")));
+        }
+        int covered = 0;
+        for (String keyword : keywords) {
+            if (words.contains(keyword)) {
+                covered++;
+            }
+        }
+        return (double) covered / keywords.size();
+    }
+
+    static Set<String> tokens(String value) {
+        Set<String> tokens = new HashSet<>();
+        for (String token : TOKEN_SPLIT.split(value)) {
+            if (!token.isEmpty()) {
+                tokens.add(token.toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+
+    private static String squash(String value) {
+        return value.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "");
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        Set<String> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        return (double) intersection.size() / (a.size() + b.size() - intersection.size());
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementFingerprint" + (keywords.isEmpty() ? "" : keywords) + attributes;
+    }
+}
@@ -1,9 +1,15 @@
 package locators;
 
+import core.ConfigManager;
 import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,23 +31,46 @@ public class ElementLocator {
     private  WebDriver driver;
     private final WebDriverWait wait;
     private final SelfHealingLocator selfHealingLocator;
-    private final Map<String, By> locatorCache;
     private final Duration defaultTimeout;
+    private static final long DEFAULT_RACE_POLL_MILLIS = 200;
+    private static final Duration RACE_POLL_INTERVAL = Duration.ofMillis(racePollMillis());
+    // Fixed page identity for the shared locator cache; null derives it from the current URL
+    private final String pageKey;
+    // Container lookups are restricted to; null searches the whole page
+    private final SearchContext scope;
 
     public ElementLocator(WebDriver driver) {
-        this.driver = driver;
-        this.defaultTimeout = Duration.ofSeconds(10);
-        this.wait = new WebDriverWait(driver, defaultTimeout);
-        this.selfHealingLocator = new SelfHealingLocator();
-        this.locatorCache = new HashMap<>();
+        this(driver, Duration.ofSeconds(10));
     }
 
     public ElementLocator(WebDriver driver, Duration timeout) {
+        this(driver, timeout, null);
+    }
+
+    /**
+     * @param pageKey page identity for cached locators, e.g. the page object class name
+     */
+    public ElementLocator(WebDriver driver, Duration timeout, String pageKey) {
+        this(driver, timeout, pageKey, null);
+    }
+
+    private ElementLocator(WebDriver driver, Duration timeout, String pageKey, SearchContext scope) {
         this.driver = driver;
         this.defaultTimeout = timeout;
         this.wait = new WebDriverWait(driver, timeout);
         this.selfHealingLocator = new SelfHealingLocator();
-        this.locatorCache = new HashMap<>();
+        this.pageKey = pageKey;
+        this.scope = scope;
+    }
+
+    /**
+     * Locator searching only below the container, e.g. one table row or dialog. Browsers match
+     * fewer nodes and same-named elements elsewhere on the page cannot be picked up; XPaths are
+     * made relative to the container. Page-wide fingerprint and self-healing fallbacks are skipped,
+     * since they could return an element outside it
+     */
+    public ElementLocator within(SearchContext container) {
+        return new ElementLocator(driver, defaultTimeout, pageKey, container);
     }
 
     /**
@@ -51,43 +80,108 @@ public class ElementLocator {
         logger.debug("Attempting to find element: {}", elementName);
 
         // Check cache first
-        if (locatorCache.containsKey(elementName)) {
+        String page = currentPageKey();
+        By cached = LocatorCache.get(page, elementName);
+        if (cached != null) {
             try {
-                WebElement element = driver.findElement(locatorCache.get(elementName));
+                WebElement element = searchRoot().findElement(LocatorOptimizer.scoped(cached));
                 if (element.isDisplayed()) {
                     logger.debug("Element found using cached locator: {}", elementName);
+                    remember(page, elementName, element, null);
                     return element;
                 }
             } catch (Exception e) {
                 logger.warn("Cached locator failed for element: {}. Removing from cache.", elementName);
-                locatorCache.remove(elementName);
+                LocatorCache.invalidate(page, elementName);
             }
         }
 
-        // Try each strategy
-        for (LocatorStrategy strategy : strategies) {
-            try {
-                WebElement element = findElementByStrategy(strategy);
-                if (element != null && element.isDisplayed()) {
-                    // Cache successful locator
-                    locatorCache.put(elementName, strategy.getBy());
-                    logger.debug("Element found using strategy: {} for element: {}",
-                            strategy.getStrategyName(), elementName);
-                    return element;
+        StrategyStats learned = StrategyStats.getInstance();
+        ResolutionMode mode = ResolutionMode.configured();
+        if (mode == ResolutionMode.RACE) {
+            // One deadline for all strategies instead of one timeout per failing strategy. Combined
+            // lookups keep the call-site order: they cost the same in any order, and the first
+            // matching strategy wins, so a learned order would only change which element is found
+            long start = System.nanoTime();
+            BrowserSideResolver.Resolution hit = raceStrategies(candidates(page, elementName, strategies), defaultTimeout);
+            recordOutcome(learned, page, elementName, strategies, hit, start);
+            if (hit != null) {
+                LocatorStrategy winner = strategies[hit.getIndex()];
+                LocatorCache.put(page, elementName, winner.getBy());
+                logger.debug("Element found racing strategies, winner: {} for element: {}",
+                        winner.getStrategyName(), elementName);
+                remember(page, elementName, hit.getElement(), hit.getFingerprint());
+                return hit.getElement();
+            }
+        } else {
+            // The primary strategy in one round trip, answered without waiting while the page is
+            // already settled. Fallbacks are left to the waiting lookups: matching one here could
+            // just mean the primary's element had not rendered yet, and the lookalike would be
+            // cached for every thread and credited in the learned stats
+            if (mode == ResolutionMode.BROWSER && resolvesInPage() && strategies.length > 0) {
+                BrowserSideResolver.Resolution hit = BrowserSideResolver.resolve(
+                        driver, scopeElement(), candidates(page, elementName, strategies).subList(0, 1), true);
+                if (hit != null) {
+                    LocatorStrategy primary = strategies[0];
+                    LocatorCache.put(page, elementName, primary.getBy());
+                    logger.debug("Element found in the page using strategy: {} for element: {}",
+                            primary.getStrategyName(), elementName);
+                    remember(page, elementName, hit.getElement(), hit.getFingerprint());
+                    return hit.getElement();
                 }
-            } catch (Exception e) {
-                logger.debug("Strategy {} failed for element {}: {}",
-                        strategy.getStrategyName(), elementName, e.getMessage());
+            }
+
+            // Try each strategy, waiting on each; those that succeeded fastest for this element in
+            // past runs go first, so failing ones do not cost their timeout every time
+            for (LocatorStrategy strategy : learned.order(page, elementName, strategies)) {
+                long start = System.nanoTime();
+                try {
+                    WebElement element = findElementByStrategy(strategy);
+                    if (element != null && element.isDisplayed()) {
+                        learned.recordSuccess(page, elementName, strategy, millisSince(start));
+                        // Cache successful locator
+                        LocatorCache.put(page, elementName, strategy.getBy());
+                        logger.debug("Element found using strategy: {} for element: {}",
+                                strategy.getStrategyName(), elementName);
+                        remember(page, elementName, element, null);
+                        return element;
+                    }
+                } catch (Exception e) {
+                    logger.debug("Strategy {} failed for element {}: {}",
+                            strategy.getStrategyName(), elementName, e.getMessage());
+                }
+                learned.recordFailure(page, elementName, strategy, millisSince(start));
             }
         }
 
-        // If all strategies fail, try self-healing
-        logger.warn("All primary strategies failed for element: {}. Attempting self-healing...", elementName);
-        WebElement healedElement = selfHealingLocator.findElementWithHealing(elementName, strategies);
+        if (scope != null) {
+            throw new RuntimeException("Unable to locate element: " + elementName +
+                    " in its container using any of the provided strategies");
+        }
+        if (!HealingBudget.hasRemaining()) {
+            throw new RuntimeException("Unable to locate element: " + elementName +
+                    " using any of the provided strategies; the scenario's healing budget is spent");
+        }
+
+        HealingBudget.enter();
+        try {
+            // The element as it was last seen, found again in the current DOM
+            DomSnapshot.Match nearest = FingerprintIndex.getInstance().nearest(driver, page, elementName);
+            if (nearest != null) {
+                LocatorCache.put(page, elementName, CompiledLocator.parse(nearest.getLocator()).getBy());
+                return nearest.getElement();
+            }
+
+            // If all strategies fail, try self-healing
+            logger.warn("All primary strategies failed for element: {}. Attempting self-healing...", elementName);
+            WebElement healedElement = selfHealingLocator.findElementWithHealing(elementName, strategies);
 
-        if (healedElement != null) {
-            logger.info("Element found using self-healing mechanism: {}", elementName);
-            return healedElement;
+            if (healedElement != null) {
+                logger.info("Element found using self-healing mechanism: {}", elementName);
+                return healedElement;
+            }
+        } finally {
+            HealingBudget.exit();
         }
 
         throw new RuntimeException("Unable to locate element: " + elementName +
@@ -101,7 +195,7 @@ public class ElementLocator {
         logger.debug("Attempting to find elements: {}", elementName);
 
         try {
-            List<WebElement> elements = driver.findElements(strategy.getBy());
+            List<WebElement> elements = searchRoot().findElements(LocatorOptimizer.scoped(strategy.getBy()));
             if (!elements.isEmpty()) {
                 logger.debug("Found {} elements for: {}", elements.size(), elementName);
                 return elements;
@@ -111,6 +205,10 @@ public class ElementLocator {
                     strategy.getStrategyName(), elementName, e.getMessage());
         }
 
+        if (scope != null) {
+            return new ArrayList<>();
+        }
+
         // Try self-healing for multiple elements
         List<WebElement> healedElements = selfHealingLocator.findElementsWithHealing(elementName, strategy);
         if (!healedElements.isEmpty()) {
@@ -137,15 +235,21 @@ public class ElementLocator {
         WebDriverWait customWait = new WebDriverWait(driver, timeout);
 
         try {
-            WebElement element = customWait.until(ExpectedConditions.presenceOfElementLocated(strategy.getBy()));
+            WebElement element = customWait.until(presenceOf(strategy.getBy()));
             customWait.until(ExpectedConditions.visibilityOf(element));
 
             // Cache successful locator
-            locatorCache.put(elementName, strategy.getBy());
+            String page = currentPageKey();
+            LocatorCache.put(page, elementName, strategy.getBy());
+            remember(page, elementName, element, null);
             logger.debug("Element found and visible: {}", elementName);
             return element;
 
         } catch (Exception e) {
+            if (scope != null) {
+                throw new RuntimeException("Element not found in its container within timeout: " + elementName +
+                        " (" + timeout.getSeconds() + " seconds)", e);
+            }
             logger.warn("Wait failed for element: {}. Attempting self-healing...", elementName);
 
             // Try self-healing with wait
@@ -179,14 +283,20 @@ public class ElementLocator {
         WebDriverWait customWait = new WebDriverWait(driver, timeout);
 
         try {
-            WebElement element = customWait.until(ExpectedConditions.elementToBeClickable(strategy.getBy()));
+            WebElement element = customWait.until(clickableOf(strategy.getBy()));
 
             // Cache successful locator
-            locatorCache.put(elementName, strategy.getBy());
+            String page = currentPageKey();
+            LocatorCache.put(page, elementName, strategy.getBy());
+            remember(page, elementName, element, null);
             logger.debug("Clickable element found: {}", elementName);
             return element;
 
         } catch (Exception e) {
+            if (scope != null) {
+                throw new RuntimeException("Clickable element not found in its container within timeout: " +
+                        elementName + " (" + timeout.getSeconds() + " seconds)", e);
+            }
             logger.warn("Wait for clickable failed for element: {}. Attempting self-healing...", elementName);
 
             WebElement healedElement = selfHealingLocator.waitForClickableElementWithHealing(
@@ -203,25 +313,23 @@ public class ElementLocator {
     }
 
     /**
-     * Check if element exists without throwing exception
+     * Check if element exists without throwing exception or waiting for it to appear
      */
     public boolean isElementPresent(String elementName, LocatorStrategy strategy) {
-        try {
-            driver.findElement(strategy.getBy());
-            return true;
-        } catch (Exception e) {
+        if (findPresentElement(elementName, strategy) == null) {
             logger.debug("Element not present: {}", elementName);
             return false;
         }
+        return true;
     }
 
     /**
-     * Check if element is visible
+     * Check if element is visible, without waiting for it to appear
      */
     public boolean isElementVisible(String elementName, LocatorStrategy strategy) {
         try {
-            WebElement element = driver.findElement(strategy.getBy());
-            return element.isDisplayed();
+            WebElement element = findPresentElement(elementName, strategy);
+            return element != null && element.isDisplayed();
         } catch (Exception e) {
             logger.debug("Element not visible: {}", elementName);
             return false;
@@ -262,28 +370,219 @@ public class ElementLocator {
     }
 
     /**
-     * Clear locator cache
+     * Clear cached locators of the current page; other pages and threads keep theirs
      */
     public void clearCache() {
-        locatorCache.clear();
-        logger.debug("Locator cache cleared");
+        String page = currentPageKey();
+        LocatorCache.invalidatePage(page);
+        logger.debug("Locator cache cleared for page {}", page);
     }
 
     /**
-     * Get cache statistics
+     * Get cache statistics: the current page's cached elements plus the shared cache counters, and
+     * those of the cache of absent elements under "absent"
      */
     public Map<String, Object> getCacheStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("cacheSize", locatorCache.size());
-        stats.put("cachedElements", new ArrayList<>(locatorCache.keySet()));
+        Map<String, Object> stats = new HashMap<>(LocatorCache.stats());
+        stats.put("absent", NegativeCache.stats());
+        List<String> elements = LocatorCache.elementsOf(currentPageKey());
+        stats.put("cacheSize", elements.size());
+        stats.put("cachedElements", elements);
         return stats;
     }
 
+    /**
+     * Poll all strategies together, in order, until one finds a visible element or the deadline passes
+     * @return the first hit, or null at the deadline
+     */
+    private BrowserSideResolver.Resolution raceStrategies(List<By> bys, Duration timeout) {
+        boolean inPage = resolvesInPage() && BrowserSideResolver.canResolve(driver, bys);
+        WebElement root = scopeElement();
+        Duration implicitWait = null;
+        if (!inPage) {
+            // An implicit wait would stall every empty lookup of a tick
+            implicitWait = driver.manage().timeouts().getImplicitWaitTimeout();
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        }
+        try {
+            return new FluentWait<>(driver)
+                    .withTimeout(timeout)
+                    .pollingEvery(RACE_POLL_INTERVAL)
+                    .until(d -> inPage ? BrowserSideResolver.resolve(d, root, bys, true) : pollStrategies(bys));
+        } catch (TimeoutException e) {
+            logger.debug("No strategy matched within {} ms", timeout.toMillis());
+            return null;
+        } finally {
+            if (implicitWait != null) {
+                driver.manage().timeouts().implicitlyWait(implicitWait);
+            }
+        }
+    }
+
+    /**
+     * Keep the fingerprint of a found element for nearest-neighbour healing. Lookups that did not
+     * describe the element take one fingerprint per element and run
+     */
+    private void remember(String page, String elementName, WebElement element, ElementFingerprint fingerprint) {
+        FingerprintIndex index = FingerprintIndex.getInstance();
+        if (fingerprint == null && index.needsRefresh(page, elementName)) {
+            fingerprint = ElementFingerprint.of(driver, element);
+        }
+        if (fingerprint != null) {
+            index.record(page, elementName, fingerprint);
+        }
+    }
+
+    /**
+     * Credit the winner of a combined lookup; strategies ordered before it were evaluated and missed
+     * @param hit the winner, or null when all strategies missed
+     */
+    private static void recordOutcome(StrategyStats learned, String page, String elementName,
+                                      LocatorStrategy[] ordered, BrowserSideResolver.Resolution hit, long start) {
+        long millis = millisSince(start);
+        int misses = hit == null ? ordered.length : hit.getIndex();
+        for (int i = 0; i < misses; i++) {
+            learned.recordFailure(page, elementName, ordered[i], millis);
+        }
+        if (hit != null) {
+            learned.recordSuccess(page, elementName, ordered[hit.getIndex()], millis);
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static long racePollMillis() {
+        long millis;
+        try {
+            millis = Long.parseLong(ConfigManager.getProperty("locator.race.poll.millis",
+                    String.valueOf(DEFAULT_RACE_POLL_MILLIS)).trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid locator.race.poll.millis, using {}", DEFAULT_RACE_POLL_MILLIS);
+            return DEFAULT_RACE_POLL_MILLIS;
+        }
+        if (millis <= 0) {
+            // A zero interval would poll the page in a busy loop
+            logger.warn("locator.race.poll.millis must be positive, using {}", DEFAULT_RACE_POLL_MILLIS);
+            return DEFAULT_RACE_POLL_MILLIS;
+        }
+        return millis;
+    }
+
+    private BrowserSideResolver.Resolution pollStrategies(List<By> bys) {
+        for (int i = 0; i < bys.size(); i++) {
+            try {
+                for (WebElement element : searchRoot().findElements(LocatorOptimizer.scoped(bys.get(i)))) {
+                    if (element.isDisplayed()) {
+                        return new BrowserSideResolver.Resolution(element, i);
+                    }
+                }
+            } catch (WebDriverException e) {
+                // Stale element or invalid selector; the other strategies still count
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Locators of a combined lookup, one per strategy. XPaths starting with //* are narrowed to the
+     * tag the element had when last found, so the browser does not test every node of the page; if
+     * the tag changed, the sequential strategies and healing still use the original locators
+     */
+    private static List<By> candidates(String page, String elementName, LocatorStrategy[] strategies) {
+        ElementFingerprint known = FingerprintIndex.getInstance().lookup(page, elementName);
+        String tag = known == null ? null : known.get("tag");
+        List<By> bys = new ArrayList<>();
+        for (LocatorStrategy strategy : strategies) {
+            CompiledLocator compiled = strategy.getCompiled();
+            String narrowed = tag != null && compiled != null && compiled.getKind() == CompiledLocator.Kind.XPATH
+                    ? LocatorOptimizer.narrow(compiled.getValue(), List.of(tag)) : null;
+            bys.add(narrowed != null
+                    ? CompiledLocator.of(CompiledLocator.Kind.XPATH, narrowed).getBy()
+                    : strategy.getBy());
+        }
+        return bys;
+    }
+
+    /**
+     * The element if it is in the DOM right now. Absences are remembered until the DOM changes, so
+     * repeated checks of an optional element cost one script call instead of an implicit wait
+     */
+    private WebElement findPresentElement(String elementName, LocatorStrategy strategy) {
+        // A container narrows the lookup, so its absences are not those of the page-wide element
+        String page = scope == null ? currentPageKey() : null;
+        String version = page == null ? null : DomVersion.current(driver);
+        if (NegativeCache.isAbsent(page, elementName, version)) {
+            return null;
+        }
+        try {
+            List<WebElement> elements = WaitUtils.withoutImplicitWait(driver,
+                    () -> searchRoot().findElements(LocatorOptimizer.scoped(strategy.getBy())));
+            if (!elements.isEmpty()) {
+                return elements.get(0);
+            }
+        } catch (Exception e) {
+            logger.debug("Presence check failed for element {}: {}", elementName, e.getMessage());
+        }
+        NegativeCache.recordAbsent(page, elementName, version);
+        return null;
+    }
+
+    private SearchContext searchRoot() {
+        return scope != null ? scope : driver;
+    }
+
+    private WebElement scopeElement() {
+        return scope instanceof WebElement ? (WebElement) scope : null;
+    }
+
+    /**
+     * Whether the scope can be handed to a script; shadow roots and other contexts cannot
+     */
+    private boolean resolvesInPage() {
+        return scope == null || scope instanceof WebElement;
+    }
+
+    private ExpectedCondition<WebElement> presenceOf(By by) {
+        if (scope == null) {
+            return ExpectedConditions.presenceOfElementLocated(by);
+        }
+        By scoped = LocatorOptimizer.scoped(by);
+        return d -> scope.findElement(scoped);
+    }
+
+    private ExpectedCondition<WebElement> clickableOf(By by) {
+        if (scope == null) {
+            return ExpectedConditions.elementToBeClickable(by);
+        }
+        By scoped = LocatorOptimizer.scoped(by);
+        return d -> {
+            WebElement element = scope.findElement(scoped);
+            return element.isDisplayed() && element.isEnabled() ? element : null;
+        };
+    }
+
+    /**
+     * Page identity for the shared cache: the fixed key if given, else the normalized current URL
+     */
+    private String currentPageKey() {
+        if (pageKey != null) {
+            return pageKey;
+        }
+        try {
+            return PageKey.fromUrl(driver.getCurrentUrl());
+        } catch (Exception e) {
+            logger.debug("Current URL unavailable, caching under unknown page: {}", e.getMessage());
+            return PageKey.UNKNOWN;
+        }
+    }
+
     /**
      * Find element by specific strategy
      */
     private WebElement findElementByStrategy(LocatorStrategy strategy) {
-        WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(strategy.getBy()));
+        WebElement element = wait.until(presenceOf(strategy.getBy()));
 
         // Additional validation based on strategy requirements
         if (strategy.requiresVisibility() && !element.isDisplayed()) {
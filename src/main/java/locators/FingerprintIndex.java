@@ -0,0 +1,142 @@
+package locators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last known fingerprint of each element, per page, recorded whenever a lookup succeeds.
+ * When all locators of an element fail, the element of the current DOM nearest to its fingerprint
+ * is taken instead of trying generic patterns. Kept in .genai/fingerprints.json and saved when the
+ * JVM exits.
+ */
+public final class FingerprintIndex {
+    private static final Logger logger = LoggerFactory.getLogger(FingerprintIndex.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String INDEX_FILE = ".genai/fingerprints.json";
+
+    private final Path indexPath;
+    // page key -> element name -> fingerprint
+    private final Map<String, Map<String, ElementFingerprint>> pages = new ConcurrentHashMap<>();
+    // Elements fingerprinted by this JVM; the others are refreshed on their next successful lookup
+    private final Set<String> refreshed = ConcurrentHashMap.newKeySet();
+
+    private static final class Holder {
+        private static final FingerprintIndex INSTANCE = load(Paths.get(INDEX_FILE));
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::save, "fingerprint-index-save"));
+        }
+    }
+
+    private FingerprintIndex(Path indexPath) {
+        this.indexPath = indexPath;
+    }
+
+    /**
+     * Index shared by this JVM, loaded on first access
+     */
+    public static FingerprintIndex getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    static FingerprintIndex load(Path indexPath) {
+        FingerprintIndex index = new FingerprintIndex(indexPath);
+        if (!Files.isRegularFile(indexPath)) {
+            return index;
+        }
+        try {
+            Iterator<Map.Entry<String, JsonNode>> pageNodes = objectMapper.readTree(indexPath.toFile()).fields();
+            while (pageNodes.hasNext()) {
+                Map.Entry<String, JsonNode> pageNode = pageNodes.next();
+                Map<String, ElementFingerprint> elements = new ConcurrentHashMap<>();
+                pageNode.getValue().fields().forEachRemaining(element -> elements.put(element.getKey(),
+                        ElementFingerprint.fromMap(objectMapper.convertValue(element.getValue(), Map.class))));
+                index.pages.put(pageNode.getKey(), elements);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Ignoring unreadable fingerprint index {}: {}", indexPath, e.getMessage());
+            index.pages.clear();
+        }
+        return index;
+    }
+
+    public ElementFingerprint lookup(String pageKey, String elementName) {
+        Map<String, ElementFingerprint> elements = pages.get(pageKey);
+        return elements == null ? null : elements.get(elementName);
+    }
+
+    public void record(String pageKey, String elementName, ElementFingerprint fingerprint) {
+        pages.computeIfAbsent(pageKey, k -> new ConcurrentHashMap<>()).put(elementName, fingerprint);
+        refreshed.add(pageKey + '\t' + elementName);
+    }
+
+    /**
+     * Whether the element has not been fingerprinted by this JVM yet, so a lookup that does not
+     * return a fingerprint by itself should take one
+     */
+    public boolean needsRefresh(String pageKey, String elementName) {
+        return !refreshed.contains(pageKey + '\t' + elementName);
+    }
+
+    /**
+     * Element of the current page nearest to the recorded fingerprint
+     * @return the match, or null without a fingerprint or a close enough, unambiguous candidate
+     */
+    public DomSnapshot.Match nearest(WebDriver driver, String pageKey, String elementName) {
+        ElementFingerprint known = lookup(pageKey, elementName);
+        if (known == null) {
+            return null;
+        }
+        DomSnapshot snapshot = DomSnapshot.capture(driver);
+        if (snapshot == null) {
+            return null;
+        }
+        DomSnapshot.Match match = snapshot.bestMatch(known, DomSnapshot.MIN_SIMILARITY);
+        if (match != null) {
+            logger.info("Element '{}' matched its last known fingerprint with similarity {}: {}",
+                    elementName, String.format("%.2f", match.getScore()), match.getLocator());
+            record(pageKey, elementName, match.getFingerprint());
+        }
+        return match;
+    }
+
+    /**
+     * Write the index; called at JVM exit
+     */
+    public synchronized void save() {
+        if (pages.isEmpty()) {
+            return;
+        }
+        ObjectNode root = objectMapper.createObjectNode();
+        new TreeMap<>(pages).forEach((page, elements) -> {
+            ObjectNode pageNode = root.putObject(page);
+            new TreeMap<>(elements).forEach((element, fingerprint) ->
+                    pageNode.set(element, objectMapper.valueToTree(fingerprint.toMap())));
+        });
+
+        try {
+            Files.createDirectories(indexPath.toAbsolutePath().getParent());
+            Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempPath.toFile(), root);
+            Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not write fingerprint index {}: {}", indexPath, e.getMessage());
+        }
+    }
+}
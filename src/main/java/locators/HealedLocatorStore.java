@@ -0,0 +1,200 @@
+package locators;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locators found by self-healing, kept across runs so a broken primary locator is healed once
+ * rather than on every run.
+ * Resolutions are appended to .genai/healed-locators.log as PUT/DEL records, one per line, and
+ * replayed on first use. The log is rewritten with only the live entries when dead records
+ * outnumber them.
+ */
+public final class HealedLocatorStore {
+    private static final Logger logger = LoggerFactory.getLogger(HealedLocatorStore.class);
+
+    private static final String STORE_FILE = ".genai/healed-locators.log";
+    private static final String PUT = "PUT";
+    private static final String DEL = "DEL";
+    // Dead records tolerated before the log is compacted
+    private static final int COMPACT_MIN_RECORDS = 64;
+
+    private final Path path;
+    // page key + '\t' + element name -> locator
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+    private int records;
+
+    private static final class Holder {
+        private static final HealedLocatorStore INSTANCE = open(Paths.get(STORE_FILE));
+    }
+
+    private HealedLocatorStore(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Store shared by this JVM, loaded on first access
+     */
+    public static HealedLocatorStore getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    static HealedLocatorStore open(Path path) {
+        HealedLocatorStore store = new HealedLocatorStore(path);
+        store.load();
+        return store;
+    }
+
+    /**
+     * Locator healed earlier for an element of a page, or null
+     */
+    public String lookup(String pageKey, String elementName) {
+        return entries.get(key(pageKey, elementName));
+    }
+
+    /**
+     * Remember a healed locator; unchanged entries are not rewritten
+     */
+    public synchronized void record(String pageKey, String elementName, String locator) {
+        String key = key(pageKey, elementName);
+        if (locator.equals(entries.get(key))) {
+            return;
+        }
+        entries.put(key, locator);
+        append(PUT + '\t' + escape(pageKey) + '\t' + escape(elementName) + '\t' + escape(locator));
+        logger.info("Stored healed locator for '{}' on {}: {}", elementName, pageKey, locator);
+    }
+
+    /**
+     * Forget a healed locator that no longer matches
+     */
+    public synchronized void invalidate(String pageKey, String elementName) {
+        if (entries.remove(key(pageKey, elementName)) != null) {
+            append(DEL + '\t' + escape(pageKey) + '\t' + escape(elementName));
+            logger.info("Healed locator for '{}' on {} no longer matches, dropped it", elementName, pageKey);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Rewrite the log with one PUT per live entry
+     */
+    public synchronized void compact() {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            // Sorted so the compacted log is stable between runs
+            Map<String, String> sorted = new TreeMap<>(entries);
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : sorted.entrySet()) {
+                    String[] pageAndElement = entry.getKey().split("\t", 2);
+                    writer.write(PUT + '\t' + pageAndElement[0] + '\t' + pageAndElement[1] + '\t' + escape(entry.getValue()));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Compacted {} record(s) of {} into {} entries", records, path, entries.size());
+            records = entries.size();
+        } catch (IOException e) {
+            logger.warn("Could not compact healed locator store {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        byte[] content;
+        try {
+            content = Files.readAllBytes(path);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable healed locator store {}: {}", path, e.getMessage());
+            return;
+        }
+        // Every append ends in a newline; without one the last record was torn by a killed run,
+        // and the next append would be glued onto it
+        boolean torn = content.length > 0 && content[content.length - 1] != '\n';
+        String[] lines = new String(content, StandardCharsets.UTF_8).split("\n");
+        int complete = torn ? lines.length - 1 : lines.length;
+        for (int i = 0; i < complete; i++) {
+            String line = lines[i];
+            String[] fields = line.split("\t", -1);
+            if (fields.length == 4 && fields[0].equals(PUT)) {
+                entries.put(fields[1] + '\t' + fields[2], unescape(fields[3]));
+            } else if (fields.length == 3 && fields[0].equals(DEL)) {
+                entries.remove(fields[1] + '\t' + fields[2]);
+            } else if (!line.isBlank()) {
+                logger.debug("Skipping malformed healed locator record: {}", line);
+            }
+            records++;
+        }
+        logger.info("Loaded {} healed locator(s) from {}", entries.size(), path);
+        if (torn) {
+            logger.debug("Dropping torn last record of {}: {}", path, lines[lines.length - 1]);
+            compact();
+        } else if (needsCompaction()) {
+            compact();
+        }
+    }
+
+    private void append(String record) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            // One write per record in append mode, so records from parallel threads never interleave
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap((record + '\n').getBytes(StandardCharsets.UTF_8)));
+            }
+            records++;
+        } catch (IOException e) {
+            logger.warn("Could not write healed locator store {}: {}", path, e.getMessage());
+            return;
+        }
+        if (needsCompaction()) {
+            compact();
+        }
+    }
+
+    private boolean needsCompaction() {
+        return records - entries.size() > Math.max(COMPACT_MIN_RECORDS, entries.size());
+    }
+
+    private static String key(String pageKey, String elementName) {
+        return escape(pageKey) + '\t' + escape(elementName);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
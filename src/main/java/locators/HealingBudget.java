@@ -0,0 +1,92 @@
+package locators;
+
+import core.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Time each scenario may spend healing locators, from locator.healing.budget.millis (0 disables
+ * healing). Healing an element that is legitimately absent scans the page and tries guessed
+ * locators, so without a cap a scenario checking optional elements pays that on every check.
+ * Tracked per thread, as each scenario runs on one; hooks reset it when a scenario starts.
+ */
+public final class HealingBudget {
+    private static final Logger logger = LoggerFactory.getLogger(HealingBudget.class);
+
+    private static final long DEFAULT_BUDGET_MILLIS = 15_000;
+    private static final long BUDGET_NANOS = budgetMillis() * 1_000_000;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private HealingBudget() {
+    }
+
+    /**
+     * Start a new scenario's budget on this thread
+     */
+    public static void reset() {
+        STATE.remove();
+    }
+
+    /**
+     * Whether healing may still run; counts the healing in progress
+     */
+    public static boolean hasRemaining() {
+        State state = STATE.get();
+        if (state.spent(System.nanoTime()) < BUDGET_NANOS) {
+            return true;
+        }
+        if (!state.warned) {
+            state.warned = true;
+            logger.warn("Healing budget of {} ms spent; remaining lookups in this scenario fail without healing",
+                    BUDGET_NANOS / 1_000_000);
+        }
+        return false;
+    }
+
+    /**
+     * Start charging healing time; nested sections, like self-healing run from a lookup that is
+     * itself healing, are charged once. Pair with exit in a finally block
+     */
+    public static void enter() {
+        State state = STATE.get();
+        if (state.depth++ == 0) {
+            state.sectionStart = System.nanoTime();
+        }
+    }
+
+    public static void exit() {
+        State state = STATE.get();
+        if (state.depth > 0 && --state.depth == 0) {
+            state.spentNanos += System.nanoTime() - state.sectionStart;
+        }
+    }
+
+    /**
+     * Healing time spent by this thread's scenario so far
+     */
+    public static long spentMillis() {
+        return STATE.get().spent(System.nanoTime()) / 1_000_000;
+    }
+
+    private static long budgetMillis() {
+        try {
+            return Long.parseLong(ConfigManager.getProperty("locator.healing.budget.millis",
+                    String.valueOf(DEFAULT_BUDGET_MILLIS)).trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid locator.healing.budget.millis, using {}", DEFAULT_BUDGET_MILLIS);
+            return DEFAULT_BUDGET_MILLIS;
+        }
+    }
+
+    private static final class State {
+        private long spentNanos;
+        private int depth;
+        private long sectionStart;
+        private boolean warned;
+
+        long spent(long now) {
+            return spentNanos + (depth > 0 ? now - sectionStart : 0);
+        }
+    }
+}
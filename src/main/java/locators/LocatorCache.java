@@ -0,0 +1,187 @@
+package locators;
+
+import core.ConfigManager;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide cache of locators that worked, keyed by page identity and element name.
+ * Shared by all ElementLocator instances so a locator found in one scenario or thread is reused by
+ * the others. Bounded by locator.cache.max.size; when full, the least recently used entries are
+ * evicted in a batch rather than one per insert.
+ */
+public final class LocatorCache {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorCache.class);
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+    // Share of entries dropped per eviction pass
+    private static final double EVICTION_RATIO = 0.1;
+
+    private static final Map<Key, Entry> ENTRIES = new ConcurrentHashMap<>();
+    // Logical clock for recency; cheaper than System.nanoTime on every hit
+    private static final AtomicLong CLOCK = new AtomicLong();
+    private static final int MAX_SIZE = maxSize();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+    private static final LongAdder INVALIDATIONS = new LongAdder();
+
+    private LocatorCache() {
+    }
+
+    /**
+     * Cached locator for an element of a page, or null
+     */
+    public static By get(String pageKey, String elementName) {
+        Entry entry = ENTRIES.get(new Key(pageKey, elementName));
+        if (entry == null) {
+            MISSES.increment();
+            return null;
+        }
+        entry.lastAccess = CLOCK.incrementAndGet();
+        HITS.increment();
+        return entry.by;
+    }
+
+    public static void put(String pageKey, String elementName, By by) {
+        Entry previous = ENTRIES.put(new Key(pageKey, elementName), new Entry(by, CLOCK.incrementAndGet()));
+        if (previous == null && ENTRIES.size() > MAX_SIZE) {
+            evict();
+        }
+    }
+
+    /**
+     * Drop a locator that stopped matching
+     */
+    public static void invalidate(String pageKey, String elementName) {
+        if (ENTRIES.remove(new Key(pageKey, elementName)) != null) {
+            INVALIDATIONS.increment();
+        }
+    }
+
+    /**
+     * Drop all locators of a page
+     */
+    public static void invalidatePage(String pageKey) {
+        int before = ENTRIES.size();
+        ENTRIES.keySet().removeIf(key -> key.page.equals(pageKey));
+        INVALIDATIONS.add(Math.max(0, before - ENTRIES.size()));
+    }
+
+    public static void clear() {
+        ENTRIES.clear();
+        logger.debug("Locator cache cleared");
+    }
+
+    /**
+     * Element names cached for a page
+     */
+    public static List<String> elementsOf(String pageKey) {
+        return ENTRIES.keySet().stream()
+                .filter(key -> key.page.equals(pageKey))
+                .map(key -> key.element)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    public static int size() {
+        return ENTRIES.size();
+    }
+
+    /**
+     * Process-wide counters: size, hits, misses, hitRate, evictions, invalidations
+     */
+    public static Map<String, Object> stats() {
+        long hits = HITS.sum();
+        long misses = MISSES.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", ENTRIES.size());
+        stats.put("maxSize", MAX_SIZE);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        stats.put("evictions", EVICTIONS.sum());
+        stats.put("invalidations", INVALIDATIONS.sum());
+        return stats;
+    }
+
+    private static synchronized void evict() {
+        int excess = ENTRIES.size() - MAX_SIZE;
+        if (excess <= 0) {
+            // Another thread already made room
+            return;
+        }
+        int target = Math.max(excess, (int) (MAX_SIZE * EVICTION_RATIO));
+        // Snapshot access times first: hits keep updating them while we sort
+        List<long[]> order = new ArrayList<>();
+        List<Map.Entry<Key, Entry>> snapshot = new ArrayList<>(ENTRIES.entrySet());
+        for (int i = 0; i < snapshot.size(); i++) {
+            order.add(new long[]{snapshot.get(i).getValue().lastAccess, i});
+        }
+        order.sort(Comparator.comparingLong(a -> a[0]));
+        int evicted = 0;
+        for (int i = 0; i < target && i < order.size(); i++) {
+            Map.Entry<Key, Entry> oldest = snapshot.get((int) order.get(i)[1]);
+            if (ENTRIES.remove(oldest.getKey(), oldest.getValue())) {
+                evicted++;
+            }
+        }
+        EVICTIONS.add(evicted);
+        logger.debug("Evicted {} locator(s) from the cache", evicted);
+    }
+
+    private static int maxSize() {
+        try {
+            return Math.max(1, Integer.parseInt(ConfigManager.getProperty("locator.cache.max.size", String.valueOf(DEFAULT_MAX_SIZE)).trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid locator.cache.max.size, using {}", DEFAULT_MAX_SIZE);
+            return DEFAULT_MAX_SIZE;
+        }
+    }
+
+    private static final class Key {
+        private final String page;
+        private final String element;
+
+        Key(String page, String element) {
+            this.page = page == null ? PageKey.UNKNOWN : page;
+            this.element = element;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return page.equals(other.page) && element.equals(other.element);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(page, element);
+        }
+    }
+
+    private static final class Entry {
+        private final By by;
+        private volatile long lastAccess;
+
+        Entry(By by, long lastAccess) {
+            this.by = by;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package locators;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites locators into forms browsers evaluate faster.
+ * XPaths made only of descendant/child steps with attribute predicates become equivalent CSS
+ * selectors, which browsers match natively instead of through their XPath engine. Leading //*
+ * steps can be narrowed to the tags the element is known to have, and XPaths can be made
+ * relative so they search inside a container instead of the whole document.
+ */
+public final class LocatorOptimizer {
+
+    // One location step: separator, name test and bracketed predicates. Names are lowercase only:
+    // XPath name tests are case-sensitive against HTML's lowercase names, CSS ones are not
+    private static final Pattern STEP = Pattern.compile("(//|/)([a-z][a-z0-9-]*|\\*)((?:\\[[^\\[\\]]*\\])*)");
+    private static final Pattern PREDICATE = Pattern.compile("\\[([^\\[\\]]*)\\]");
+    private static final String LITERAL = "('[^']*'|\"[^\"]*\")";
+    // One condition of a predicate followed by 'and' or the end of the predicate
+    private static final Pattern CONDITION = Pattern.compile("\\s*(?:"
+            + "@([a-z][a-z0-9_-]*)\\s*=\\s*" + LITERAL
+            + "|(contains|starts-with)\\(\\s*@([a-z][a-z0-9_-]*)\\s*,\\s*" + LITERAL + "\\s*\\)"
+            + "|@([a-z][a-z0-9_-]*)"
+            + ")\\s*(and\\s+|$)");
+    // Attributes whose values HTML selectors compare case-insensitively (e.g. [type="submit"]
+    // matches type="SUBMIT"), while XPath compares them exactly
+    private static final Set<String> CASE_INSENSITIVE_ATTRIBUTES = Set.of(
+            "accept", "accept-charset", "align", "alink", "axis", "bgcolor", "charset", "checked",
+            "clear", "codetype", "color", "compact", "declare", "defer", "dir", "direction", "disabled",
+            "enctype", "face", "frame", "hreflang", "http-equiv", "lang", "language", "link", "media",
+            "method", "multiple", "nohref", "noresize", "noshade", "nowrap", "readonly", "rel", "rev",
+            "rules", "scope", "scrolling", "selected", "shape", "target", "text", "type", "valign",
+            "valuetype", "vlink");
+    private static final Pattern LEADING_ANY = Pattern.compile("^(\\(?)//\\*(?=\\[|$)");
+    private static final Pattern ABSOLUTE_START = Pattern.compile("(^|\\|\\s*|\\()//");
+
+    private LocatorOptimizer() {
+    }
+
+    /**
+     * CSS selector matching exactly what the XPath matches, or null when the XPath uses anything
+     * CSS cannot express (text(), positions, other axes, functions, or, letters compared against
+     * attributes like type that CSS matches ignoring case)
+     */
+    public static String toCss(String xpath) {
+        String trimmed = xpath.trim();
+        if (!trimmed.startsWith("//")) {
+            return null;
+        }
+        StringBuilder css = new StringBuilder();
+        Matcher step = STEP.matcher(trimmed);
+        int position = 0;
+        while (position < trimmed.length()) {
+            if (!step.find(position) || step.start() != position) {
+                return null;
+            }
+            if (position > 0) {
+                css.append(step.group(1).equals("//") ? " " : " > ");
+            }
+            String attributes = toCssAttributes(step.group(3));
+            if (attributes == null) {
+                return null;
+            }
+            String tag = step.group(2);
+            css.append(tag.equals("*") ? (attributes.isEmpty() ? "*" : "") : tag).append(attributes);
+            position = step.end();
+        }
+        return css.toString();
+    }
+
+    private static String toCssAttributes(String predicates) {
+        StringBuilder css = new StringBuilder();
+        Matcher predicate = PREDICATE.matcher(predicates);
+        while (predicate.find()) {
+            String body = predicate.group(1).trim();
+            if (body.isEmpty()) {
+                return null;
+            }
+            Matcher condition = CONDITION.matcher(body);
+            int position = 0;
+            while (position < body.length()) {
+                condition.region(position, body.length());
+                if (!condition.lookingAt()) {
+                    return null;
+                }
+                if (condition.group(1) != null) {
+                    String value = unquote(condition.group(2));
+                    if (!comparesExactly(condition.group(1), value)) {
+                        return null;
+                    }
+                    css.append('[').append(condition.group(1)).append('=')
+                            .append(CompiledLocator.cssString(value)).append(']');
+                } else if (condition.group(3) != null) {
+                    String value = unquote(condition.group(5));
+                    if (value.isEmpty()) {
+                        // contains(@a, '') is true for every element, [a*=""] for none
+                        return null;
+                    }
+                    if (!comparesExactly(condition.group(4), value)) {
+                        return null;
+                    }
+                    css.append('[').append(condition.group(4))
+                            .append(condition.group(3).equals("contains") ? "*=" : "^=")
+                            .append(CompiledLocator.cssString(value)).append(']');
+                } else {
+                    css.append('[').append(condition.group(6)).append(']');
+                }
+                position = condition.end();
+            }
+        }
+        return css.toString();
+    }
+
+    /**
+     * The XPath with a leading //* restricted to the given tags, e.g. //*[contains(text(),'Save')]
+     * to //button[contains(text(),'Save')]; null when it does not start with //* or no tags are given
+     */
+    public static String narrow(String xpath, Collection<String> tags) {
+        Matcher leading = LEADING_ANY.matcher(xpath.trim());
+        if (tags.isEmpty() || !leading.find()) {
+            return null;
+        }
+        String step;
+        if (tags.size() == 1) {
+            step = "//" + tags.iterator().next();
+        } else {
+            // Predicates run left to right, so the name test filters before the costlier ones
+            List<String> tests = new ArrayList<>();
+            for (String tag : tags) {
+                tests.add("self::" + tag);
+            }
+            step = "//*[" + String.join(" or ", tests) + "]";
+        }
+        return leading.group(1) + step + xpath.trim().substring(leading.end());
+    }
+
+    /**
+     * The XPath relative to the context node: "//input" searches the whole document even from an
+     * element, ".//input" only below it
+     */
+    public static String scopeXPath(String xpath) {
+        return ABSOLUTE_START.matcher(xpath.trim()).replaceAll("$1.//");
+    }
+
+    /**
+     * The locator for use from an element: XPaths made relative, other kinds unchanged
+     */
+    public static By scoped(By by) {
+        if (!(by instanceof By.Remotable)) {
+            return by;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        if (!"xpath".equals(parameters.using())) {
+            return by;
+        }
+        String xpath = String.valueOf(parameters.value());
+        String relative = scopeXPath(xpath);
+        return relative.equals(xpath) ? by : CompiledLocator.of(CompiledLocator.Kind.XPATH, relative).getBy();
+    }
+
+    /**
+     * Whether CSS compares the attribute against the value exactly as XPath does
+     */
+    private static boolean comparesExactly(String attribute, String value) {
+        return !CASE_INSENSITIVE_ATTRIBUTES.contains(attribute)
+                || value.toLowerCase(Locale.ROOT).equals(value.toUpperCase(Locale.ROOT));
+    }
+
+    private static String unquote(String literal) {
+        return literal.substring(1, literal.length() - 1);
+    }
+}
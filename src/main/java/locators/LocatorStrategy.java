@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * LocatorStrategy - Encapsulates different element location strategies
@@ -12,6 +13,8 @@ import java.util.Objects;
  */
 public class LocatorStrategy {
     private static final Logger logger = LoggerFactory.getLogger(LocatorStrategy.class);
+    // Usable after # or . without escaping
+    private static final Pattern CSS_IDENTIFIER = Pattern.compile("^-?[_a-zA-Z][_a-zA-Z0-9-]*$");
 
     private final StrategyType type;
     private final String value;
@@ -19,7 +22,14 @@ public class LocatorStrategy {
     private final int priority;
     private final boolean requiresVisibility;
     private final boolean isStable;
+    // Built once; getBy() used to allocate a new By on every lookup
+    private final CompiledLocator compiled;
 
+    /**
+     * Description of this strategy, not a locator
+     * @deprecated use {@link #toLocatorString()} for a locator SelfHealingLocator can parse
+     */
+    @Deprecated
     public String getLocators() {
         return String.format("LocatorStrategy{type=%s, value='%s', priority=%d, stable=%s}",
                 type, value, priority, isStable);
@@ -74,6 +84,7 @@ public class LocatorStrategy {
         this.priority = priority;
         this.requiresVisibility = requiresVisibility;
         this.isStable = isStable;
+        this.compiled = value == null ? null : compile(type, value);
     }
 
     // Factory methods for creating different strategy types
@@ -199,35 +210,57 @@ public class LocatorStrategy {
      * Convert strategy to Selenium By object
      */
     public By getBy() {
+        return getCompiled().getBy();
+    }
+
+    /**
+     * Compiled form of this strategy, shared with equal locator strings
+     */
+    public CompiledLocator getCompiled() {
+        if (compiled == null) {
+            throw new IllegalArgumentException("Strategy value is null for type: " + type);
+        }
+        return compiled;
+    }
+
+    /**
+     * This strategy in the id=/css=/xpath= format of SelfHealingLocator
+     */
+    public String toLocatorString() {
+        return getCompiled().toString();
+    }
+
+    private static CompiledLocator compile(StrategyType type, String value) {
         switch (type) {
             case ID:
-                return By.id(value);
+                return CompiledLocator.of(CompiledLocator.Kind.ID, value);
             case NAME:
-                return By.name(value);
+                return CompiledLocator.of(CompiledLocator.Kind.NAME, value);
             case CLASS_NAME:
-                return By.className(value);
+                return CompiledLocator.of(CompiledLocator.Kind.CLASS_NAME, value);
             case TAG_NAME:
-                return By.tagName(value);
+                return CompiledLocator.of(CompiledLocator.Kind.TAG_NAME, value);
             case LINK_TEXT:
-                return By.linkText(value);
+                return CompiledLocator.of(CompiledLocator.Kind.LINK_TEXT, value);
             case PARTIAL_LINK_TEXT:
-                return By.partialLinkText(value);
+                return CompiledLocator.of(CompiledLocator.Kind.PARTIAL_LINK_TEXT, value);
             case CSS_SELECTOR:
-                return By.cssSelector(value);
+                return CompiledLocator.of(CompiledLocator.Kind.CSS, value);
             case XPATH:
-                return By.xpath(value);
+                return CompiledLocator.of(CompiledLocator.Kind.XPATH, value);
             case DATA_TESTID:
-                return By.cssSelector("[data-testid='" + value + "']");
+                return CompiledLocator.cssAttribute(null, "data-testid", value);
             case ARIA_LABEL:
-                return By.cssSelector("[aria-label='" + value + "']");
+                return CompiledLocator.cssAttribute(null, "aria-label", value);
             case PLACEHOLDER:
-                return By.cssSelector("[placeholder='" + value + "']");
+                return CompiledLocator.cssAttribute(null, "placeholder", value);
             case ALT_TEXT:
-                return By.cssSelector("[alt='" + value + "']");
+                return CompiledLocator.cssAttribute(null, "alt", value);
             case TITLE:
-                return By.cssSelector("[title='" + value + "']");
+                return CompiledLocator.cssAttribute(null, "title", value);
             case TEXT_CONTENT:
-                return By.xpath("//*[contains(text(), '" + value + "')]");
+                return CompiledLocator.of(CompiledLocator.Kind.XPATH,
+                        "//*[contains(text(), " + CompiledLocator.xpathLiteral(value) + ")]");
             case CUSTOM:
                 // Try to parse custom locator
                 return parseCustomLocator(value);
@@ -239,16 +272,16 @@ public class LocatorStrategy {
     /**
      * Parse custom locator string
      */
-    private By parseCustomLocator(String customLocator) {
+    private static CompiledLocator parseCustomLocator(String customLocator) {
         if (customLocator.startsWith("//") || customLocator.startsWith("(//")) {
-            return By.xpath(customLocator);
+            return CompiledLocator.of(CompiledLocator.Kind.XPATH, customLocator);
         } else if (customLocator.startsWith("#") || customLocator.startsWith(".") ||
                 customLocator.contains("[") || customLocator.contains(">")) {
-            return By.cssSelector(customLocator);
+            return CompiledLocator.of(CompiledLocator.Kind.CSS, customLocator);
         } else {
             // Default to CSS selector
             logger.warn("Custom locator format unclear, defaulting to CSS selector: {}", customLocator);
-            return By.cssSelector(customLocator);
+            return CompiledLocator.of(CompiledLocator.Kind.CSS, customLocator);
         }
     }
 
@@ -352,17 +385,17 @@ public class LocatorStrategy {
     public LocatorStrategy createFallback() {
         switch (type) {
             case ID:
-                return cssSelector("#" + value);
+                return cssSelector(CSS_IDENTIFIER.matcher(value).matches() ? "#" + value : "[id=" + CompiledLocator.cssString(value) + "]");
             case CLASS_NAME:
-                return cssSelector("." + value);
+                return cssSelector(CSS_IDENTIFIER.matcher(value).matches() ? "." + value : "[class~=" + CompiledLocator.cssString(value) + "]");
             case TAG_NAME:
                 return cssSelector(value);
             case NAME:
-                return cssSelector("[name='" + value + "']");
+                return cssSelector("[name=" + CompiledLocator.cssString(value) + "]");
             case LINK_TEXT:
-                return xpath("//a[text()='" + value + "']");
+                return xpath("//a[text()=" + CompiledLocator.xpathLiteral(value) + "]");
             case PARTIAL_LINK_TEXT:
-                return xpath("//a[contains(text(), '" + value + "')]");
+                return xpath("//a[contains(text(), " + CompiledLocator.xpathLiteral(value) + ")]");
             default:
                 return null;
         }
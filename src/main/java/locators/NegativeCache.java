@@ -0,0 +1,109 @@
+package locators;
+
+import core.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Elements recently found absent, keyed by page identity and element name, with the DOM version
+ * they were absent in. Presence checks of optional elements (banners, error messages) consult it
+ * before running lookups and healing again: while the DOM is unchanged the answer cannot differ.
+ * Entries also expire after locator.negative.cache.ttl.millis, for changes no mutation reports
+ * (e.g. media queries); 0 disables the cache.
+ */
+public final class NegativeCache {
+    private static final Logger logger = LoggerFactory.getLogger(NegativeCache.class);
+
+    private static final long DEFAULT_TTL_MILLIS = 2000;
+    private static final int MAX_SIZE = 1000;
+
+    private static final long TTL_NANOS = ttlMillis() * 1_000_000;
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private NegativeCache() {
+    }
+
+    /**
+     * Whether the element was found absent in this same DOM version, recently enough
+     * @param domVersion from DomVersion.current; null never matches
+     */
+    public static boolean isAbsent(String pageKey, String elementName, String domVersion) {
+        if (domVersion == null || TTL_NANOS <= 0) {
+            return false;
+        }
+        Entry entry = ENTRIES.get(key(pageKey, elementName));
+        if (entry != null && entry.domVersion.equals(domVersion) && System.nanoTime() < entry.expiresAt) {
+            HITS.increment();
+            return true;
+        }
+        MISSES.increment();
+        return false;
+    }
+
+    /**
+     * Remember an absence
+     * @param domVersion version read before the lookup started, so changes made during it invalidate the entry
+     */
+    public static void recordAbsent(String pageKey, String elementName, String domVersion) {
+        if (domVersion == null || TTL_NANOS <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (ENTRIES.size() >= MAX_SIZE) {
+            ENTRIES.values().removeIf(entry -> now >= entry.expiresAt);
+            if (ENTRIES.size() >= MAX_SIZE) {
+                // Entries live for seconds; dropping them all only costs a few repeated lookups
+                ENTRIES.clear();
+            }
+        }
+        ENTRIES.put(key(pageKey, elementName), new Entry(domVersion, now + TTL_NANOS));
+    }
+
+    public static void clear() {
+        ENTRIES.clear();
+        logger.debug("Negative locator cache cleared");
+    }
+
+    /**
+     * Process-wide counters: size, hits, misses
+     */
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", ENTRIES.size());
+        stats.put("hits", HITS.sum());
+        stats.put("misses", MISSES.sum());
+        return stats;
+    }
+
+    private static String key(String pageKey, String elementName) {
+        return (pageKey == null ? PageKey.UNKNOWN : pageKey) + '\t' + elementName;
+    }
+
+    private static long ttlMillis() {
+        try {
+            return Long.parseLong(ConfigManager.getProperty("locator.negative.cache.ttl.millis",
+                    String.valueOf(DEFAULT_TTL_MILLIS)).trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid locator.negative.cache.ttl.millis, using {}", DEFAULT_TTL_MILLIS);
+            return DEFAULT_TTL_MILLIS;
+        }
+    }
+
+    private static final class Entry {
+        private final String domVersion;
+        private final long expiresAt;
+
+        Entry(String domVersion, long expiresAt) {
+            this.domVersion = domVersion;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
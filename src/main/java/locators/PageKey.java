@@ -0,0 +1,52 @@
+package locators;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Page identity for per-page locator data: the URL reduced to scheme://host/path with query,
+ * fragment and id-like path segments dropped, so /employee/17 and /employee/42 share one key
+ */
+public final class PageKey {
+    private static final Pattern VARIABLE_SEGMENT = Pattern.compile(
+            "^(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})$");
+
+    // Key used when the page cannot be determined
+    public static final String UNKNOWN = "unknown";
+
+    private PageKey() {
+    }
+
+    /**
+     * Reduce a URL to scheme://host/path with id-like path segments replaced by '*'
+     */
+    public static String fromUrl(String url) {
+        if (url == null || url.isBlank()) {
+            return UNKNOWN;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            StringBuilder pattern = new StringBuilder();
+            if (uri.getScheme() != null) {
+                pattern.append(uri.getScheme().toLowerCase(Locale.ROOT)).append("://");
+            }
+            if (uri.getHost() != null) {
+                pattern.append(uri.getHost().toLowerCase(Locale.ROOT));
+            }
+            if (uri.getPort() != -1) {
+                pattern.append(':').append(uri.getPort());
+            }
+            String path = uri.getPath() == null ? "" : uri.getPath();
+            for (String segment : path.split("/")) {
+                if (!segment.isEmpty()) {
+                    pattern.append('/').append(VARIABLE_SEGMENT.matcher(segment).matches() ? "*" : segment);
+                }
+            }
+            return pattern.toString();
+        } catch (URISyntaxException e) {
+            return url.trim();
+        }
+    }
+}
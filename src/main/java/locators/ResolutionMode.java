@@ -0,0 +1,47 @@
+package locators;
+
+import core.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/**
+ * How candidate locators of an element are evaluated, from locator.resolution.mode
+ */
+public enum ResolutionMode {
+    // One WebDriver lookup per candidate, each waiting on its own
+    SEQUENTIAL,
+    // Primary (or stored healed) candidate checked in the page by a single no-wait script call,
+    // sequential lookup of all candidates when it misses
+    BROWSER,
+    // All candidates polled together every tick until the first visible hit or one overall deadline
+    RACE;
+
+    private static final Logger logger = LoggerFactory.getLogger(ResolutionMode.class);
+    private static final ResolutionMode DEFAULT = BROWSER;
+
+    private static final class Holder {
+        private static final ResolutionMode CONFIGURED = parse(ConfigManager.getProperty("locator.resolution.mode", DEFAULT.name()));
+    }
+
+    public static ResolutionMode configured() {
+        return Holder.CONFIGURED;
+    }
+
+    /**
+     * Whether candidates are evaluated together in the page rather than one WebDriver lookup each
+     */
+    public boolean evaluatesInBrowser() {
+        return this != SEQUENTIAL;
+    }
+
+    static ResolutionMode parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown locator.resolution.mode '{}', using {}", value, DEFAULT);
+            return DEFAULT;
+        }
+    }
+}
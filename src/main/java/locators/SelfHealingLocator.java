@@ -10,6 +10,7 @@ import org.slf4j.LoggerFactory;
 import utils.WaitUtils;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -17,12 +18,39 @@ public class SelfHealingLocator {
     private static final Logger logger = LoggerFactory.getLogger(SelfHealingLocator.class);
 
     public static WebElement findElement(WebDriver driver, String elementName, String... locatorStrategies) {
-        for (String strategy : locatorStrategies) {
+        // A locator healed in an earlier run goes first, so the broken primary is not retried every time
+        String page = pageKey(driver);
+        HealedLocatorStore store = HealedLocatorStore.getInstance();
+        String healed = store.lookup(page, elementName);
+        if (ResolutionMode.configured().evaluatesInBrowser()) {
+            WebElement element = resolveInBrowser(driver, page, elementName, healed, locatorStrategies);
+            if (element != null) {
+                return element;
+            }
+        }
+        if (healed != null) {
+            try {
+                WebElement element = driver.findElement(parseLocator(healed));
+                if (element.isDisplayed()) {
+                    logger.debug("Element '{}' found using stored healed locator: {}", elementName, healed);
+                    return element;
+                }
+            } catch (Exception e) {
+                logger.debug("Stored healed locator '{}' failed for element '{}'", healed, elementName);
+            }
+            store.invalidate(page, elementName);
+        }
+
+        for (int i = 0; i < locatorStrategies.length; i++) {
+            String strategy = locatorStrategies[i];
             try {
                 By locator = parseLocator(strategy);
                 WebElement element = driver.findElement(locator);
                 if (element.isDisplayed()) {
                     logger.info("Element '{}' found using strategy: {}", elementName, strategy);
+                    if (i > 0) {
+                        store.record(page, elementName, strategy);
+                    }
                     return element;
                 }
             } catch (Exception e) {
@@ -30,59 +58,200 @@ public class SelfHealingLocator {
             }
         }
 
-        // Fallback to intelligent locator generation
-        return findElementByIntelligentSearch(driver, elementName);
+        // Healing only once the given locators had their waits, in every resolution mode: a
+        // lookalike scored before the element rendered would be stored as its locator
+        WebElement element = healFromSnapshot(driver, page, elementName, locatorStrategies);
+        if (element != null) {
+            return element;
+        }
+        return findElementByIntelligentSearch(driver, page, elementName);
+    }
+
+    /**
+     * Whether the element is in the DOM right now, by its stored healed locator or one of the given
+     * ones. Nothing waits for it to appear and nothing is healed or recorded, so checking an
+     * optional element that is absent costs a few lookups, and cannot store a lookalike for it. An
+     * absence is remembered for the current DOM version, so repeated checks skip even those
+     */
+    public static boolean isPresent(WebDriver driver, String elementName, String... locatorStrategies) {
+        String page = pageKey(driver);
+        String version = DomVersion.current(driver);
+        if (NegativeCache.isAbsent(page, elementName, version)) {
+            logger.debug("Element '{}' was absent and the DOM has not changed since", elementName);
+            return false;
+        }
+        List<String> candidates = new ArrayList<>();
+        String healed = HealedLocatorStore.getInstance().lookup(page, elementName);
+        if (healed != null) {
+            candidates.add(healed);
+        }
+        candidates.addAll(Arrays.asList(locatorStrategies));
+
+        boolean present = WaitUtils.withoutImplicitWait(driver, () -> {
+            for (String candidate : candidates) {
+                try {
+                    if (!driver.findElements(parseLocator(candidate)).isEmpty()) {
+                        return true;
+                    }
+                } catch (Exception e) {
+                    logger.debug("Presence check with '{}' failed for element '{}'", candidate, elementName);
+                }
+            }
+            return false;
+        });
+        if (!present) {
+            NegativeCache.recordAbsent(page, elementName, version);
+        }
+        return present;
     }
 
-    private static By parseLocator(String strategy) {
-        if (strategy.startsWith("id=")) {
-            return By.id(strategy.substring(3));
-        } else if (strategy.startsWith("name=")) {
-            return By.name(strategy.substring(5));
-        } else if (strategy.startsWith("class=")) {
-            return By.className(strategy.substring(6));
-        } else if (strategy.startsWith("xpath=")) {
-            return By.xpath(strategy.substring(6));
-        } else if (strategy.startsWith("css=")) {
-            return By.cssSelector(strategy.substring(4));
-        } else if (strategy.startsWith("linkText=")) {
-            return By.linkText(strategy.substring(9));
-        } else if (strategy.startsWith("partialLinkText=")) {
-            return By.partialLinkText(strategy.substring(16));
-        } else if (strategy.startsWith("tagName=")) {
-            return By.tagName(strategy.substring(8));
-        }
-
-        // Default to xpath
-        return By.xpath(strategy);
+    /**
+     * Score the visible elements of one DOM snapshot against what the element name and its broken
+     * locators say about it; one round trip instead of a lookup per guessed XPath
+     */
+    private static WebElement healFromSnapshot(WebDriver driver, String page, String elementName, String[] locatorStrategies) {
+        if (!HealingBudget.hasRemaining()) {
+            return null;
+        }
+        HealingBudget.enter();
+        try {
+            DomSnapshot snapshot = DomSnapshot.capture(driver);
+            if (snapshot == null) {
+                return null;
+            }
+            // The element as last seen if it was ever found, else what its name and locators suggest
+            ElementFingerprint known = FingerprintIndex.getInstance().lookup(page, elementName);
+            DomSnapshot.Match match = known == null ? null : snapshot.bestMatch(known, DomSnapshot.MIN_SIMILARITY);
+            if (match == null) {
+                match = snapshot.bestMatch(ElementFingerprint.hint(elementName, locatorStrategies), DomSnapshot.MIN_SIMILARITY);
+            }
+            if (match == null) {
+                return null;
+            }
+            logger.info("Element '{}' healed from DOM snapshot of {} element(s), similarity {}: {}",
+                    elementName, snapshot.size(), String.format("%.2f", match.getScore()), match.getLocator());
+            HealedLocatorStore.getInstance().record(page, elementName, match.getLocator());
+            FingerprintIndex.getInstance().record(page, elementName, match.getFingerprint());
+            return match.getElement();
+        } finally {
+            HealingBudget.exit();
+        }
     }
 
-    private static WebElement findElementByIntelligentSearch(WebDriver driver, String elementName) {
-        List<String> commonStrategies = Arrays.asList(
-                "//button[contains(text(),'" + elementName + "')]",
-                "//input[@placeholder='" + elementName + "']",
-                "//label[contains(text(),'" + elementName + "')]/following-sibling::input",
-                "//*[@title='" + elementName + "']",
-                "//*[@alt='" + elementName + "']",
-                "//*[contains(@class,'" + elementName.toLowerCase() + "')]",
-                "//*[@data-testid='" + elementName.toLowerCase() + "']"
-        );
+    /**
+     * Stored and given locators evaluated in one script call, or null on no match. The script does
+     * not wait for elements to appear, so only the stored or primary locator may win here: a
+     * fallback matching first could just mean the primary's element had not rendered yet. Those
+     * misses go through the waiting lookups, which also decide what gets recorded
+     */
+    private static WebElement resolveInBrowser(WebDriver driver, String page, String elementName,
+                                               String healed, String[] locatorStrategies) {
+        List<String> candidates = new ArrayList<>();
+        if (healed != null) {
+            candidates.add(healed);
+        }
+        candidates.addAll(Arrays.asList(locatorStrategies));
 
-        for (String strategy : commonStrategies) {
-            try {
-                WebElement element = driver.findElement(By.xpath(strategy));
-                if (element.isDisplayed()) {
-                    logger.info("Element '{}' found using intelligent search: {}", elementName, strategy);
-                    return element;
+        List<By> bys = new ArrayList<>();
+        try {
+            for (String candidate : candidates) {
+                bys.add(parseLocator(candidate));
+            }
+        } catch (IllegalArgumentException e) {
+            // e.g. an empty value; the sequential lookup reports it per locator
+            return null;
+        }
+        BrowserSideResolver.Resolution hit = BrowserSideResolver.resolve(driver, bys, true);
+        if (hit == null) {
+            return null;
+        }
+
+        int given = hit.getIndex() - (healed != null ? 1 : 0);
+        if (given > 0) {
+            logger.debug("Fallback '{}' matched before '{}' rendered; using the waiting lookups",
+                    candidates.get(hit.getIndex()), elementName);
+            return null;
+        }
+        if (hit.getFingerprint() != null) {
+            FingerprintIndex.getInstance().record(page, elementName, hit.getFingerprint());
+        }
+        if (given < 0) {
+            logger.debug("Element '{}' found using stored healed locator: {}", elementName, healed);
+        } else {
+            logger.info("Element '{}' found using strategy: {}", elementName, candidates.get(hit.getIndex()));
+            if (healed != null) {
+                // The primary locator works again
+                HealedLocatorStore.getInstance().invalidate(page, elementName);
+            }
+        }
+        return hit.getElement();
+    }
+
+    private static String pageKey(WebDriver driver) {
+        try {
+            return PageKey.fromUrl(driver.getCurrentUrl());
+        } catch (Exception e) {
+            return PageKey.UNKNOWN;
+        }
+    }
+
+    static By parseLocator(String strategy) {
+        // Parsed once per distinct string; unprefixed strings default to xpath
+        return CompiledLocator.parse(strategy).getBy();
+    }
+
+    private static WebElement findElementByIntelligentSearch(WebDriver driver, String page, String elementName) {
+        if (!HealingBudget.hasRemaining()) {
+            throw new RuntimeException("Unable to locate element: " + elementName + " (healing budget spent)");
+        }
+        List<String> commonStrategies = intelligentSearchXPaths(elementName);
+
+        HealingBudget.enter();
+        try {
+            // Guessed locators: the element's own ones already waited for it to appear
+            WebElement found = WaitUtils.withoutImplicitWait(driver, () -> {
+                for (String strategy : commonStrategies) {
+                    if (!HealingBudget.hasRemaining()) {
+                        break;
+                    }
+                    try {
+                        WebElement element = driver.findElement(parseLocator(strategy));
+                        if (element.isDisplayed()) {
+                            logger.info("Element '{}' found using intelligent search: {}", elementName, strategy);
+                            HealedLocatorStore.getInstance().record(page, elementName, "xpath=" + strategy);
+                            return element;
+                        }
+                    } catch (Exception e) {
+                        // Continue to next strategy
+                    }
                 }
-            } catch (Exception e) {
-                // Continue to next strategy
+                return null;
+            });
+            if (found != null) {
+                return found;
             }
+        } finally {
+            HealingBudget.exit();
         }
 
         throw new RuntimeException("Unable to locate element: " + elementName);
     }
 
+    private static List<String> intelligentSearchXPaths(String elementName) {
+        // Quoted with xpathLiteral: names like "Driver's license" used to break the XPath
+        String name = CompiledLocator.xpathLiteral(elementName);
+        String lowerName = CompiledLocator.xpathLiteral(elementName.toLowerCase());
+        return Arrays.asList(
+                "//button[contains(text()," + name + ")]",
+                "//input[@placeholder=" + name + "]",
+                "//label[contains(text()," + name + ")]/following-sibling::input",
+                "//*[@title=" + name + "]",
+                "//*[@alt=" + name + "]",
+                "//*[contains(@class," + lowerName + ")]",
+                "//*[@data-testid=" + lowerName + "]"
+        );
+    }
+
     public static List<WebElement> findElements(WebDriver driver, String elementName, String[] locators) {
         for (String locator : locators) {
             try {
@@ -102,19 +271,11 @@ public class SelfHealingLocator {
     }
 
     private static List<WebElement> findElementsByIntelligentSearch(WebDriver driver, String elementName) {
-        List<String> commonStrategies = Arrays.asList(
-                "//button[contains(text(),'" + elementName + "')]",
-                "//input[@placeholder='" + elementName + "']",
-                "//label[contains(text(),'" + elementName + "')]/following-sibling::input",
-                "//*[@title='" + elementName + "']",
-                "//*[@alt='" + elementName + "']",
-                "//*[contains(@class,'" + elementName.toLowerCase() + "')]",
-                "//*[@data-testid='" + elementName.toLowerCase() + "']"
-        );
+        List<String> commonStrategies = intelligentSearchXPaths(elementName);
 
         for (String strategy : commonStrategies) {
             try {
-                List<WebElement> elements = driver.findElements(By.xpath(strategy));
+                List<WebElement> elements = driver.findElements(parseLocator(strategy));
                 if (!elements.isEmpty()) {
                     logger.info("Elements for '{}' found using intelligent search: {}", elementName, strategy);
                     return elements;
@@ -129,24 +290,18 @@ public class SelfHealingLocator {
 
     public WebElement findElementWithHealing(String elementName, LocatorStrategy[] strategies) {
         WebDriver driver = DriverManager.getDriver();
-        for (LocatorStrategy strategy : strategies) {
-            try {
-                WebElement element = findElement(driver, elementName, strategy.getLocators());
-                if (element != null) {
-                    return element;
-                }
-            } catch (Exception e) {
-                logger.warn("Failed to find element '{}' using strategy '{}'", elementName, strategy);
-            }
+        // One lookup over all strategies: healing runs once, and a fallback that works is recorded
+        String[] locators = new String[strategies.length];
+        for (int i = 0; i < strategies.length; i++) {
+            locators[i] = strategies[i].toLocatorString();
         }
-
-        throw new RuntimeException("Unable to locate element: " + elementName);
+        return findElement(driver, elementName, locators);
     }
 
     public List<WebElement> findElementsWithHealing(String elementName, LocatorStrategy strategy) {
         WebDriver driver = DriverManager.getDriver();
         try {
-            List<WebElement> elements = driver.findElements(By.xpath(strategy.getLocator()));
+            List<WebElement> elements = driver.findElements(strategy.getBy());
             if (elements.isEmpty()) {
                 throw new RuntimeException("No elements found for: " + elementName);
             }
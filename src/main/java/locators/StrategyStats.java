@@ -0,0 +1,204 @@
+package locators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-element success rate and latency of each locator strategy, used to try the strategy most
+ * likely to succeed quickly first.
+ * Ordering is a UCB1 bandit: a strategy's score is its mean reward (1 / (1 + seconds) on success,
+ * 0 on failure) plus an exploration bonus that shrinks as it is tried. Strategies without history
+ * start from their stability score, so an unproven XPath does not jump ahead of a proven id.
+ * Kept in .genai/strategy-stats.json and saved when the JVM exits.
+ */
+public final class StrategyStats {
+    private static final Logger logger = LoggerFactory.getLogger(StrategyStats.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String STATS_FILE = ".genai/strategy-stats.json";
+    // Weight of the exploration bonus; low because a failed try can cost a whole timeout
+    private static final double EXPLORATION = 0.2;
+
+    private final Path statsPath;
+    // page key + '\t' + element name -> strategy key -> stats
+    private final Map<String, Map<String, Stat>> stats = new ConcurrentHashMap<>();
+
+    private static final class Holder {
+        private static final StrategyStats INSTANCE = load(Paths.get(STATS_FILE));
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::save, "strategy-stats-save"));
+        }
+    }
+
+    private StrategyStats(Path statsPath) {
+        this.statsPath = statsPath;
+    }
+
+    /**
+     * Statistics shared by this JVM, loaded on first access
+     */
+    public static StrategyStats getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    static StrategyStats load(Path statsPath) {
+        StrategyStats loaded = new StrategyStats(statsPath);
+        if (!Files.isRegularFile(statsPath)) {
+            return loaded;
+        }
+        try {
+            Iterator<Map.Entry<String, JsonNode>> elements = objectMapper.readTree(statsPath.toFile()).fields();
+            while (elements.hasNext()) {
+                Map.Entry<String, JsonNode> element = elements.next();
+                Map<String, Stat> strategies = new ConcurrentHashMap<>();
+                element.getValue().fields().forEachRemaining(entry -> strategies.put(entry.getKey(), new Stat(
+                        entry.getValue().path("attempts").asLong(),
+                        entry.getValue().path("successes").asLong(),
+                        entry.getValue().path("reward").asDouble(),
+                        entry.getValue().path("millis").asLong())));
+                loaded.stats.put(element.getKey(), strategies);
+            }
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable strategy stats {}: {}", statsPath, e.getMessage());
+            loaded.stats.clear();
+        }
+        return loaded;
+    }
+
+    /**
+     * Strategies reordered by score, best first; ties keep the caller's order
+     */
+    public LocatorStrategy[] order(String pageKey, String elementName, LocatorStrategy[] strategies) {
+        Map<String, Stat> element = stats.get(key(pageKey, elementName));
+        if (element == null || strategies.length < 2) {
+            return strategies;
+        }
+        long total = 0;
+        for (LocatorStrategy strategy : strategies) {
+            Stat stat = element.get(strategyKey(strategy));
+            total += stat == null ? 0 : stat.attempts();
+        }
+
+        List<LocatorStrategy> ordered = new ArrayList<>(List.of(strategies));
+        Map<LocatorStrategy, Double> scores = new IdentityHashMap<>();
+        for (LocatorStrategy strategy : strategies) {
+            scores.put(strategy, score(element.get(strategyKey(strategy)), strategy, total));
+        }
+        // List.sort is stable, so equal scores keep the caller's order
+        ordered.sort(Comparator.comparingDouble(scores::get).reversed());
+        if (ordered.get(0) != strategies[0]) {
+            logger.debug("Trying {} first for element '{}' based on past runs", ordered.get(0).getStrategyName(), elementName);
+        }
+        return ordered.toArray(new LocatorStrategy[0]);
+    }
+
+    public void recordSuccess(String pageKey, String elementName, LocatorStrategy strategy, long millis) {
+        stat(pageKey, elementName, strategy).record(true, millis);
+    }
+
+    public void recordFailure(String pageKey, String elementName, LocatorStrategy strategy, long millis) {
+        stat(pageKey, elementName, strategy).record(false, millis);
+    }
+
+    /**
+     * Write the statistics; called at JVM exit
+     */
+    public synchronized void save() {
+        if (stats.isEmpty()) {
+            return;
+        }
+        ObjectNode root = objectMapper.createObjectNode();
+        new TreeMap<>(stats).forEach((element, strategies) -> {
+            ObjectNode elementNode = root.putObject(element);
+            new TreeMap<>(strategies).forEach((strategy, stat) -> stat.writeTo(elementNode.putObject(strategy)));
+        });
+
+        try {
+            Files.createDirectories(statsPath.toAbsolutePath().getParent());
+            Path tempPath = statsPath.resolveSibling(statsPath.getFileName() + ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempPath.toFile(), root);
+            Files.move(tempPath, statsPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not write strategy stats {}: {}", statsPath, e.getMessage());
+        }
+    }
+
+    private Stat stat(String pageKey, String elementName, LocatorStrategy strategy) {
+        return stats.computeIfAbsent(key(pageKey, elementName), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(strategyKey(strategy), k -> new Stat(0, 0, 0, 0));
+    }
+
+    private static double score(Stat stat, LocatorStrategy strategy, long totalAttempts) {
+        // The stability score (0-80) acts as one prior observation
+        double prior = strategy.getStabilityScore() / 100.0;
+        long attempts = stat == null ? 0 : stat.attempts();
+        double reward = stat == null ? 0 : stat.reward();
+        double mean = (reward + prior) / (attempts + 1);
+        return mean + EXPLORATION * Math.sqrt(Math.log(totalAttempts + 1) / (attempts + 1));
+    }
+
+    private static String key(String pageKey, String elementName) {
+        return pageKey + '\t' + elementName;
+    }
+
+    private static String strategyKey(LocatorStrategy strategy) {
+        return strategy.getType().name() + ':' + strategy.getValue();
+    }
+
+    private static final class Stat {
+        private long attempts;
+        private long successes;
+        // Sum of per-attempt rewards
+        private double reward;
+        private long millis;
+
+        Stat(long attempts, long successes, double reward, long millis) {
+            this.attempts = attempts;
+            this.successes = successes;
+            this.reward = reward;
+            this.millis = millis;
+        }
+
+        synchronized void record(boolean success, long elapsedMillis) {
+            attempts++;
+            millis += elapsedMillis;
+            if (success) {
+                successes++;
+                reward += 1.0 / (1.0 + elapsedMillis / 1000.0);
+            }
+        }
+
+        synchronized long attempts() {
+            return attempts;
+        }
+
+        synchronized double reward() {
+            return reward;
+        }
+
+        synchronized void writeTo(ObjectNode node) {
+            node.put("attempts", attempts);
+            node.put("successes", successes);
+            node.put("reward", reward);
+            node.put("millis", millis);
+        }
+    }
+}
@@ -16,7 +16,7 @@ public class ExtentReportManager {
     private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
     private static final Logger logger = LoggerFactory.getLogger(ExtentReportManager.class);
 
-    public static void initializeExtentReports() {
+    public static synchronized void initializeExtentReports() {
         if (extent == null) {
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
             String reportPath = "target/extent-reports/ExtentReport_" + timestamp + ".html";
@@ -40,6 +40,8 @@ public class ExtentReportManager {
     }
 
     public static ExtentTest createTest(String testName, String description) {
+        // Spark reporter is only built once the first test is reported
+        initializeExtentReports();
         ExtentTest extentTest = extent.createTest(testName, description);
         test.set(extentTest);
         return extentTest;
@@ -79,7 +81,7 @@ public class ExtentReportManager {
         }
     }
 
-    public static void flushReports() {
+    public static synchronized void flushReports() {
         if (extent != null) {
             extent.flush();
             logger.info("Extent Reports flushed successfully");
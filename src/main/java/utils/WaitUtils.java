@@ -1,6 +1,6 @@
 package utils;
 
-import com.ai.automation.core.ConfigManager;
+import core.ConfigManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -9,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.function.Supplier;
 
 public class WaitUtils {
     private static WebDriverWait wait = null;
@@ -27,6 +28,20 @@ public class WaitUtils {
         }
     }
 
+    /**
+     * Run a lookup that should answer immediately instead of waiting for elements to appear;
+     * the driver's implicit wait is restored afterwards
+     */
+    public static <T> T withoutImplicitWait(WebDriver driver, Supplier<T> lookup) {
+        Duration implicitWait = driver.manage().timeouts().getImplicitWaitTimeout();
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return lookup.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+    }
+
     public static void waitForElementToBeVisible(WebElement element) {
         try {
             wait.until(ExpectedConditions.visibilityOf(element));
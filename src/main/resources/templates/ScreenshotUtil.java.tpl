@@ -0,0 +1,42 @@
+package utils;
+
+import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Utility class for capturing screenshots
+ */
+public class ScreenshotUtil {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotUtil.class);
+
+    public static String captureScreenshot(WebDriver driver, String testName) {
+        try {
+            TakesScreenshot screenshot = (TakesScreenshot) driver;
+            File sourceFile = screenshot.getScreenshotAs(OutputType.FILE);
+
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String fileName = testName + "_" + timestamp + ".png";
+            String filePath = "target/screenshots/" + fileName;
+
+            File destFile = new File(filePath);
+            destFile.getParentFile().mkdirs();
+
+            FileUtils.copyFile(sourceFile, destFile);
+            logger.info("Screenshot captured: {}", filePath);
+
+            return filePath;
+        } catch (IOException e) {
+            logger.error("Failed to capture screenshot", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+extent.reporter.spark.start=true
+extent.reporter.spark.out=target/extent-reports/ExtentSpark.html
+extent.reporter.spark.config=src/test/resources/config/extent-config.xml
+
+extent.reporter.json.start=true
+extent.reporter.json.out=target/extent-reports/ExtentJson.json
+
+extent.reporter.pdf.start=true
+extent.reporter.pdf.out=target/extent-reports/ExtentPdf.pdf
@@ -0,0 +1,40 @@
+package runners;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.DataProvider;
+
+/**
+ * ${marker} ${featureName}.feature
+ */
+@CucumberOptions(
+    features = "${featuresPath}${featureName}.feature",
+    glue = {"steps", "hooks"},
+    plugin = {
+        "pretty",
+        "html:target/cucumber-reports/${runnerName}.html",
+        "json:target/cucumber-reports/${runnerName}.json",
+        "junit:target/cucumber-reports/${runnerName}.xml",
+        "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:",
+        "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
+    },
+    monochrome = true,
+    publish = true,
+    tags = "@smoke or @regression"
+)
+public class ${runnerName} extends AbstractTestNGCucumberTests {
+
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        return super.scenarios();
+    }
+
+    /**
+     * Get the feature name this runner was generated for
+     * @return feature name
+     */
+    public static String getFeatureName() {
+        return "${featureName}";
+    }
+}
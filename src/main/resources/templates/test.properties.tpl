@@ -0,0 +1,28 @@
+# Test Configuration Properties
+# Browser Configuration
+browser=chrome
+headless=false
+implicit.wait=10
+explicit.wait=20
+page.load.timeout=30
+
+# Environment Configuration
+base.url=https://example.com
+api.base.url=https://api.example.com
+environment=qa
+
+# Database Configuration
+db.host=localhost
+db.port=5432
+db.name=testdb
+db.username=testuser
+db.password=testpass
+
+# Reporting Configuration
+extent.report.path=target/extent-reports/
+allure.results.directory=target/allure-results/
+screenshot.on.failure=true
+
+# Retry Configuration
+retry.count=2
+retry.enabled=true
@@ -0,0 +1,11 @@
+<?xml version="1.0" encoding="UTF-8"?>
+<!DOCTYPE suite SYSTEM "https://testng.org/testng-1.0.dtd">
+<suite name="AI_TestSuite" parallel="tests" thread-count="${shardCount}" data-provider-thread-count="1" verbose="2">
+    <parameter name="browser" value="chrome"/>
+    <parameter name="environment" value="qa"/>
+    <parameter name="headless" value="false"/>
+    <listeners>
+        <listener class-name="reporting.ExtentReportManager"/>
+        <listener class-name="reporting.AllureReportManager"/>
+    </listeners>
+${shards}</suite>
@@ -0,0 +1,138 @@
+package benchmarks;
+
+import locators.CompiledLocator;
+import locators.LocatorOptimizer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Times locators as written against their optimized forms on a large generated page.
+ * Each case is measured twice: in-page (the selector engine alone, via querySelectorAll or
+ * document.evaluate in a script loop) and through WebDriver (what a step actually pays).
+ *
+ * Run with: mvn test-compile exec:java -Dexec.mainClass=benchmarks.LocatorBenchmark
+ *   -Dexec.classpathScope=test [-Dexec.args="rows iterations"]
+ */
+public class LocatorBenchmark {
+
+    // Measures one selector inside the page: arguments[0] using, [1] value, [2] runs, [3] root or null
+    private static final String IN_PAGE_TIMER = """
+            var using = arguments[0], value = arguments[1], runs = arguments[2], root = arguments[3] || document;
+            var start = performance.now(), found = 0;
+            for (var i = 0; i < runs; i++) {
+              if (using === 'xpath') {
+                found = document.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength;
+              } else {
+                found = root.querySelectorAll(value).length;
+              }
+            }
+            return [(performance.now() - start) / runs, found];
+            """;
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        Path fixture = writeFixture(rows);
+
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--no-sandbox", "--disable-dev-shm-usage");
+        WebDriver driver = new ChromeDriver(options);
+        try {
+            driver.get(fixture.toUri().toString());
+            // Only the last row's details cell has this text, so narrowing //* to td finds the same element
+            String details = "Row " + (rows - 1) + " details";
+            String textXPath = "//*[contains(text(), " + CompiledLocator.xpathLiteral(details) + ")]";
+
+            System.out.printf("Fixture: %d rows, %d elements; %d iterations per case%n", rows,
+                    ((Number) ((JavascriptExecutor) driver).executeScript(
+                            "return document.getElementsByTagName('*').length;")).intValue(), iterations);
+            System.out.printf("%-58s %12s %12s %7s%n", "locator", "in-page ms", "webdriver ms", "found");
+
+            for (String xpath : List.of(
+                    "//input[@name='email-" + (rows - 1) + "']",
+                    "//form/button[@data-testid='save-" + (rows - 1) + "']",
+                    "//*[contains(@class,'row-odd')]//a[@href]",
+                    "//table//td/span[@title]")) {
+                compare(driver, null, By.xpath(xpath), CompiledLocator.of(CompiledLocator.Kind.XPATH, xpath).getBy(),
+                        iterations);
+            }
+
+            compare(driver, null, By.xpath(textXPath),
+                    By.xpath(LocatorOptimizer.narrow(textXPath, List.of("td"))), iterations);
+
+            WebElement row = driver.findElement(By.id("row-" + (rows - 1)));
+            // Unique on the page, so searching the whole document and the row find the same button
+            String rowButton = "//button[@data-testid='save-" + (rows - 1) + "']";
+            compare(driver, row, By.xpath(rowButton), LocatorOptimizer.scoped(
+                    CompiledLocator.of(CompiledLocator.Kind.XPATH, rowButton).getBy()), iterations);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    /**
+     * One line for the locator as written and one for its optimized form
+     * @param container element the optimized form searches in, or null for the whole page
+     */
+    private static void compare(WebDriver driver, WebElement container, By original, By optimized, int iterations) {
+        measure(driver, null, original, iterations);
+        measure(driver, container, optimized, iterations);
+        System.out.println();
+    }
+
+    private static void measure(WebDriver driver, WebElement container, By by, int iterations) {
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        List<?> inPage = (List<?>) ((JavascriptExecutor) driver).executeScript(IN_PAGE_TIMER,
+                parameters.using(), String.valueOf(parameters.value()), iterations, container);
+        double inPageMillis = ((Number) inPage.get(0)).doubleValue();
+
+        SearchContext context = container != null ? container : driver;
+        context.findElements(by);
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            context.findElements(by);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+
+        String label = (container != null ? "[row] " : "") + by;
+        System.out.printf("%-58s %12.3f %12.3f %7d%n", label.length() > 58 ? label.substring(0, 55) + "..." : label,
+                inPageMillis, samples[iterations / 2] / 1e6, ((Number) inPage.get(1)).intValue());
+    }
+
+    /**
+     * Table of rows shaped like a typical admin grid: a form, links and text cells per row
+     */
+    private static Path writeFixture(int rows) throws IOException {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><title>Locator benchmark</title></head><body>");
+        html.append("<table><tbody>");
+        for (int i = 0; i < rows; i++) {
+            html.append("<tr id=\"row-").append(i).append("\" class=\"row ").append(i % 2 == 0 ? "row-even" : "row-odd")
+                    .append("\"><td><span title=\"Row ").append(i).append("\">Row ").append(i).append("</span></td>")
+                    .append("<td>Row ").append(i).append(" details</td>")
+                    .append("<td><form><input name=\"email-").append(i).append("\" placeholder=\"Email\">")
+                    .append("<button type=\"submit\" data-testid=\"save-").append(i).append("\">Save</button></form></td>")
+                    .append("<td><a href=\"/rows/").append(i).append("\">Open</a></td></tr>");
+        }
+        html.append("</tbody></table></body></html>");
+
+        Path fixture = Paths.get("target", "benchmarks", "locator-benchmark.html").toAbsolutePath();
+        Files.createDirectories(fixture.getParent());
+        Files.writeString(fixture, html, StandardCharsets.UTF_8);
+        return fixture;
+    }
+}
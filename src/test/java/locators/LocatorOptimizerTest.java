@@ -0,0 +1,81 @@
+package locators;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * XPath shapes LocatorOptimizer rewrites and those it must leave to the XPath engine.
+ * Needs no browser; run with: mvn test -Dtest=LocatorOptimizerTest
+ */
+public class LocatorOptimizerTest {
+
+    @DataProvider
+    public Object[][] convertible() {
+        return new Object[][]{
+                {"//input[@name='email']", "input[name=\"email\"]"},
+                {"//form/button[@data-testid=\"save-1\"]", "form > button[data-testid=\"save-1\"]"},
+                {"//table//td/span[@title]", "table td > span[title]"},
+                {"//*[@id='main']", "[id=\"main\"]"},
+                {"//*", "*"},
+                {"//a[contains(@class,'btn') and starts-with(@href,'/rows')]", "a[class*=\"btn\"][href^=\"/rows\"]"},
+                {"//a[@title=\"it's\"]", "a[title=\"it's\"]"},
+                // Case-insensitive attributes are fine without letters to compare, or when only tested for presence
+                {"//input[@type='123']", "input[type=\"123\"]"},
+                {"//a[starts-with(@target,'_')]", "a[target^=\"_\"]"},
+                {"//input[@type]", "input[type]"},
+        };
+    }
+
+    @DataProvider
+    public Object[][] notConvertible() {
+        return new Object[][]{
+                // Compared ignoring case by CSS, exactly by XPath
+                {"//input[@type='Submit']"},
+                {"//input[@type='submit']"},
+                {"//a[contains(@rel,'next')]"},
+                // Nothing CSS can express
+                {"//button[text()='Save']"},
+                {"//li[1]"},
+                {"//label/following-sibling::input"},
+                {"//a[@id='a' or @id='b']"},
+                {"(//a)[1]"},
+                {"//a[contains(@class,'')]"},
+                {"//a[]"},
+                // Relative paths and uppercase name tests do not match what CSS would
+                {".//a"},
+                {"//INPUT"},
+        };
+    }
+
+    @Test(dataProvider = "convertible")
+    public void convertsToEquivalentCss(String xpath, String css) {
+        assertEquals(LocatorOptimizer.toCss(xpath), css);
+    }
+
+    @Test(dataProvider = "notConvertible")
+    public void leavesOtherXPathsAlone(String xpath) {
+        assertNull(LocatorOptimizer.toCss(xpath));
+    }
+
+    @Test
+    public void narrowsLeadingAnyToKnownTags() {
+        String xpath = "//*[contains(text(),'Save')]";
+        assertEquals(LocatorOptimizer.narrow(xpath, List.of("button")), "//button[contains(text(),'Save')]");
+        assertEquals(LocatorOptimizer.narrow(xpath, List.of("a", "button")),
+                "//*[self::a or self::button][contains(text(),'Save')]");
+        assertNull(LocatorOptimizer.narrow("//div//*[@title]", List.of("span")));
+        assertNull(LocatorOptimizer.narrow(xpath, List.of()));
+    }
+
+    @Test
+    public void scopesAbsolutePathsToTheContext() {
+        assertEquals(LocatorOptimizer.scopeXPath("//button"), ".//button");
+        assertEquals(LocatorOptimizer.scopeXPath("(//a)[1] | //b"), "(.//a)[1] | .//b");
+        assertEquals(LocatorOptimizer.scopeXPath(".//button"), ".//button");
+    }
+}